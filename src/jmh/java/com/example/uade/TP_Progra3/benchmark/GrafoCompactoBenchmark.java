@@ -0,0 +1,116 @@
+package com.example.uade.TP_Progra3.benchmark;
+
+import com.example.uade.TP_Progra3.graph.ArbolCaminos;
+import com.example.uade.TP_Progra3.graph.ArbolComponente;
+import com.example.uade.TP_Progra3.graph.ArbolGeneradorMinimo;
+import com.example.uade.TP_Progra3.graph.Arista;
+import com.example.uade.TP_Progra3.graph.BusquedaProfundidad;
+import com.example.uade.TP_Progra3.graph.CaminosPuntoAPunto;
+import com.example.uade.TP_Progra3.graph.ComponentesConexas;
+import com.example.uade.TP_Progra3.graph.GrafoCompacto;
+import com.example.uade.TP_Progra3.graph.Landmarks;
+import com.example.uade.TP_Progra3.graph.ResultadoCamino;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Los motores que usan los endpoints (GrafoCompacto, HeapIndexado, ALT, BFS/DFS con arreglos, MST)
+// sobre las mismas redes y consultas que GraphBenchmark, para comparar contra la versión original y
+// detectar regresiones. La jerarquía de contracción está en JerarquiaContraccionBenchmark (su armado
+// no puede repetirse en el @Setup de cada método) y los algoritmos O(n²)/O(n³) en GrafoCompactoCuadraticoBenchmark.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GrafoCompactoBenchmark {
+
+    @Param({"GRILLA", "GEOMETRICA", "LIBRE_ESCALA"})
+    public RedesSinteticas.Tipo tipo;
+
+    @Param({"1000", "10000", "100000"})
+    public int nodos;
+
+    private GrafoCompacto grafo;
+    private Landmarks landmarks;
+    private int[][] pares;
+    private int consulta;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        grafo = RedesSinteticas.aGrafoCompacto(RedesSinteticas.generar(tipo, nodos, GraphBenchmark.SEMILLA));
+        landmarks = Landmarks.calcular(grafo, 8);
+        pares = RedesSinteticas.pares(grafo, GraphBenchmark.CONSULTAS, GraphBenchmark.SEMILLA);
+    }
+
+    private int[] siguiente() {
+        consulta = (consulta + 1) % pares.length;
+        return pares[consulta];
+    }
+
+    // Dijkstra con heap indexado que corta al fijar el destino (modo=clasico)
+    @Benchmark
+    public List<String> dijkstra() {
+        int[] par = siguiente();
+        return grafo.arbolDijkstra(par[0], new int[]{par[1]}).camino(par[1]);
+    }
+
+    // Árbol completo desde un origen (/distancias)
+    @Benchmark
+    public ArbolCaminos dijkstraUnoATodos() {
+        return grafo.arbolDijkstra(siguiente()[0], null);
+    }
+
+    @Benchmark
+    public ResultadoCamino dijkstraBidireccional() {
+        int[] par = siguiente();
+        return CaminosPuntoAPunto.dijkstraBidireccional(grafo, par[0], par[1]);
+    }
+
+    @Benchmark
+    public ResultadoCamino aEstrellaAlt() {
+        int[] par = siguiente();
+        return CaminosPuntoAPunto.aEstrella(grafo, par[0], par[1], landmarks);
+    }
+
+    // BFS con bitsets y un motor prestado por el grafo
+    @Benchmark
+    public List<String> bfs() {
+        int[] par = siguiente();
+        return grafo.bfs(grafo.nombre(par[0]), grafo.nombre(par[1]));
+    }
+
+    @Benchmark
+    public List<String> dfs() {
+        int[] par = siguiente();
+        return grafo.dfs(grafo.nombre(par[0]), grafo.nombre(par[1]));
+    }
+
+    // Articulaciones y puentes en una sola pasada (/dfs/criticos)
+    @Benchmark
+    public BusquedaProfundidad dfsCriticos() {
+        return BusquedaProfundidad.recorrer(grafo);
+    }
+
+    @Benchmark
+    public List<Arista> kruskalMST() {
+        return grafo.kruskalMST();
+    }
+
+    @Benchmark
+    public List<Arista> boruvkaMST() {
+        return ArbolGeneradorMinimo.boruvka(grafo);
+    }
+
+    @Benchmark
+    public List<ArbolComponente> bosquePrim() {
+        return ArbolGeneradorMinimo.bosquePrim(grafo);
+    }
+
+    @Benchmark
+    public ComponentesConexas componentesConexas() {
+        return ComponentesConexas.calcular(grafo);
+    }
+}
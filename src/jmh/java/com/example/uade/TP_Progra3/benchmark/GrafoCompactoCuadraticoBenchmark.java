@@ -0,0 +1,50 @@
+package com.example.uade.TP_Progra3.benchmark;
+
+import com.example.uade.TP_Progra3.graph.GrafoCompacto;
+import com.example.uade.TP_Progra3.graph.MatrizDistancias;
+import com.example.uade.TP_Progra3.graph.RecorridoTsp;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Todos los pares sobre el grafo compacto: Floyd-Warshall por bloques (MatrizDistancias, /floyd) y el recorrido
+// del viajante con búsqueda local (/tsp, todas las paradas), con los mismos tamaños que GraphCuadraticoBenchmark
+// más 1000 nodos, que la versión original no alcanza a medir
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GrafoCompactoCuadraticoBenchmark {
+    // Sin tope real de tiempo: la búsqueda local corre hasta su óptimo local y cada operación hace el mismo trabajo
+    private static final long SIN_PRESUPUESTO = TimeUnit.MINUTES.toNanos(1);
+
+    @Param({"GRILLA", "GEOMETRICA", "LIBRE_ESCALA"})
+    public RedesSinteticas.Tipo tipo;
+
+    @Param({"100", "300", "1000"})
+    public int nodos;
+
+    private GrafoCompacto grafo;
+    private int[] paradas;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        grafo = RedesSinteticas.aGrafoCompacto(RedesSinteticas.generar(tipo, nodos, GraphBenchmark.SEMILLA));
+        paradas = IntStream.range(0, grafo.cantidadNodos()).toArray();
+    }
+
+    @Benchmark
+    public MatrizDistancias floydWarshall() {
+        return MatrizDistancias.calcular(grafo);
+    }
+
+    // Un solo arranque, para que el resultado no dependa de cuántos procesadores tiene la máquina
+    @Benchmark
+    public List<String> tspBusquedaLocal() {
+        return RecorridoTsp.resolver(grafo, paradas, SIN_PRESUPUESTO, 1).camino();
+    }
+}
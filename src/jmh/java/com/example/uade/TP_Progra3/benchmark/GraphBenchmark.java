@@ -0,0 +1,113 @@
+package com.example.uade.TP_Progra3.benchmark;
+
+import com.example.uade.TP_Progra3.graph.Arista;
+import com.example.uade.TP_Progra3.graph.ConstructorGrafo;
+import com.example.uade.TP_Progra3.graph.GrafoCompacto;
+import com.example.uade.TP_Progra3.graph.Graph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Algoritmos de Graph (la versión original con mapas por String) sobre redes sintéticas de varios tamaños
+// Ningún endpoint la usa ya: queda como referencia contra la que comparar GrafoCompactoBenchmark.
+// Throughput da operaciones por segundo y SampleTime los percentiles de latencia (p50, p90, p99...);
+// el perfil del pom agrega -prof gc para la tasa de asignación (gc.alloc.rate.norm = bytes por operación).
+// Los algoritmos O(n²) y O(n³) están aparte en GraphCuadraticoBenchmark, con redes más chicas.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GraphBenchmark {
+
+    @Param({"GRILLA", "GEOMETRICA", "LIBRE_ESCALA"})
+    public RedesSinteticas.Tipo tipo;
+
+    @Param({"1000", "10000", "100000"})
+    public int nodos;
+
+    static final long SEMILLA = 42L;
+    // Pares origen-destino fijos que se van rotando, para no medir siempre la misma consulta
+    static final int CONSULTAS = 64;
+
+    private List<Arista> aristas;
+    private List<Map<String, Object>> filas;
+    private Graph grafo;
+    private String[] origenes;
+    private String[] destinos;
+    private int consulta;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        aristas = RedesSinteticas.generar(tipo, nodos, SEMILLA);
+        grafo = RedesSinteticas.aGraph(aristas);
+
+        // Las filas tal como las devuelve la consulta de rutas de la BD
+        filas = new ArrayList<>(aristas.size());
+        for (Arista arista : aristas) {
+            filas.add(Map.of("from", arista.origen, "to", arista.destino, "cost", arista.peso));
+        }
+
+        Random random = new Random(SEMILLA);
+        int cantidad = grafo.getNodos().size();
+        origenes = new String[CONSULTAS];
+        destinos = new String[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            origenes[i] = RedesSinteticas.nombre(random.nextInt(cantidad));
+            destinos[i] = RedesSinteticas.nombre(random.nextInt(cantidad));
+        }
+    }
+
+    private int siguiente() {
+        consulta = (consulta + 1) % CONSULTAS;
+        return consulta;
+    }
+
+    @Benchmark
+    public List<String> dijkstra() {
+        int i = siguiente();
+        return grafo.dijkstra(origenes[i], destinos[i]);
+    }
+
+    @Benchmark
+    public List<String> bfs() {
+        int i = siguiente();
+        return grafo.bfs(origenes[i], destinos[i]);
+    }
+
+    @Benchmark
+    public List<String> dfs() {
+        int i = siguiente();
+        return grafo.dfs(origenes[i], destinos[i]);
+    }
+
+    @Benchmark
+    public List<Arista> kruskalMST() {
+        return grafo.kruskalMST();
+    }
+
+    @Benchmark
+    public List<Arista> primMST() {
+        return grafo.primMST(origenes[siguiente()]);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> ordenarPorGrado() {
+        return grafo.ordenarPorGrado();
+    }
+
+    // Carga del grafo desde las filas de la BD, igual que LogisticaService.construirGrafo
+    @Benchmark
+    public GrafoCompacto construirGrafo() {
+        ConstructorGrafo constructor = new ConstructorGrafo();
+        for (Map<String, Object> fila : filas) {
+            constructor.agregarRuta(fila.get("from").toString(), fila.get("to").toString(), ((Number) fila.get("cost")).doubleValue());
+        }
+        return constructor.construir();
+    }
+}
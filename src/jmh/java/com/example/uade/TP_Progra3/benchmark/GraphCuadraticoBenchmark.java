@@ -0,0 +1,46 @@
+package com.example.uade.TP_Progra3.benchmark;
+
+import com.example.uade.TP_Progra3.graph.Graph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Algoritmos de Graph que recorren todos los pares de nodos: con las redes de GraphBenchmark no terminan,
+// así que se miden sobre redes más chicas. Floyd-Warshall sobre mapas por String con 1000 nodos (10⁹ pasos
+// con boxing) tarda minutos por operación: la versión original llega hasta 300 y los 1000 nodos se miden
+// con MatrizDistancias en GrafoCompactoCuadraticoBenchmark.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GraphCuadraticoBenchmark {
+
+    @Param({"GRILLA", "GEOMETRICA", "LIBRE_ESCALA"})
+    public RedesSinteticas.Tipo tipo;
+
+    @Param({"100", "300"})
+    public int nodos;
+
+    private Graph grafo;
+    private String inicio;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        grafo = RedesSinteticas.aGraph(RedesSinteticas.generar(tipo, nodos, GraphBenchmark.SEMILLA));
+        inicio = RedesSinteticas.nombre(0);
+    }
+
+    @Benchmark
+    public List<String> tspVecinoCercano() {
+        return grafo.tspVecinoCercano(inicio);
+    }
+
+    @Benchmark
+    public Map<String, Object> floydWarshall() {
+        return grafo.floydWarshall();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.uade.TP_Progra3.benchmark;
+
+import com.example.uade.TP_Progra3.graph.HeapIndexado;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// El heap indexado solo, con el patrón de uso de Dijkstra: insertar, bajar claves y extraer todo
+// Separa el costo del heap del de recorrer el grafo, que GrafoCompactoBenchmark mide junto.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HeapIndexadoBenchmark {
+
+    @Param({"1000", "100000"})
+    public int nodos;
+
+    private HeapIndexado heap;
+    private double[] claves;
+    // Por cada nodo, un nodo cuya clave se baja después de insertarlo (como al relajar una ruta)
+    private int[] disminuir;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Random random = new Random(GraphBenchmark.SEMILLA);
+        heap = new HeapIndexado(nodos);
+        claves = new double[nodos];
+        disminuir = new int[nodos];
+        for (int v = 0; v < nodos; v++) {
+            claves[v] = random.nextDouble() * 1000;
+            disminuir[v] = random.nextInt(nodos);
+        }
+    }
+
+    @Benchmark
+    public double insertarDisminuirYExtraer() {
+        for (int v = 0; v < nodos; v++) {
+            heap.insertarODisminuir(v, claves[v]);
+            int otro = disminuir[v];
+            if (heap.contiene(otro)) heap.insertarODisminuir(otro, heap.clave(otro) * 0.5);
+        }
+        double suma = 0.0;
+        while (!heap.estaVacio()) {
+            suma += heap.claveMinima();
+            heap.extraerMin();
+        }
+        return suma;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.uade.TP_Progra3.benchmark;
+
+import com.example.uade.TP_Progra3.graph.GrafoCompacto;
+import com.example.uade.TP_Progra3.graph.JerarquiaContraccion;
+import com.example.uade.TP_Progra3.graph.ResultadoCamino;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Consultas sobre la jerarquía de contracción (modo=jerarquia), armada una sola vez por red en el @Setup
+// (lo que tarda armarla está en PreprocesoBenchmark). Sin 100000 nodos: el armado pasa los diez minutos por red.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JerarquiaContraccionBenchmark {
+
+    @Param({"GRILLA", "GEOMETRICA", "LIBRE_ESCALA"})
+    public RedesSinteticas.Tipo tipo;
+
+    @Param({"1000", "10000"})
+    public int nodos;
+
+    private JerarquiaContraccion jerarquia;
+    private int[][] pares;
+    private int consulta;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        GrafoCompacto grafo = RedesSinteticas.aGrafoCompacto(RedesSinteticas.generar(tipo, nodos, GraphBenchmark.SEMILLA));
+        jerarquia = JerarquiaContraccion.construir(grafo);
+        pares = RedesSinteticas.pares(grafo, GraphBenchmark.CONSULTAS, GraphBenchmark.SEMILLA);
+    }
+
+    @Benchmark
+    public ResultadoCamino consultar() {
+        consulta = (consulta + 1) % pares.length;
+        return jerarquia.consultar(pares[consulta][0], pares[consulta][1]);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.uade.TP_Progra3.benchmark;
+
+import com.example.uade.TP_Progra3.graph.GrafoCompacto;
+import com.example.uade.TP_Progra3.graph.JerarquiaContraccion;
+import com.example.uade.TP_Progra3.graph.Landmarks;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Preprocesos que se hacen una vez por versión del grafo (jerarquía de contracción y faros de A*):
+// se miden de a una ejecución por iteración y sin las redes de 100000 nodos, donde solo interesa la consulta
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class PreprocesoBenchmark {
+
+    @Param({"GRILLA", "GEOMETRICA", "LIBRE_ESCALA"})
+    public RedesSinteticas.Tipo tipo;
+
+    @Param({"1000", "10000"})
+    public int nodos;
+
+    private GrafoCompacto grafo;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        grafo = RedesSinteticas.aGrafoCompacto(RedesSinteticas.generar(tipo, nodos, GraphBenchmark.SEMILLA));
+    }
+
+    @Benchmark
+    public JerarquiaContraccion construirJerarquia() {
+        return JerarquiaContraccion.construir(grafo);
+    }
+
+    @Benchmark
+    public Landmarks calcularLandmarks() {
+        return Landmarks.calcular(grafo, 8);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.uade.TP_Progra3.benchmark;
+
+import com.example.uade.TP_Progra3.graph.Arista;
+import com.example.uade.TP_Progra3.graph.ConjuntosDisjuntos;
+import com.example.uade.TP_Progra3.graph.ConstructorGrafo;
+import com.example.uade.TP_Progra3.graph.GrafoCompacto;
+import com.example.uade.TP_Progra3.graph.Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Redes de almacenes sintéticas para los benchmarks, siempre conexas y sin rutas paralelas
+// Con la misma semilla se genera exactamente la misma red, así dos corridas miden lo mismo.
+// - GRILLA: ciudad en cuadrícula, grado 4, caminos largos (diámetro ~2·√n)
+// - GEOMETRICA: almacenes al azar en un cuadrado unidos con los que están a menos de un radio,
+//   costo = distancia (la forma de una red vial real, grado medio ~8)
+// - LIBRE_ESCALA: Barabási-Albert, pocos centros con muchísimas rutas y diámetro chico
+public final class RedesSinteticas {
+
+    public enum Tipo { GRILLA, GEOMETRICA, LIBRE_ESCALA }
+
+    private RedesSinteticas() {
+    }
+
+    public static List<Arista> generar(Tipo tipo, int nodos, long semilla) {
+        return switch (tipo) {
+            case GRILLA -> grilla(nodos, semilla);
+            case GEOMETRICA -> geometrica(nodos, semilla);
+            case LIBRE_ESCALA -> libreDeEscala(nodos, semilla);
+        };
+    }
+
+    public static Graph aGraph(List<Arista> aristas) {
+        Graph grafo = new Graph();
+        for (Arista arista : aristas) grafo.agregarArista(arista.origen, arista.destino, arista.peso);
+        return grafo;
+    }
+
+    // Igual que la carga desde la BD (ConstructorGrafo), no GrafoCompacto.desde(Graph)
+    public static GrafoCompacto aGrafoCompacto(List<Arista> aristas) {
+        ConstructorGrafo constructor = new ConstructorGrafo();
+        for (Arista arista : aristas) constructor.agregarRuta(arista.origen, arista.destino, arista.peso);
+        return constructor.construir();
+    }
+
+    // Pares origen-destino al azar (ids del grafo compacto), fijos para una semilla
+    public static int[][] pares(GrafoCompacto grafo, int cantidad, long semilla) {
+        Random random = new Random(semilla);
+        int[][] pares = new int[cantidad][];
+        for (int i = 0; i < cantidad; i++) {
+            pares[i] = new int[]{random.nextInt(grafo.cantidadNodos()), random.nextInt(grafo.cantidadNodos())};
+        }
+        return pares;
+    }
+
+    public static String nombre(int id) {
+        return "N" + id;
+    }
+
+    // Cuadrícula de lado ⌈√nodos⌉, costos de 1 a 20
+    // Análisis de Complejidad: O(n)
+    static List<Arista> grilla(int nodos, long semilla) {
+        Random random = new Random(semilla);
+        int lado = (int) Math.ceil(Math.sqrt(nodos));
+        List<Arista> aristas = new ArrayList<>(2 * lado * lado);
+        for (int fila = 0; fila < lado; fila++) {
+            for (int columna = 0; columna < lado; columna++) {
+                int id = fila * lado + columna;
+                if (columna + 1 < lado) aristas.add(new Arista(nombre(id), nombre(id + 1), 1 + random.nextInt(20)));
+                if (fila + 1 < lado) aristas.add(new Arista(nombre(id), nombre(id + lado), 1 + random.nextInt(20)));
+            }
+        }
+        return aristas;
+    }
+
+    // Puntos en [0,1)², radio para grado medio ~8; se buscan vecinos solo en las celdas de lado radio contiguas
+    // Al final se unen las componentes sueltas con la ruta al siguiente punto en x, para que la red sea conexa
+    // Análisis de Complejidad:
+    // - Repartir en celdas: O(n)
+    // - Cada punto mira las 9 celdas de alrededor, con O(1) puntos esperados en cada una: O(n) esperado
+    // - Unir componentes: ordenar por x O(n log n)
+    static List<Arista> geometrica(int nodos, long semilla) {
+        Random random = new Random(semilla);
+        double[] x = new double[nodos];
+        double[] y = new double[nodos];
+        for (int i = 0; i < nodos; i++) {
+            x[i] = random.nextDouble();
+            y[i] = random.nextDouble();
+        }
+
+        double radio = Math.sqrt(8.0 / (Math.PI * nodos));
+        int celdasPorLado = Math.max(1, (int) (1.0 / radio));
+        int[] celda = new int[nodos];
+        int[] inicioCelda = new int[celdasPorLado * celdasPorLado + 1];
+        for (int i = 0; i < nodos; i++) {
+            int cx = Math.min(celdasPorLado - 1, (int) (x[i] * celdasPorLado));
+            int cy = Math.min(celdasPorLado - 1, (int) (y[i] * celdasPorLado));
+            celda[i] = cy * celdasPorLado + cx;
+            inicioCelda[celda[i] + 1]++;
+        }
+        for (int c = 0; c < celdasPorLado * celdasPorLado; c++) inicioCelda[c + 1] += inicioCelda[c];
+        int[] porCelda = new int[nodos];
+        int[] cursor = Arrays.copyOf(inicioCelda, inicioCelda.length - 1);
+        for (int i = 0; i < nodos; i++) porCelda[cursor[celda[i]]++] = i;
+
+        List<Arista> aristas = new ArrayList<>(5 * nodos);
+        ConjuntosDisjuntos componentes = new ConjuntosDisjuntos(nodos);
+        for (int i = 0; i < nodos; i++) {
+            int cx = celda[i] % celdasPorLado;
+            int cy = celda[i] / celdasPorLado;
+            for (int vy = Math.max(0, cy - 1); vy <= Math.min(celdasPorLado - 1, cy + 1); vy++) {
+                for (int vx = Math.max(0, cx - 1); vx <= Math.min(celdasPorLado - 1, cx + 1); vx++) {
+                    int c = vy * celdasPorLado + vx;
+                    for (int p = inicioCelda[c]; p < inicioCelda[c + 1]; p++) {
+                        int j = porCelda[p];
+                        if (j <= i) continue;
+                        double distancia = Math.hypot(x[i] - x[j], y[i] - y[j]);
+                        if (distancia <= radio) {
+                            aristas.add(new Arista(nombre(i), nombre(j), costo(distancia)));
+                            componentes.unir(i, j);
+                        }
+                    }
+                }
+            }
+        }
+
+        Integer[] porX = new Integer[nodos];
+        for (int i = 0; i < nodos; i++) porX[i] = i;
+        Arrays.sort(porX, (a, b) -> Double.compare(x[a], x[b]));
+        for (int k = 0; k + 1 < nodos; k++) {
+            int a = porX[k];
+            int b = porX[k + 1];
+            if (componentes.unir(a, b)) {
+                aristas.add(new Arista(nombre(a), nombre(b), costo(Math.hypot(x[a] - x[b], y[a] - y[b]))));
+            }
+        }
+        return aristas;
+    }
+
+    // Distancia en el cuadrado unitario llevada a un costo entero positivo
+    private static double costo(double distancia) {
+        return 1 + Math.round(distancia * 1000);
+    }
+
+    // Barabási-Albert con 2 rutas por almacén nuevo: el destino se elige proporcional al grado
+    // (sorteando un extremo de las rutas ya creadas), costos de 1 a 20
+    // Análisis de Complejidad: O(n)
+    static List<Arista> libreDeEscala(int nodos, long semilla) {
+        Random random = new Random(semilla);
+        List<Arista> aristas = new ArrayList<>(2 * nodos);
+        int[] extremos = new int[4 * nodos + 6];
+        int cantidadExtremos = 0;
+
+        // Triángulo inicial
+        for (int i = 0; i < Math.min(3, nodos); i++) {
+            for (int j = i + 1; j < Math.min(3, nodos); j++) {
+                aristas.add(new Arista(nombre(i), nombre(j), 1 + random.nextInt(20)));
+                extremos[cantidadExtremos++] = i;
+                extremos[cantidadExtremos++] = j;
+            }
+        }
+
+        for (int nuevo = 3; nuevo < nodos; nuevo++) {
+            int primero = extremos[random.nextInt(cantidadExtremos)];
+            int segundo;
+            do {
+                segundo = extremos[random.nextInt(cantidadExtremos)];
+            } while (segundo == primero);
+
+            for (int destino : new int[]{primero, segundo}) {
+                aristas.add(new Arista(nombre(nuevo), nombre(destino), 1 + random.nextInt(20)));
+                extremos[cantidadExtremos++] = nuevo;
+                extremos[cantidadExtremos++] = destino;
+            }
+        }
+        return aristas;
+    }
+}
@@ -2,8 +2,10 @@ package com.example.uade.TP_Progra3;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class TpProgra3Application {
 
 	public static void main(String[] args) {
@@ -0,0 +1,54 @@
+package com.example.uade.TP_Progra3.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Tiempo de serialización de las respuestas JSON, por endpoint (logistica.serializacion{uri})
+// Reemplaza al conversor de Jackson que arma Spring Boot (mismo ObjectMapper) midiendo solo la escritura:
+// junto con logistica.algoritmo y http.server.requests muestra si un request lento calcula o serializa.
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   MeterRegistry registro) {
+        Map<String, Timer> porUri = new ConcurrentHashMap<>();
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object objeto, Type tipo, HttpOutputMessage salida)
+                    throws IOException, HttpMessageNotWritableException {
+                Timer.Sample muestra = Timer.start(registro);
+                try {
+                    super.writeInternal(objeto, tipo, salida);
+                } finally {
+                    muestra.stop(porUri.computeIfAbsent(uri(), uri -> Timer.builder("logistica.serializacion")
+                            .description("Escritura de la respuesta JSON")
+                            .tag("uri", uri)
+                            .register(registro)));
+                }
+            }
+        };
+    }
+
+    // Patrón del endpoint (/logistica/dijkstra/{from}/{to}), no la URL concreta: cantidad de series acotada
+    private static String uri() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        Object patron = atributos == null ? null
+                : atributos.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return patron == null ? "UNKNOWN" : patron.toString();
+    }
+}
@@ -4,10 +4,12 @@ import com.example.uade.TP_Progra3.entity.AlmacenEntity;
 import com.example.uade.TP_Progra3.repository.AlmacenRepository;
 import com.example.uade.TP_Progra3.service.LogisticaService;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.*;
 
 @RestController
@@ -31,18 +33,121 @@ public class LogisticaController {
         return almacenRepository.findAll();
     }
 
+    /**
+     * GET /logistica/grafo
+     * Devuelve la versión del grafo en memoria que están usando los algoritmos (cantidad de nodos, aristas y fecha de carga)
+     * y los orígenes frecuentes (hotOrigins) que tienen su árbol de caminos mínimos ya calculado.
+     */
+    @GetMapping(value = "/grafo", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Map<String, Object>> grafo() {
+        return logisticaService.obtenerSnapshot().map(logisticaService::infoSnapshot);
+    }
+
+    /**
+     * POST /logistica/grafo/refrescar
+     * Fuerza la relectura de las rutas desde la BD y publica una versión nueva del grafo.
+     * Útil después de cargar o modificar rutas, sin esperar al refresco periódico.
+     */
+    @PostMapping(value = "/grafo/refrescar", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Map<String, Object>> refrescarGrafo() {
+        return logisticaService.refrescarGrafo().map(logisticaService::infoSnapshot);
+    }
+
+    /**
+     * POST /logistica/grafo/guardar
+     * Escribe ya la versión vigente del grafo en el archivo configurado (logistica.grafo.archivo),
+     * sin esperar a la próxima versión. Responde el archivo, la versión guardada y su tamaño en bytes.
+     */
+    @PostMapping(value = "/grafo/guardar", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Map<String, Object>> guardarGrafo() {
+        return logisticaService.obtenerSnapshot()
+                .publishOn(Schedulers.boundedElastic())
+                .map(logisticaService::guardarSnapshot);
+    }
+
+    /**
+     * POST /logistica/grafo/cambios
+     * Aplica cambios de rutas ya hechos en la BD sobre el grafo en memoria y publica una versión nueva,
+     * sin releer todas las rutas. Body: [{"type": "update", "from": "A", "to": "B", "cost": 12.5}, ...]
+     * type: add (nueva ruta; si ya hay una entre from y to queda la más barata), remove (baja de las rutas entre from y to), update (nuevo costo; si no existe se agrega)
+     * o removeNode (baja del almacén from con todas sus rutas). Los cambios se aplican en orden.
+     */
+    @PostMapping(value = "/grafo/cambios", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Map<String, Object>> aplicarCambios(@RequestBody List<Map<String, Object>> cambios) {
+        return Mono.fromCallable(() -> logisticaService.leerCambios(cambios))
+                .flatMap(logisticaService::aplicarCambios)
+                .map(logisticaService::infoSnapshot);
+    }
+
+    /**
+     * GET /logistica/jerarquia
+     * Estado de la jerarquía de contracción de la versión vigente: si ya está construida, cuánto tardó,
+     * cuántos atajos agregó y cuánta memoria ocupa. Se construye la primera vez que se usa modo=jerarquia,
+     * o al publicar cada versión si logistica.jerarquia.habilitada=true.
+     */
+    @GetMapping(value = "/jerarquia", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Map<String, Object>> jerarquia() {
+        return logisticaService.obtenerSnapshot().map(logisticaService::infoJerarquia);
+    }
+
+    /**
+     * GET /logistica/componentes
+     * Componentes conexas de la red (grupos de almacenes con algún camino entre sí), de la más grande a la más chica.
+     * Se calculan una vez por versión del grafo. nodes=false omite la lista de almacenes de cada componente.
+     * Los endpoints de caminos las usan para contestar "sin camino" sin recorrer el grafo.
+     */
+    @GetMapping(value = "/componentes", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Map<String, Object>> componentes(@RequestParam(defaultValue = "true") boolean nodes) {
+        return logisticaService.obtenerSnapshot()
+                .flatMap(actual -> logisticaService.calcular("componentes",
+                        () -> logisticaService.componentes(actual, nodes)));
+    }
+
+    /**
+     * GET /logistica/componentes/{from}/{to}
+     * Indica en O(1) si existe algún camino entre dos almacenes (misma componente conexa), sin buscarlo.
+     */
+    @GetMapping(value = "/componentes/{from}/{to}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Map<String, Object>> conectados(@PathVariable String from, @PathVariable String to) {
+        return logisticaService.obtenerSnapshot().map(actual -> logisticaService.conectados(actual, from, to));
+    }
+
+    /**
+     * GET /logistica/cache
+     * Estadísticas del cache de respuestas (hits, misses, hitRate, evictions, entradas y peso ocupado).
+     * Las respuestas de /kruskal, /prim, /prim/bosque, /greedy, /divide-venceras, /dfs/criticos y /dijkstra se
+     * guardan por versión del grafo y se descartan al publicarse una versión nueva.
+     */
+    @GetMapping(value = "/cache", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> cache() {
+        return logisticaService.infoCache();
+    }
+
     /**
      * GET /logistica/bfs/{from}/{to}
      * Búsqueda en Amplitud (BFS): encuentra el primer camino entre dos almacenes explorando por niveles.
      * NOTA: BFS ignora los pesos de las aristas (NO es óptimo en grafos ponderados).
      *       Para grafo ponderado y camino más barato, usa /dijkstra.
+     * maxHops (opcional): no busca caminos de más rutas que esas.
      */
     @GetMapping(value = "/bfs/{from}/{to}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<Map<String, Object>> bfs(@PathVariable String from, @PathVariable String to) {
-        return almacenRepository.findAllEdges()
-                .collectList()
-                .flatMap(edges -> Mono.fromCallable(() -> logisticaService.bfsFromEdges(edges, from, to))
-                        .subscribeOn(Schedulers.boundedElastic()));
+    public Mono<Map<String, Object>> bfs(@PathVariable String from, @PathVariable String to,
+                                         @RequestParam(required = false) Integer maxHops) {
+        return logisticaService.obtenerSnapshot()
+                .flatMap(actual -> logisticaService.calcular("bfs", () -> logisticaService.bfs(actual, from, to, maxHops)));
+    }
+
+    /**
+     * GET /logistica/bfs/cercano?from=D1,D2&to=A,B,C&maxHops=3
+     * BFS desde varios almacenes a la vez: el almacén de "to" más cercano (en cantidad de rutas) a cualquiera
+     * de los de "from", sin pasar de maxHops rutas (opcional). Devuelve desde cuál salió, el camino y los saltos.
+     */
+    @GetMapping(value = "/bfs/cercano", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Map<String, Object>> bfsCercano(@RequestParam List<String> from, @RequestParam List<String> to,
+                                                @RequestParam(required = false) Integer maxHops) {
+        return logisticaService.obtenerSnapshot()
+                .flatMap(actual -> logisticaService.calcular("bfs_cercano",
+                        () -> logisticaService.bfsCercano(actual, from, to, maxHops)));
     }
 
     /**
@@ -53,49 +158,125 @@ public class LogisticaController {
      */
     @GetMapping(value = "/dfs/{from}/{to}", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<Map<String, Object>> dfs(@PathVariable String from, @PathVariable String to) {
-        return almacenRepository.findAllEdges()
-                .collectList()
-                .flatMap(edges -> Mono.fromCallable(() -> logisticaService.dfsFromEdges(edges, from, to))
-                        .subscribeOn(Schedulers.boundedElastic()));
+        return logisticaService.obtenerSnapshot()
+                .flatMap(actual -> logisticaService.calcular("dfs", () -> logisticaService.dfs(actual, from, to)));
+    }
+
+    /**
+     * GET /logistica/dfs/orden?from=A
+     * Orden en que el DFS desde un almacén visita (preorder) y termina (postorder) cada almacén de su componente.
+     */
+    @GetMapping(value = "/dfs/orden", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Map<String, Object>> ordenDfs(@RequestParam String from) {
+        return logisticaService.obtenerSnapshot()
+                .flatMap(actual -> logisticaService.calcular("dfs_orden",
+                        () -> logisticaService.ordenDfs(actual.grafo, from)));
+    }
+
+    /**
+     * GET /logistica/dfs/criticos
+     * Chequeo de resiliencia de la red: almacenes (articulationPoints) y rutas (bridges) cuya baja la deja partida.
+     * Un único DFS iterativo sobre todo el grafo, O(n + m), sin recursión aunque haya cadenas muy largas.
+     */
+    @GetMapping(value = "/dfs/criticos", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Map<String, Object>> criticos() {
+        return logisticaService.obtenerSnapshot()
+                .flatMap(actual -> logisticaService.criticos(actual));
     }
 
     /**
      * GET /logistica/dijkstra/{from}/{to}
      * Algoritmo de Dijkstra: encuentra el camino CON MENOR COSTO entre dos almacenes (óptimo para grafos ponderados).
      * Útil para logística: da la ruta más barata.
+     * modo (opcional): clasico (por defecto), bidireccional (búsqueda desde ambos extremos),
+     * astar (A* con cotas por faros/landmarks) o jerarquia (jerarquía de contracción, ver /jerarquia).
+     * Mismo costo; los otros modos exploran menos nodos en rutas largas.
      */
     @GetMapping(value = "/dijkstra/{from}/{to}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<Map<String, Object>> dijkstra(@PathVariable String from, @PathVariable String to) {
-        return almacenRepository.findAllEdges()
-                .collectList()
-                .flatMap(edges -> Mono.fromCallable(() -> logisticaService.dijkstraFromEdges(edges, from, to))
-                        .subscribeOn(Schedulers.boundedElastic()));
+    public Mono<Map<String, Object>> dijkstra(@PathVariable String from, @PathVariable String to,
+                                              @RequestParam(defaultValue = "clasico") String modo) {
+        return logisticaService.obtenerSnapshot()
+                .flatMap(actual -> logisticaService.dijkstra(actual, from, to, modo));
+    }
+
+    /**
+     * GET /logistica/dijkstra/{from}/{to}/alternativas?k=3&avoid=X,Y
+     * Rutas alternativas: los k caminos sin ciclos más baratos entre dos almacenes (algoritmo de Yen), del más barato
+     * al más caro, sin pasar por los almacenes de avoid (opcional). Si una ruta se bloquea, las siguientes ya
+     * están calculadas en la misma respuesta.
+     */
+    @GetMapping(value = "/dijkstra/{from}/{to}/alternativas", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Map<String, Object>> alternativas(@PathVariable String from, @PathVariable String to,
+                                                  @RequestParam(defaultValue = "3") int k,
+                                                  @RequestParam(required = false) List<String> avoid) {
+        return logisticaService.obtenerSnapshot()
+                .flatMap(actual -> logisticaService.calcular("alternativas",
+                        () -> logisticaService.alternativas(actual, from, to, k, avoid)));
+    }
+
+    /**
+     * POST /logistica/dijkstra/lote
+     * Dijkstra para muchos pares a la vez. Body: [{"from": "A", "to": "B"}, ...]
+     * Todos los pares se resuelven sobre la misma versión del grafo; los que comparten origen usan un único árbol.
+     * Responde NDJSON (un resultado por línea) a medida que se van calculando, sin respetar el orden del body.
+     * Un par sin from/to o con un almacén desconocido no corta el lote: su línea trae "error" y ningún camino.
+     */
+    @PostMapping(value = "/dijkstra/lote", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Map<String, Object>> dijkstraLote(@RequestBody List<Map<String, String>> pares) {
+        return logisticaService.obtenerSnapshot()
+                .flatMapMany(actual -> logisticaService.dijkstraLote(actual, pares));
+    }
+
+    /**
+     * GET /logistica/distancias/{from}?maxCost=100&to=A,B,C
+     * Costo mínimo desde un almacén a todos los demás (un solo Dijkstra, sin detenerse en un destino).
+     * maxCost (opcional) corta la búsqueda en ese costo; to (opcional) limita la respuesta a esos almacenes.
+     * Responde NDJSON ordenado por costo: {"to", "totalCost", "previous"}, donde previous es el almacén
+     * anterior en el camino mínimo (con eso se reconstruye cualquier ruta sin pedirla de nuevo).
+     * Un origen inexistente responde 400.
+     */
+    @GetMapping(value = "/distancias/{from}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Map<String, Object>> distancias(@PathVariable String from,
+                                                @RequestParam(required = false) Double maxCost,
+                                                @RequestParam(required = false) List<String> to) {
+        return logisticaService.obtenerSnapshot()
+                .flatMapMany(actual -> logisticaService.distanciasDesde(actual, from, maxCost, to));
     }
 
     /**
      * GET /logistica/kruskal
      * Algoritmo de Kruskal: construye un Árbol Generador Mínimo (MST) usando enfoque greedy.
      * Utilidad: encontrar las conexiones de MENOR COSTO que conectan TODOS los almacenes sin ciclos.
+     * modo (opcional): clasico (por defecto) o boruvka (Borůvka en paralelo, para redes con millones de rutas).
+     * Mismo costo total con los dos.
      */
     @GetMapping(value = "/kruskal", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<Map<String, Object>> kruskal() {
-        return almacenRepository.findAllEdges()
-                .collectList()
-                .flatMap(edges -> Mono.fromCallable(() -> logisticaService.kruskalFromEdges(edges))
-                        .subscribeOn(Schedulers.boundedElastic()));
+    public Mono<Map<String, Object>> kruskal(@RequestParam(defaultValue = "clasico") String modo) {
+        return logisticaService.obtenerSnapshot()
+                .flatMap(actual -> logisticaService.kruskal(actual, modo));
     }
 
     /**
      * GET /logistica/prim?start=NombreAlmacen
      * Algoritmo de Prim: construye un Árbol Generador Mínimo (MST) comenzando desde un nodo inicial.
      * Similar a Kruskal, pero construye el árbol incrementalmente desde un nodo específico.
+     * Solo cubre la componente conexa del inicio: spanning = false indica que quedaron almacenes afuera (ver /prim/bosque).
      */
     @GetMapping(value = "/prim", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<Map<String, Object>> prim(@RequestParam(required = false) String start) {
-        return almacenRepository.findAllEdges()
-                .collectList()
-                .flatMap(edges -> Mono.fromCallable(() -> logisticaService.primFromEdges(edges, start))
-                        .subscribeOn(Schedulers.boundedElastic()));
+        return logisticaService.obtenerSnapshot()
+                .flatMap(actual -> logisticaService.prim(actual, start));
+    }
+
+    /**
+     * GET /logistica/prim/bosque
+     * Bosque Generador Mínimo: un árbol de Prim por cada componente conexa de la red, con su costo
+     * (components[].root, nodes, edges, totalCost) y el costo total del bosque (igual al de Kruskal).
+     */
+    @GetMapping(value = "/prim/bosque", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Map<String, Object>> bosque() {
+        return logisticaService.obtenerSnapshot()
+                .flatMap(actual -> logisticaService.bosque(actual));
     }
 
     /**
@@ -112,14 +293,30 @@ public class LogisticaController {
      * GET /logistica/greedy?start=NombreAlmacen
      * Algoritmo TSP Greedy (Nearest Neighbor): resuelve Traveling Salesman Problem de forma heurística.
      * Estrategia: desde el nodo actual, siempre ir al almacén más cercano no visitado.
-     * NO garantiza la solución óptima, pero es rápido.
+     * NO garantiza la solución óptima, pero es rápido. Solo sigue rutas directas: para un recorrido completo usar /tsp.
      */
     @GetMapping(value = "/greedy", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<Map<String, Object>> tsp(@RequestParam(required = false) String start) {
-        return almacenRepository.findAllEdges()
-                .collectList()
-                .flatMap(edges -> Mono.fromCallable(() -> logisticaService.greedyFromEdges(edges, start))
-                        .subscribeOn(Schedulers.boundedElastic()));
+        return logisticaService.obtenerSnapshot()
+                .flatMap(actual -> logisticaService.greedy(actual, start));
+    }
+
+    /**
+     * GET /logistica/tsp?start=Deposito&stops=A,B,C&timeMs=500&starts=4
+     * Recorrido del viajante mejorado: sale de start, visita todas las paradas (stops; si no se indican o van
+     * vacías, todos los almacenes conectados a start) y vuelve. A diferencia de /greedy usa costos de camino mínimo entre paradas,
+     * así que no se traba cuando no hay ruta directa, y mejora el vecino más cercano con búsqueda local 2-opt/Or-opt
+     * desde varios arranques en paralelo (starts, por defecto uno por procesador) durante timeMs como mucho
+     * (por defecto logistica.tsp.presupuesto-ms), incluido armar path, el recorrido completo almacén por almacén.
+     */
+    @GetMapping(value = "/tsp", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Map<String, Object>> tspLocal(@RequestParam String start,
+                                              @RequestParam(required = false) List<String> stops,
+                                              @RequestParam(required = false) Long timeMs,
+                                              @RequestParam(required = false) Integer starts) {
+        return logisticaService.obtenerSnapshot()
+                .flatMap(actual -> logisticaService.calcular("tsp",
+                        () -> logisticaService.tsp(actual, start, stops, timeMs, starts)));
     }
 
     /**
@@ -130,10 +327,37 @@ public class LogisticaController {
      */
     @GetMapping(value = "/programacion-dinamica", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<Map<String, Object>> floydWarshall() {
-        return almacenRepository.findAllEdges()
-                .collectList()
-                .flatMap(edges -> Mono.fromCallable(() -> logisticaService.floydFromEdges(edges))
-                        .subscribeOn(Schedulers.boundedElastic()));
+        return logisticaService.obtenerSnapshot()
+                .flatMap(actual -> logisticaService.calcular("programacion_dinamica",
+                        () -> logisticaService.floyd(actual.grafo)));
+    }
+
+    /**
+     * GET /logistica/programacion-dinamica/filas?from=A,B&to=C,D
+     * Mismos costos que /programacion-dinamica pero en NDJSON, una línea por almacén de origen:
+     * {"from": "A", "costs": {"C": 12.0, "D": 7.5}}. Las filas se calculan a medida que el cliente las lee.
+     * from / to (opcionales) limitan las filas y columnas; con from solo se calcula un Dijkstra por fila pedida.
+     */
+    @GetMapping(value = "/programacion-dinamica/filas", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Map<String, Object>> floydWarshallFilas(@RequestParam(required = false) List<String> from,
+                                                        @RequestParam(required = false) List<String> to) {
+        return logisticaService.obtenerSnapshot()
+                .flatMapMany(actual -> logisticaService.filasDistancias(actual.grafo, from, to));
+    }
+
+    /**
+     * GET /logistica/programacion-dinamica/binario?from=A,B&to=C,D
+     * Mismos costos en formato binario compacto (8 bytes por par, big-endian): "DIST", versión (int),
+     * cantidad de filas y columnas (int), nombres de filas y columnas (UTF modificado, como DataOutputStream.writeUTF)
+     * y los costos fila por fila como doubles.
+     */
+    @GetMapping(value = "/programacion-dinamica/binario", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public Mono<ResponseEntity<StreamingResponseBody>> floydWarshallBinario(@RequestParam(required = false) List<String> from,
+                                                                            @RequestParam(required = false) List<String> to) {
+        return logisticaService.obtenerSnapshot()
+                .map(actual -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .body(salida -> logisticaService.escribirDistanciasBinario(actual.grafo, from, to, salida)));
     }
 
     /**
@@ -144,11 +368,8 @@ public class LogisticaController {
      */
     @GetMapping(value = "/divide-venceras", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<List<Map<String, Object>>> divideConquerSort() {
-        return almacenRepository.findAllEdges()
-                .collectList()
-                .flatMap(edges -> Mono.fromCallable(() ->
-                    logisticaService.sortNodesByDegreeFromEdges(edges)
-                ).subscribeOn(Schedulers.boundedElastic()));
+        return logisticaService.obtenerSnapshot()
+                .flatMap(actual -> logisticaService.sortNodesByDegree(actual));
     }
     
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.example.uade.TP_Progra3.graph;
+
+import java.util.List;
+
+// Árbol de caminos mínimos desde un origen (resultado de un Dijkstra de una sola fuente)
+// Con un solo árbol se responden todos los destinos que salen del mismo origen
+public final class ArbolCaminos {
+    private final GrafoCompacto grafo;
+    private final int origen;
+    private final double[] distancias;
+    private final int[] anterior;
+    // Nodos fijados (con distancia definitiva) en orden creciente de distancia
+    private final int[] fijados;
+    private final int cantidadFijados;
+
+    ArbolCaminos(GrafoCompacto grafo, int origen, double[] distancias, int[] anterior, int[] fijados, int cantidadFijados) {
+        this.grafo = grafo;
+        this.origen = origen;
+        this.distancias = distancias;
+        this.anterior = anterior;
+        this.fijados = fijados;
+        this.cantidadFijados = cantidadFijados;
+    }
+
+    public int getOrigen() {
+        return origen;
+    }
+
+    public double distancia(int destino) {
+        return distancias[destino];
+    }
+
+    public boolean alcanzado(int destino) {
+        return distancias[destino] != Double.POSITIVE_INFINITY;
+    }
+
+    // Predecesor de un nodo en el árbol (-1 para el origen o nodos no alcanzados)
+    public int anterior(int nodo) {
+        return anterior[nodo];
+    }
+
+    public int cantidadFijados() {
+        return cantidadFijados;
+    }
+
+    // i-ésimo nodo fijado por la búsqueda (i = 0 es el origen)
+    public int fijado(int i) {
+        return fijados[i];
+    }
+
+    // Camino desde el origen hasta destino, o null si no se alcanzó
+    public List<String> camino(int destino) {
+        if (!alcanzado(destino)) return null;
+        return grafo.reconstruirCamino(anterior, destino);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.uade.TP_Progra3.graph;
+
+import java.util.List;
+
+// Árbol generador mínimo de una componente conexa (una parte de un bosque generador mínimo)
+public final class ArbolComponente {
+    public final String raiz;           // nodo desde el que se armó el árbol
+    public final int cantidadNodos;
+    public final List<Arista> aristas;
+    public final double costoTotal;
+
+    public ArbolComponente(String raiz, int cantidadNodos, List<Arista> aristas, double costoTotal) {
+        this.raiz = raiz;
+        this.cantidadNodos = cantidadNodos;
+        this.aristas = aristas;
+        this.costoTotal = costoTotal;
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.uade.TP_Progra3.graph;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Árbol de caminos mínimos desde un origen que se repara cuando cambian costos, en vez de recalcularse
+// Pensado para los orígenes más consultados (depósitos principales): después de un lote de cambios de costo
+// solo se vuelven a calcular los nodos cuyo camino cambió.
+// Cada reparación trabaja sobre una copia, así los requests que usan la versión anterior no ven cambios a medias.
+// Supone grafo no dirigido (las aristas salientes de un nodo sirven también como entrantes).
+public final class ArbolDinamico {
+    private final GrafoCompacto grafo;
+    private final int origen;
+    private final double[] distancias;
+    private final int[] anterior;
+    // Hijos de cada nodo como lista doblemente enlazada, para recorrer un subárbol sin mirar todo el arreglo
+    private final int[] primerHijo;
+    private final int[] siguienteHermano;
+    private final int[] anteriorHermano;
+    // Nodos que se volvieron a fijar en la última reparación (n si se calculó de cero)
+    private final int nodosReparados;
+
+    private ArbolDinamico(GrafoCompacto grafo, int origen, double[] distancias, int[] anterior,
+                          int[] primerHijo, int[] siguienteHermano, int[] anteriorHermano, int nodosReparados) {
+        this.grafo = grafo;
+        this.origen = origen;
+        this.distancias = distancias;
+        this.anterior = anterior;
+        this.primerHijo = primerHijo;
+        this.siguienteHermano = siguienteHermano;
+        this.anteriorHermano = anteriorHermano;
+        this.nodosReparados = nodosReparados;
+    }
+
+    // Árbol completo con un Dijkstra desde el origen
+    // Análisis de Complejidad:
+    // - Dijkstra: O((n + m) log n)
+    // - Armar las listas de hijos: O(n)
+    public static ArbolDinamico calcular(GrafoCompacto grafo, int origen) {
+        int n = grafo.cantidadNodos();
+        ArbolCaminos arbol = grafo.arbolDijkstra(origen, null);
+
+        double[] distancias = new double[n];
+        int[] anterior = new int[n];
+        int[] primerHijo = new int[n];
+        int[] siguienteHermano = new int[n];
+        int[] anteriorHermano = new int[n];
+        Arrays.fill(primerHijo, -1);
+        Arrays.fill(siguienteHermano, -1);
+        Arrays.fill(anteriorHermano, -1);
+
+        ArbolDinamico nuevo = new ArbolDinamico(grafo, origen, distancias, anterior,
+                primerHijo, siguienteHermano, anteriorHermano, n);
+        for (int v = 0; v < n; v++) {
+            distancias[v] = arbol.distancia(v);
+            anterior[v] = -1;
+            if (arbol.anterior(v) != -1) nuevo.colgar(v, arbol.anterior(v));
+        }
+        return nuevo;
+    }
+
+    // Copia del árbol reparada para nuevoGrafo, que tiene la misma estructura y otros costos en las rutas
+    // extremosA[i]-extremosB[i] (ids de nodo). Estrategia (como Ramalingam-Reps, en un solo lote):
+    //  1) Aumentos: si una ruta del árbol se encareció, su subárbol queda sin distancia y cada nodo del subárbol
+    //     toma la mejor distancia que le ofrezca un vecino de fuera.
+    //  2) Bajas: si una ruta más barata mejora a uno de sus extremos, ese extremo entra a la cola.
+    //  3) Dijkstra desde la cola, relajando solo donde la distancia mejora.
+    // Análisis de Complejidad:
+    // - Copia de los arreglos: O(n)
+    // - Reparación: O((a + r) log n) [a = aristas de los nodos afectados, r = nodos que mejoran]
+    // - En el peor caso (se cae el árbol entero) igual a Dijkstra: O((n + m) log n)
+    public ArbolDinamico reparado(GrafoCompacto nuevoGrafo, int[] extremosA, int[] extremosB) {
+        ArbolDinamico copia = new ArbolDinamico(nuevoGrafo, origen, distancias.clone(), anterior.clone(),
+                primerHijo.clone(), siguienteHermano.clone(), anteriorHermano.clone(), 0);
+        return copia.reparar(extremosA, extremosB);
+    }
+
+    private ArbolDinamico reparar(int[] extremosA, int[] extremosB) {
+        int n = grafo.cantidadNodos();
+        boolean[] afectado = new boolean[n];
+        int[] afectados = new int[n];
+        int cantidadAfectados = 0;
+
+        // 1) Subárboles colgados de una ruta que se encareció
+        for (int i = 0; i < extremosA.length; i++) {
+            cantidadAfectados = invalidarSiSeEncarecio(extremosA[i], extremosB[i], afectado, afectados, cantidadAfectados);
+            cantidadAfectados = invalidarSiSeEncarecio(extremosB[i], extremosA[i], afectado, afectados, cantidadAfectados);
+        }
+        // Se descuelgan todos juntos recién después de marcarlos, así cada subárbol se recorre entero
+        for (int i = 0; i < cantidadAfectados; i++) {
+            int v = afectados[i];
+            if (anterior[v] != -1 && !afectado[anterior[v]]) descolgar(v);
+        }
+        for (int i = 0; i < cantidadAfectados; i++) {
+            int v = afectados[i];
+            distancias[v] = Double.POSITIVE_INFINITY;
+            anterior[v] = -1;
+            primerHijo[v] = -1;
+            siguienteHermano[v] = -1;
+            anteriorHermano[v] = -1;
+        }
+
+        HeapIndexado cola = new HeapIndexado(n);
+        for (int i = 0; i < cantidadAfectados; i++) {
+            int v = afectados[i];
+            for (int e = grafo.primeraArista(v); e < grafo.finAristas(v); e++) {
+                int vecino = grafo.destino(e);
+                if (afectado[vecino]) continue;
+                mejorar(v, vecino, distancias[vecino] + grafo.peso(e), cola);
+            }
+        }
+
+        // 2) Rutas que se abarataron
+        for (int i = 0; i < extremosA.length; i++) {
+            int a = extremosA[i];
+            int b = extremosB[i];
+            double peso = pesoMinimo(a, b);
+            mejorar(b, a, distancias[a] + peso, cola);
+            mejorar(a, b, distancias[b] + peso, cola);
+        }
+
+        // 3) Propagar
+        int reparados = 0;
+        while (!cola.estaVacio()) {
+            int actual = cola.extraerMin();
+            reparados++;
+
+            double distActual = distancias[actual];
+            for (int e = grafo.primeraArista(actual); e < grafo.finAristas(actual); e++) {
+                mejorar(grafo.destino(e), actual, distActual + grafo.peso(e), cola);
+            }
+        }
+
+        return new ArbolDinamico(grafo, origen, distancias, anterior, primerHijo, siguienteHermano, anteriorHermano, reparados);
+    }
+
+    private int invalidarSiSeEncarecio(int padre, int hijo, boolean[] afectado, int[] afectados, int cantidad) {
+        if (anterior[hijo] != padre || afectado[hijo]) return cantidad;
+        if (distancias[padre] + pesoMinimo(padre, hijo) <= distancias[hijo]) return cantidad;
+
+        // Recorrido iterativo del subárbol usando afectados como pila implícita
+        int desde = cantidad;
+        afectado[hijo] = true;
+        afectados[cantidad++] = hijo;
+        while (desde < cantidad) {
+            int v = afectados[desde++];
+            for (int h = primerHijo[v]; h != -1; h = siguienteHermano[h]) {
+                if (!afectado[h]) {
+                    afectado[h] = true;
+                    afectados[cantidad++] = h;
+                }
+            }
+        }
+        return cantidad;
+    }
+
+    private void mejorar(int nodo, int padre, double nuevaDist, HeapIndexado cola) {
+        if (nuevaDist >= distancias[nodo]) return;
+        distancias[nodo] = nuevaDist;
+        if (anterior[nodo] != -1) descolgar(nodo);
+        colgar(nodo, padre);
+        cola.insertarODisminuir(nodo, nuevaDist);
+    }
+
+    // Ruta más barata entre dos nodos en el grafo de este árbol (puede haber paralelas)
+    private double pesoMinimo(int a, int b) {
+        double minimo = Double.POSITIVE_INFINITY;
+        for (int e = grafo.primeraArista(a); e < grafo.finAristas(a); e++) {
+            if (grafo.destino(e) == b && grafo.peso(e) < minimo) minimo = grafo.peso(e);
+        }
+        return minimo;
+    }
+
+    private void colgar(int nodo, int padre) {
+        anterior[nodo] = padre;
+        anteriorHermano[nodo] = -1;
+        siguienteHermano[nodo] = primerHijo[padre];
+        if (primerHijo[padre] != -1) anteriorHermano[primerHijo[padre]] = nodo;
+        primerHijo[padre] = nodo;
+    }
+
+    private void descolgar(int nodo) {
+        int padre = anterior[nodo];
+        if (anteriorHermano[nodo] != -1) siguienteHermano[anteriorHermano[nodo]] = siguienteHermano[nodo];
+        else primerHijo[padre] = siguienteHermano[nodo];
+        if (siguienteHermano[nodo] != -1) anteriorHermano[siguienteHermano[nodo]] = anteriorHermano[nodo];
+        anterior[nodo] = -1;
+        siguienteHermano[nodo] = -1;
+        anteriorHermano[nodo] = -1;
+    }
+
+    public int getOrigen() {
+        return origen;
+    }
+
+    public GrafoCompacto getGrafo() {
+        return grafo;
+    }
+
+    public int nodosReparados() {
+        return nodosReparados;
+    }
+
+    public double distancia(int destino) {
+        return distancias[destino];
+    }
+
+    // Camino desde el origen hasta destino siguiendo el árbol, o null si no se alcanza
+    public List<String> camino(int destino) {
+        if (distancias[destino] == Double.POSITIVE_INFINITY) return null;
+        return grafo.reconstruirCamino(anterior, destino);
+    }
+}
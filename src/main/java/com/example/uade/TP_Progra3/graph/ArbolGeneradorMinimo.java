@@ -0,0 +1,163 @@
+package com.example.uade.TP_Progra3.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Motores de árbol generador mínimo sobre ids enteros, para redes con millones de rutas
+// Dan el mismo costo total que GrafoCompacto.kruskalMST (si el grafo no es conexo, un bosque por componente)
+public final class ArbolGeneradorMinimo {
+
+    private ArbolGeneradorMinimo() {
+    }
+
+    // Borůvka paralelo: en cada ronda cada componente elige en paralelo su ruta más barata hacia afuera,
+    // y después se unen todas las elegidas. Cada ronda al menos divide por dos la cantidad de componentes.
+    // Los empates se rompen por los extremos de la ruta, así el orden es total y no se forman ciclos.
+    // Análisis de Complejidad:
+    // - O(log n) rondas, cada una recorre todas las aristas: O(m log n) de trabajo total
+    // - La búsqueda de la ruta mínima por componente (lo caro) y las uniones de la ronda se reparten entre los
+    //   hilos del ForkJoinPool común (las uniones con ConjuntosDisjuntosConcurrentes, sin locks);
+    //   agrupar nodos por componente es O(n) secuencial por ronda
+    // - No ordena las aristas ni crea objetos por arista (solo las del resultado)
+    public static List<Arista> boruvka(GrafoCompacto grafo) {
+        int n = grafo.cantidadNodos();
+        int m = grafo.cantidadAristas();
+
+        int[] origenArista = new int[m];
+        for (int u = 0; u < n; u++) {
+            for (int e = grafo.primeraArista(u); e < grafo.finAristas(u); e++) origenArista[e] = u;
+        }
+
+        ConjuntosDisjuntosConcurrentes conjuntos = new ConjuntosDisjuntosConcurrentes(n);
+        int[] componente = new int[n];
+        // Nodos agrupados por componente: los de la componente i están en nodosPorComponente[inicio[i] .. inicio[i+1])
+        int[] indiceComponente = new int[n];
+        int[] inicio = new int[n + 1];
+        int[] nodosPorComponente = new int[n];
+        int[] mejor = new int[n];
+        boolean[] unio = new boolean[n];
+
+        List<Arista> arbol = new ArrayList<>();
+        boolean huboUniones = true;
+        while (huboUniones) {
+            int cantidadComponentes = 0;
+            for (int v = 0; v < n; v++) {
+                componente[v] = conjuntos.buscar(v);
+                if (componente[v] == v) indiceComponente[v] = cantidadComponentes++;
+            }
+
+            Arrays.fill(inicio, 0, cantidadComponentes + 1, 0);
+            for (int v = 0; v < n; v++) inicio[indiceComponente[componente[v]] + 1]++;
+            for (int i = 0; i < cantidadComponentes; i++) inicio[i + 1] += inicio[i];
+            int[] siguiente = Arrays.copyOf(inicio, cantidadComponentes);
+            for (int v = 0; v < n; v++) nodosPorComponente[siguiente[indiceComponente[componente[v]]]++] = v;
+
+            IntStream.range(0, cantidadComponentes).parallel().forEach(i -> {
+                int elegida = -1;
+                for (int k = inicio[i]; k < inicio[i + 1]; k++) {
+                    int u = nodosPorComponente[k];
+                    for (int e = grafo.primeraArista(u); e < grafo.finAristas(u); e++) {
+                        if (componente[grafo.destino(e)] == componente[u]) continue;
+                        if (elegida == -1 || esMenor(grafo, origenArista, e, elegida)) elegida = e;
+                    }
+                }
+                mejor[i] = elegida;
+            });
+
+            // Dos componentes pueden elegir la misma ruta (una desde cada lado): solo una de las dos une
+            IntStream.range(0, cantidadComponentes).parallel().forEach(i -> {
+                int e = mejor[i];
+                unio[i] = e != -1 && conjuntos.unir(origenArista[e], grafo.destino(e));
+            });
+
+            huboUniones = false;
+            for (int i = 0; i < cantidadComponentes; i++) {
+                if (!unio[i]) continue;
+                int e = mejor[i];
+                arbol.add(new Arista(grafo.nombre(origenArista[e]), grafo.nombre(grafo.destino(e)), grafo.peso(e)));
+                huboUniones = true;
+            }
+        }
+
+        return arbol;
+    }
+
+    // Bosque generador mínimo: un árbol de Prim por cada componente conexa, con su costo
+    // Las componentes salen en orden de su nodo de menor id; el bosque completo cuesta lo mismo que Kruskal
+    // Análisis de Complejidad:
+    // - Cada nodo entra al heap una vez y cada arista hace a lo sumo un decrease-key: O((n + m) log n)
+    public static List<ArbolComponente> bosquePrim(GrafoCompacto grafo) {
+        int n = grafo.cantidadNodos();
+        EstadoPrim estado = new EstadoPrim(n);
+        List<ArbolComponente> bosque = new ArrayList<>();
+
+        for (int v = 0; v < n; v++) {
+            if (estado.enArbol[v]) continue;
+            List<Arista> aristas = new ArrayList<>();
+            int cantidadNodos = prim(grafo, v, estado, aristas);
+            double costo = 0.0;
+            for (Arista arista : aristas) costo += arista.peso;
+            bosque.add(new ArbolComponente(grafo.nombre(v), cantidadNodos, aristas, costo));
+        }
+        return bosque;
+    }
+
+    // Prim "ansioso": el heap indexado guarda cada nodo fuera del árbol una sola vez, con la clave de la ruta
+    // más barata que lo conecta al árbol (decrease-key cuando aparece una mejor). Como máximo n entradas,
+    // sin aristas viejas que haya que sacar y descartar como en la versión con PriorityQueue de aristas.
+    // Agrega a salida las aristas del árbol de la componente de origen, en el orden en que se incorporan.
+    // Retorna la cantidad de nodos de la componente.
+    static int prim(GrafoCompacto grafo, int origen, EstadoPrim estado, List<Arista> salida) {
+        HeapIndexado cola = estado.cola;
+        estado.clave[origen] = 0.0;
+        cola.insertarODisminuir(origen, 0.0);
+        int cantidadNodos = 0;
+
+        while (!cola.estaVacio()) {
+            int v = cola.extraerMin();
+            estado.enArbol[v] = true;
+            cantidadNodos++;
+            if (estado.padre[v] != -1) {
+                salida.add(new Arista(grafo.nombre(estado.padre[v]), grafo.nombre(v), estado.clave[v]));
+            }
+
+            for (int e = grafo.primeraArista(v); e < grafo.finAristas(v); e++) {
+                int w = grafo.destino(e);
+                if (estado.enArbol[w] || grafo.peso(e) >= estado.clave[w]) continue;
+                estado.clave[w] = grafo.peso(e);
+                estado.padre[w] = v;
+                cola.insertarODisminuir(w, grafo.peso(e));
+            }
+        }
+        return cantidadNodos;
+    }
+
+    // Arreglos de Prim indexados por id, compartidos entre las componentes de un mismo bosque
+    static final class EstadoPrim {
+        final boolean[] enArbol;
+        final double[] clave;
+        final int[] padre;
+        final HeapIndexado cola;
+
+        EstadoPrim(int n) {
+            enArbol = new boolean[n];
+            clave = new double[n];
+            padre = new int[n];
+            cola = new HeapIndexado(n);
+            Arrays.fill(clave, Double.POSITIVE_INFINITY);
+            Arrays.fill(padre, -1);
+        }
+    }
+
+    // Orden total entre rutas: por peso y, a igual peso, por el par de extremos (sin importar el sentido)
+    private static boolean esMenor(GrafoCompacto grafo, int[] origenArista, int e, int f) {
+        if (grafo.peso(e) != grafo.peso(f)) return grafo.peso(e) < grafo.peso(f);
+
+        int menorE = Math.min(origenArista[e], grafo.destino(e));
+        int menorF = Math.min(origenArista[f], grafo.destino(f));
+        if (menorE != menorF) return menorE < menorF;
+        return Math.max(origenArista[e], grafo.destino(e)) < Math.max(origenArista[f], grafo.destino(f));
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.uade.TP_Progra3.graph;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+// Copia de un GrafoCompacto en un archivo binario, para arrancar sin la BD (o antes de que responda)
+// Formato (big-endian, como DataOutputStream):
+//   "GRAF", int formato (1), long versión del snapshot, long guardado en (epoch ms),
+//   int nodos n, int entradas del CSR m (2 por ruta),
+//   n nombres como int largo + bytes UTF-8,
+//   int[n + 1] inicio, int[m] destinos, double[m] pesos,
+//   long CRC32 de todo lo anterior
+// Se lee de una vez en un ByteBuffer y se copia cada arreglo en bloque: no hay parseo por ruta, solo se arman
+// los n nombres. No se mapea (MappedByteBuffer): el mapeo sigue vivo hasta que el GC lo libera y, en Windows,
+// mientras tanto no se puede reemplazar el archivo con la próxima versión.
+public final class ArchivoGrafo {
+    private static final byte[] MAGICO = "GRAF".getBytes(StandardCharsets.US_ASCII);
+    public static final int FORMATO = 1;
+    // Magico + formato + versión + fecha + n + m
+    private static final int CABECERA = 4 + 4 + 8 + 8 + 4 + 4;
+
+    public final GrafoCompacto grafo;
+    public final long version;
+    public final long guardadoEn;
+    // CRC32 guardado al final del archivo: si no cambió, el contenido tampoco (ver leerCrc)
+    public final long crc;
+
+    private ArchivoGrafo(GrafoCompacto grafo, long version, long guardadoEn, long crc) {
+        this.grafo = grafo;
+        this.version = version;
+        this.guardadoEn = guardadoEn;
+        this.crc = crc;
+    }
+
+    // Escribe en un temporal al lado del destino, lo baja a disco (force) y recién ahí lo renombra:
+    // quien lea el archivo ve el anterior o el nuevo, nunca uno a medias, tampoco después de un corte de luz
+    // Análisis de Complejidad: O(n + m), secuencial
+    // Retorna la cantidad de bytes escritos
+    public static long escribir(GrafoCompacto grafo, long version, Path destino) throws IOException {
+        Path carpeta = destino.toAbsolutePath().getParent();
+        Files.createDirectories(carpeta);
+        Path temporal = Files.createTempFile(carpeta, destino.getFileName().toString(), ".tmp");
+
+        try {
+            CRC32 crc = new CRC32();
+            try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                OutputStream archivo = Channels.newOutputStream(canal);
+                DataOutputStream datos = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(archivo, crc), 1 << 16));
+                int n = grafo.cantidadNodos();
+                int m = n == 0 ? 0 : grafo.finAristas(n - 1);
+
+                datos.write(MAGICO);
+                datos.writeInt(FORMATO);
+                datos.writeLong(version);
+                datos.writeLong(System.currentTimeMillis());
+                datos.writeInt(n);
+                datos.writeInt(m);
+                for (int v = 0; v < n; v++) {
+                    byte[] nombre = grafo.nombre(v).getBytes(StandardCharsets.UTF_8);
+                    datos.writeInt(nombre.length);
+                    datos.write(nombre);
+                }
+                for (int v = 0; v < n; v++) datos.writeInt(grafo.primeraArista(v));
+                datos.writeInt(m);
+                for (int e = 0; e < m; e++) datos.writeInt(grafo.destino(e));
+                for (int e = 0; e < m; e++) datos.writeDouble(grafo.peso(e));
+                datos.flush();
+
+                // El CRC va fuera de lo que cubre
+                new DataOutputStream(archivo).writeLong(crc.getValue());
+                canal.force(true);
+            }
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return Files.size(destino);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    // CRC guardado en el archivo, sin leer ni verificar el resto (para saber si cambió desde la última lectura)
+    // Análisis de Complejidad: O(1), lee los últimos 8 bytes
+    public static long leerCrc(Path origen) throws IOException {
+        try (FileChannel canal = FileChannel.open(origen, StandardOpenOption.READ)) {
+            long tamanio = canal.size();
+            if (tamanio < CABECERA + 8) throw new IOException("archivo de grafo truncado: " + origen);
+            ByteBuffer buffer = ByteBuffer.allocate(8);
+            leerCompleto(canal, buffer, tamanio - 8, origen);
+            return buffer.getLong(0);
+        }
+    }
+
+    // Falla con IOException si el archivo no es de este formato, está truncado, no coincide el CRC
+    // o el contenido no es un grafo válido (nombres repetidos, CSR mal armado)
+    // Análisis de Complejidad:
+    // - Lectura y CRC: O(bytes)
+    // - Nombres: O(n) Strings; arreglos del CSR: copias en bloque O(n + m)
+    // - Validación de la estructura: O(n + m)
+    public static ArchivoGrafo leer(Path origen) throws IOException {
+        try (FileChannel canal = FileChannel.open(origen, StandardOpenOption.READ)) {
+            long tamanio = canal.size();
+            if (tamanio < CABECERA + 8) throw new IOException("archivo de grafo truncado: " + origen);
+            if (tamanio > Integer.MAX_VALUE) throw new IOException("archivo de grafo demasiado grande: " + origen);
+            ByteBuffer buffer = ByteBuffer.allocate((int) tamanio);
+            leerCompleto(canal, buffer, 0, origen);
+
+            byte[] magico = new byte[MAGICO.length];
+            buffer.get(magico);
+            if (!Arrays.equals(magico, MAGICO)) throw new IOException("no es un archivo de grafo: " + origen);
+            int formato = buffer.getInt();
+            if (formato != FORMATO) throw new IOException("formato de archivo de grafo " + formato + " no soportado: " + origen);
+
+            int contenido = (int) tamanio - 8;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), 0, contenido);
+            long guardado = buffer.getLong(contenido);
+            if (crc.getValue() != guardado) throw new IOException("CRC del archivo de grafo no coincide: " + origen);
+
+            long version = buffer.getLong();
+            long guardadoEn = buffer.getLong();
+            int n = buffer.getInt();
+            int m = buffer.getInt();
+            // Un CRC correcto no alcanza si el archivo lo armó otro programa: los tamaños tienen que entrar en lo leído
+            // (cada nombre ocupa al menos su largo y su entrada de inicio)
+            if (n < 0 || m < 0 || 8L * n + 4 + 12L * m > contenido - buffer.position()) {
+                throw new IOException("archivo de grafo inconsistente: " + origen);
+            }
+
+            String[] nombres = new String[n];
+            Map<String, Integer> ids = new HashMap<>(n * 2);
+            byte[] bytes = new byte[64];
+            for (int v = 0; v < n; v++) {
+                int largo = buffer.getInt();
+                if (largo < 0 || largo > contenido - buffer.position()) throw new IOException("archivo de grafo inconsistente: " + origen);
+                if (largo > bytes.length) bytes = new byte[Math.max(largo, bytes.length * 2)];
+                buffer.get(bytes, 0, largo);
+                nombres[v] = new String(bytes, 0, largo, StandardCharsets.UTF_8);
+                if (ids.put(nombres[v], v) != null) throw new IOException("archivo de grafo inconsistente: " + origen);
+            }
+
+            if (4L * (n + 1) + 12L * m != contenido - buffer.position()) throw new IOException("archivo de grafo inconsistente: " + origen);
+            int[] inicio = new int[n + 1];
+            int[] destinos = new int[m];
+            double[] pesos = new double[m];
+            buffer.asIntBuffer().get(inicio);
+            buffer.position(buffer.position() + 4 * (n + 1));
+            buffer.asIntBuffer().get(destinos);
+            buffer.position(buffer.position() + 4 * m);
+            buffer.asDoubleBuffer().get(pesos);
+            validarEstructura(inicio, destinos, origen);
+
+            return new ArchivoGrafo(new GrafoCompacto(nombres, ids, inicio, destinos, pesos), version, guardadoEn, guardado);
+        }
+    }
+
+    // CSR bien formado: inicio arranca en 0, no decrece y termina en m; cada destino es un id válido.
+    // Sin esto un archivo con CRC correcto pero mal armado fallaría recién en una búsqueda (fuera de rango)
+    private static void validarEstructura(int[] inicio, int[] destinos, Path origen) throws IOException {
+        int n = inicio.length - 1;
+        if (inicio[0] != 0 || inicio[n] != destinos.length) throw new IOException("archivo de grafo inconsistente: " + origen);
+        for (int v = 0; v < n; v++) {
+            if (inicio[v] > inicio[v + 1]) throw new IOException("archivo de grafo inconsistente: " + origen);
+        }
+        for (int destino : destinos) {
+            if (destino < 0 || destino >= n) throw new IOException("archivo de grafo inconsistente: " + origen);
+        }
+    }
+
+    // Llena el buffer desde la posición dada; el archivo puede achicarse entre medir su tamaño y leerlo
+    private static void leerCompleto(FileChannel canal, ByteBuffer buffer, long posicion, Path origen) throws IOException {
+        while (buffer.hasRemaining()) {
+            int leidos = canal.read(buffer, posicion);
+            if (leidos < 0) throw new IOException("archivo de grafo truncado: " + origen);
+            posicion += leidos;
+        }
+        buffer.flip();
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.uade.TP_Progra3.graph;
+
+import java.util.List;
+
+// Motor de BFS sobre un GrafoCompacto que se puede reutilizar para muchas búsquedas sin volver a pedir memoria
+// - Cola: un int[] de n con cabeza y fin. Cada nodo entra una sola vez, así que nunca se llena ni hace falta
+//   darle la vuelta, y al terminar cola[0 .. fin-1] es el orden de visita.
+// - Visitados y objetivos: bitsets en long[]; antes de cada búsqueda se limpian solo los bits que quedaron
+//   prendidos (los nodos de la búsqueda anterior), no los n.
+// - Predecesores en int[]: solo se leen para nodos visitados, así que no hace falta limpiarlos.
+// - El camino se arma una única vez al final, siguiendo los predecesores.
+// Una instancia no es thread-safe: cada hilo usa la suya (son tres arreglos de n);
+// GrafoCompacto.conBusquedaAmplitud presta una de las que ya tiene el grafo.
+public final class BusquedaAmplitud {
+    private final GrafoCompacto grafo;
+    private final int[] cola;
+    private final int[] anterior;
+    private final long[] visitados;
+    private final long[] objetivos;
+    private int cantidadVisitados;
+    // Nivel (saltos desde el origen más cercano) del último nodo alcanzado
+    private int saltosEncontrado;
+
+    public BusquedaAmplitud(GrafoCompacto grafo) {
+        int n = grafo.cantidadNodos();
+        this.grafo = grafo;
+        this.cola = new int[n];
+        this.anterior = new int[n];
+        this.visitados = new long[(n + 63) >>> 6];
+        this.objetivos = new long[(n + 63) >>> 6];
+    }
+
+    // Un origen, un destino
+    public int buscar(int origen, int destino, int maxSaltos) {
+        return buscar(new int[]{origen}, new int[]{destino}, maxSaltos);
+    }
+
+    // BFS desde todos los origenes a la vez (todos en el nivel 0) hasta alcanzar el primer objetivo
+    // Devuelve el objetivo más cercano en cantidad de saltos a cualquiera de los orígenes (-1 si no hay ninguno
+    // a maxSaltos o menos). objetivos == null recorre todo lo alcanzable dentro de maxSaltos.
+    // Análisis de Complejidad:
+    // - Limpiar los bits de la búsqueda anterior: O(visitados anteriores)
+    // - Cada nodo entra una vez a la cola y cada arista se mira una vez: O(n + m) en el peor caso
+    // - Corta apenas descubre un objetivo, o al terminar el nivel maxSaltos
+    public int buscar(int[] origenes, int[] objetivos, int maxSaltos) {
+        limpiar();
+        if (objetivos != null) {
+            for (int objetivo : objetivos) prender(this.objetivos, objetivo);
+        }
+        try {
+            return recorrer(origenes, objetivos != null, maxSaltos);
+        } finally {
+            if (objetivos != null) {
+                for (int objetivo : objetivos) this.objetivos[objetivo >>> 6] = 0L;
+            }
+        }
+    }
+
+    private int recorrer(int[] origenes, boolean conObjetivos, int maxSaltos) {
+        int cabeza = 0, fin = 0;
+        for (int origen : origenes) {
+            if (estaPrendido(visitados, origen)) continue;
+            prender(visitados, origen);
+            anterior[origen] = -1;
+            cola[fin++] = origen;
+            if (conObjetivos && estaPrendido(objetivos, origen)) {
+                cantidadVisitados = fin;
+                saltosEncontrado = 0;
+                return origen;
+            }
+        }
+
+        int nivel = 0;
+        int finNivel = fin;
+        while (cabeza < fin && nivel < maxSaltos) {
+            int actual = cola[cabeza++];
+
+            for (int e = grafo.primeraArista(actual); e < grafo.finAristas(actual); e++) {
+                int vecino = grafo.destino(e);
+                if (estaPrendido(visitados, vecino)) continue;
+
+                prender(visitados, vecino);
+                anterior[vecino] = actual;
+                cola[fin++] = vecino;
+                if (conObjetivos && estaPrendido(objetivos, vecino)) {
+                    cantidadVisitados = fin;
+                    saltosEncontrado = nivel + 1;
+                    return vecino;
+                }
+            }
+
+            if (cabeza == finNivel) {
+                nivel++;
+                finNivel = fin;
+            }
+        }
+
+        cantidadVisitados = fin;
+        saltosEncontrado = -1;
+        return -1;
+    }
+
+    // Apaga solo los bits de los nodos que visitó la búsqueda anterior
+    private void limpiar() {
+        for (int i = 0; i < cantidadVisitados; i++) visitados[cola[i] >>> 6] = 0L;
+        cantidadVisitados = 0;
+    }
+
+    private static void prender(long[] bits, int v) {
+        bits[v >>> 6] |= 1L << v;
+    }
+
+    private static boolean estaPrendido(long[] bits, int v) {
+        return (bits[v >>> 6] & (1L << v)) != 0;
+    }
+
+    public boolean visitado(int v) {
+        return estaPrendido(visitados, v);
+    }
+
+    // Nodos visitados por la última búsqueda, en orden de visita (los orígenes primero)
+    public int cantidadVisitados() {
+        return cantidadVisitados;
+    }
+
+    public int visitadoEn(int i) {
+        return cola[i];
+    }
+
+    // Saltos hasta el objetivo que devolvió la última búsqueda (-1 si no encontró ninguno)
+    public int saltos() {
+        return saltosEncontrado;
+    }
+
+    // Predecesor de un nodo visitado en la última búsqueda (-1 para los orígenes)
+    public int anterior(int v) {
+        return anterior[v];
+    }
+
+    // Camino desde el origen que lo alcanzó hasta v (visitado en la última búsqueda)
+    public List<String> camino(int v) {
+        return grafo.reconstruirCamino(anterior, v);
+    }
+}
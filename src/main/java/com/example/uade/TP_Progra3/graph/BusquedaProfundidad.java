@@ -0,0 +1,156 @@
+package com.example.uade.TP_Progra3.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// DFS iterativo sobre ids (pila explícita en int[], sin recursión ni HashSet) que en la misma pasada calcula:
+// - preorden y postorden de los nodos
+// - puntos de articulación: almacenes cuya baja deja la red partida
+// - puentes: rutas cuya baja deja la red partida
+// Para lo último se usa el "low-link" de Tarjan: bajo[v] es el menor número de preorden al que se llega desde
+// el subárbol de v usando una sola ruta que no sea del árbol. La ruta padre-v es puente si bajo[v] > pre[padre],
+// y padre es punto de articulación si bajo[v] >= pre[padre] (la raíz, si tiene dos hijos o más).
+// Supone grafo no dirigido. Con rutas paralelas entre dos almacenes ninguna de ellas es puente.
+public final class BusquedaProfundidad {
+    private final GrafoCompacto grafo;
+    private final int[] preorden;
+    private final int[] postorden;
+    private final int cantidadVisitados;
+    private final int[] articulaciones;
+    private final List<Arista> puentes;
+
+    private BusquedaProfundidad(GrafoCompacto grafo, int[] preorden, int[] postorden, int cantidadVisitados,
+                                int[] articulaciones, List<Arista> puentes) {
+        this.grafo = grafo;
+        this.preorden = preorden;
+        this.postorden = postorden;
+        this.cantidadVisitados = cantidadVisitados;
+        this.articulaciones = articulaciones;
+        this.puentes = puentes;
+    }
+
+    // Recorre todo el grafo: un árbol de DFS por componente, raíces en orden de id
+    public static BusquedaProfundidad recorrer(GrafoCompacto grafo) {
+        return recorrer(grafo, -1);
+    }
+
+    // origen >= 0 recorre solo su componente
+    // Análisis de Complejidad:
+    // - Cada nodo se apila y desapila una vez: O(n)
+    // - Cada arista se mira una vez gracias al cursor por nodo: O(m)
+    // - Conclusión: Complejidad FINAL = O(n + m), con memoria O(n) aunque la red sea una cadena larguísima
+    public static BusquedaProfundidad recorrer(GrafoCompacto grafo, int origen) {
+        int n = grafo.cantidadNodos();
+        int[] numero = new int[n];          // número de preorden, -1 si no se visitó
+        int[] bajo = new int[n];
+        int[] padre = new int[n];
+        int[] aristaPadre = new int[n];     // arista por la que se llegó desde el padre (para el costo del puente)
+        int[] cursor = new int[n];          // próxima arista a mirar de cada nodo
+        boolean[] padreSalteado = new boolean[n];
+        boolean[] esArticulacion = new boolean[n];
+        int[] pila = new int[n];
+        int[] preorden = new int[n];
+        int[] postorden = new int[n];
+        Arrays.fill(numero, -1);
+
+        List<Arista> puentes = new ArrayList<>();
+        int contador = 0;
+        int cantidadPost = 0;
+
+        int desde = origen >= 0 ? origen : 0;
+        int hasta = origen >= 0 ? origen + 1 : n;
+        for (int raiz = desde; raiz < hasta; raiz++) {
+            if (numero[raiz] != -1) continue;
+
+            int hijosRaiz = 0;
+            int tope = 0;
+            padre[raiz] = -1;
+            numero[raiz] = bajo[raiz] = contador;
+            preorden[contador++] = raiz;
+            cursor[raiz] = grafo.primeraArista(raiz);
+            pila[tope++] = raiz;
+
+            while (tope > 0) {
+                int v = pila[tope - 1];
+
+                if (cursor[v] < grafo.finAristas(v)) {
+                    int e = cursor[v]++;
+                    int w = grafo.destino(e);
+
+                    // La ruta por la que se llegó no cuenta como retroceso (solo una vez: las paralelas sí cuentan)
+                    if (w == padre[v] && !padreSalteado[v]) {
+                        padreSalteado[v] = true;
+                        continue;
+                    }
+
+                    if (numero[w] == -1) {
+                        padre[w] = v;
+                        aristaPadre[w] = e;
+                        numero[w] = bajo[w] = contador;
+                        preorden[contador++] = w;
+                        cursor[w] = grafo.primeraArista(w);
+                        pila[tope++] = w;
+                        if (v == raiz) hijosRaiz++;
+                    } else if (numero[w] < bajo[v]) {
+                        bajo[v] = numero[w];
+                    }
+                    continue;
+                }
+
+                // Se terminó el subárbol de v: se informa al padre
+                tope--;
+                postorden[cantidadPost++] = v;
+                int p = padre[v];
+                if (p == -1) continue;
+
+                if (bajo[v] < bajo[p]) bajo[p] = bajo[v];
+                if (bajo[v] > numero[p]) {
+                    puentes.add(new Arista(grafo.nombre(p), grafo.nombre(v), grafo.peso(aristaPadre[v])));
+                }
+                if (p != raiz && bajo[v] >= numero[p]) esArticulacion[p] = true;
+            }
+
+            if (hijosRaiz >= 2) esArticulacion[raiz] = true;
+        }
+
+        int cantidadArticulaciones = 0;
+        for (int v = 0; v < n; v++) if (esArticulacion[v]) cantidadArticulaciones++;
+        int[] articulaciones = new int[cantidadArticulaciones];
+        for (int v = 0, i = 0; v < n; v++) if (esArticulacion[v]) articulaciones[i++] = v;
+
+        return new BusquedaProfundidad(grafo, preorden, postorden, contador, articulaciones, puentes);
+    }
+
+    public int cantidadVisitados() {
+        return cantidadVisitados;
+    }
+
+    // i-ésimo nodo en entrar al recorrido
+    public int preorden(int i) {
+        return preorden[i];
+    }
+
+    // i-ésimo nodo en terminar su subárbol
+    public int postorden(int i) {
+        return postorden[i];
+    }
+
+    public List<String> nombresEnPreorden() {
+        return grafo.aNombres(preorden, cantidadVisitados);
+    }
+
+    public List<String> nombresEnPostorden() {
+        return grafo.aNombres(postorden, cantidadVisitados);
+    }
+
+    // Ids de los puntos de articulación, en orden creciente
+    public int[] puntosArticulacion() {
+        return articulaciones;
+    }
+
+    // Puentes como (padre en el árbol de DFS, hijo, costo)
+    public List<Arista> puentes() {
+        return puentes;
+    }
+}
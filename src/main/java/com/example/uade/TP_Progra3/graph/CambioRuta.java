@@ -0,0 +1,39 @@
+package com.example.uade.TP_Progra3.graph;
+
+// Un cambio puntual sobre las rutas (alta, baja, nuevo costo) o la baja de un almacén
+// Se aplica igual sobre un Graph (Graph.aplicar) o sobre un snapshot compacto (GrafoCompacto.conCambios)
+public final class CambioRuta {
+    public enum Tipo { AGREGAR, QUITAR, ACTUALIZAR, QUITAR_NODO }
+
+    public final Tipo tipo;
+    public final String desde;
+    public final String hasta;  // null para QUITAR_NODO
+    public final double costo;  // solo para AGREGAR y ACTUALIZAR
+
+    private CambioRuta(Tipo tipo, String desde, String hasta, double costo) {
+        this.tipo = tipo;
+        this.desde = desde;
+        this.hasta = hasta;
+        this.costo = costo;
+    }
+
+    // Nueva ruta desde-hasta; si ya hay otra entre los mismos almacenes queda la más barata de las dos
+    public static CambioRuta agregar(String desde, String hasta, double costo) {
+        return new CambioRuta(Tipo.AGREGAR, desde, hasta, costo);
+    }
+
+    // Baja de todas las rutas entre desde y hasta; los almacenes quedan aunque queden aislados
+    public static CambioRuta quitar(String desde, String hasta) {
+        return new CambioRuta(Tipo.QUITAR, desde, hasta, 0.0);
+    }
+
+    // Nuevo costo para las rutas entre desde y hasta; si no había ninguna se agrega
+    public static CambioRuta actualizar(String desde, String hasta, double costo) {
+        return new CambioRuta(Tipo.ACTUALIZAR, desde, hasta, costo);
+    }
+
+    // Baja del almacén y de todas sus rutas
+    public static CambioRuta quitarNodo(String nodo) {
+        return new CambioRuta(Tipo.QUITAR_NODO, nodo, null, 0.0);
+    }
+}
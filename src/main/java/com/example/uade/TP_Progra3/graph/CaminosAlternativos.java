@@ -0,0 +1,197 @@
+package com.example.uade.TP_Progra3.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+// Los k caminos más baratos sin ciclos entre dos almacenes (algoritmo de Yen)
+// Para cada camino ya elegido, cada nodo del camino es un "desvío": se mantiene el tramo hasta ese nodo y
+// se busca el mejor camino desde ahí al destino que no repita el tramo ni tome la misma ruta que los caminos
+// ya elegidos con ese tramo. El más barato de todos los candidatos es el siguiente camino.
+// - Las búsquedas de desvío de un mismo camino son independientes: se hacen en paralelo
+// - Un único árbol de caminos mínimos hacia el destino (calculado una vez) da la cota de A* de cada búsqueda:
+//   quitar nodos o rutas solo puede alargar los caminos, así que la distancia al destino del grafo completo
+//   sigue siendo una cota válida, y un desvío cuya cota ya no mejora a los candidatos no se busca
+// Supone grafo no dirigido (el árbol desde el destino da las distancias hacia el destino).
+public final class CaminosAlternativos {
+
+    private CaminosAlternativos() {
+    }
+
+    // Camino como secuencia de ids con el costo acumulado hasta cada nodo
+    private static final class Camino implements Comparable<Camino> {
+        final int[] nodos;
+        final double[] acumulado;
+        final int nodosFijados;
+
+        Camino(int[] nodos, double[] acumulado, int nodosFijados) {
+            this.nodos = nodos;
+            this.acumulado = acumulado;
+            this.nodosFijados = nodosFijados;
+        }
+
+        double costo() {
+            return acumulado[acumulado.length - 1];
+        }
+
+        // Igual tramo inicial nodos[0..hasta]
+        boolean empiezaCon(int[] otro, int hasta) {
+            if (nodos.length <= hasta) return false;
+            for (int i = 0; i <= hasta; i++) if (nodos[i] != otro[i]) return false;
+            return true;
+        }
+
+        @Override
+        public int compareTo(Camino otro) {
+            int porCosto = Double.compare(costo(), otro.costo());
+            return porCosto != 0 ? porCosto : Integer.compare(nodos.length, otro.nodos.length);
+        }
+    }
+
+    // excluidos (puede ser null): almacenes que ningún camino puede usar (por ejemplo, cerrados por un incidente)
+    // Análisis de Complejidad:
+    // - Árbol hacia el destino: O((n + m) log n), una vez
+    // - Por cada camino elegido, hasta L búsquedas A* [L = largo del camino], cada una O((n + m) log n) en el peor
+    //   caso pero guiada por la distancia exacta al destino; repartidas entre los hilos del ForkJoinPool común
+    // - Total: O(k · L · (n + m) log n) en el peor caso
+    public static List<ResultadoCamino> yen(GrafoCompacto grafo, int origen, int destino, int k, boolean[] excluidos) {
+        int n = grafo.cantidadNodos();
+        boolean[] prohibidos = excluidos == null ? new boolean[n] : excluidos;
+
+        ArbolCaminos haciaDestino = grafo.arbolDijkstra(destino, null);
+        double[] cota = new double[n];
+        for (int v = 0; v < n; v++) cota[v] = haciaDestino.distancia(v);
+
+        List<Camino> elegidos = new ArrayList<>();
+        PriorityQueue<Camino> candidatos = new PriorityQueue<>();
+        Set<List<Integer>> vistos = new HashSet<>();
+
+        Camino primero = aEstrella(grafo, origen, destino, cota, prohibidos, null, 0, new int[0], Double.POSITIVE_INFINITY);
+        if (primero == null) return new ArrayList<>();
+        elegidos.add(primero);
+        vistos.add(Arrays.stream(primero.nodos).boxed().toList());
+
+        while (elegidos.size() < k) {
+            Camino anterior = elegidos.get(elegidos.size() - 1);
+            int faltan = k - elegidos.size();
+            // Peor costo que todavía puede entrar entre los k: si ya hay suficientes candidatos, el k-ésimo
+            double techo = candidatos.size() >= faltan ? kEsimo(candidatos, faltan) : Double.POSITIVE_INFINITY;
+
+            List<Camino> nuevos = IntStream.range(0, anterior.nodos.length - 1).parallel()
+                    .mapToObj(i -> desvio(grafo, anterior, i, elegidos, cota, prohibidos, destino, techo))
+                    .filter(Objects::nonNull)
+                    .toList();
+            for (Camino nuevo : nuevos) {
+                if (vistos.add(Arrays.stream(nuevo.nodos).boxed().toList())) candidatos.add(nuevo);
+            }
+
+            if (candidatos.isEmpty()) break;
+            elegidos.add(candidatos.poll());
+        }
+
+        List<ResultadoCamino> resultado = new ArrayList<>(elegidos.size());
+        for (Camino camino : elegidos) {
+            resultado.add(new ResultadoCamino(grafo.aNombres(camino.nodos, camino.nodos.length), camino.costo(), camino.nodosFijados));
+        }
+        return resultado;
+    }
+
+    private static double kEsimo(PriorityQueue<Camino> candidatos, int posicion) {
+        PriorityQueue<Camino> copia = new PriorityQueue<>(candidatos);
+        Camino camino = null;
+        for (int i = 0; i < posicion; i++) camino = copia.poll();
+        return camino.costo();
+    }
+
+    // Mejor camino que sigue el tramo anterior.nodos[0..i] y se desvía en anterior.nodos[i]
+    private static Camino desvio(GrafoCompacto grafo, Camino anterior, int i, List<Camino> elegidos,
+                                 double[] cota, boolean[] prohibidos, int destino, double techo) {
+        int desvio = anterior.nodos[i];
+        double costoTramo = anterior.acumulado[i];
+        if (costoTramo + cota[desvio] >= techo) return null;
+
+        // Rutas ya usadas desde el desvío por los caminos elegidos con el mismo tramo
+        int[] rutasUsadas = elegidos.stream()
+                .filter(camino -> camino.empiezaCon(anterior.nodos, i) && camino.nodos.length > i + 1)
+                .mapToInt(camino -> camino.nodos[i + 1])
+                .toArray();
+
+        return aEstrella(grafo, desvio, destino, cota, prohibidos, anterior, i, rutasUsadas, techo);
+    }
+
+    // A* de desde a destino sin pasar por prohibidos ni por los nodos del tramo, y sin tomar desde -> rutasUsadas
+    // El tramo son los primeros largoTramo nodos de base (base == null: sin tramo) y va al principio del resultado
+    private static Camino aEstrella(GrafoCompacto grafo, int desde, int destino, double[] cota, boolean[] prohibidos,
+                                    Camino base, int largoTramo, int[] rutasUsadas, double techo) {
+        if (cota[desde] == Double.POSITIVE_INFINITY) return null;
+        int n = grafo.cantidadNodos();
+        double costoTramo = base == null ? 0.0 : base.acumulado[largoTramo];
+
+        boolean[] bloqueado = new boolean[n];
+        for (int j = 0; j < largoTramo; j++) bloqueado[base.nodos[j]] = true;
+        if (prohibidos[desde] || prohibidos[destino]) return null;
+
+        double[] dist = new double[n];
+        int[] previo = new int[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(previo, -1);
+        dist[desde] = 0.0;
+
+        HeapIndexado cola = new HeapIndexado(n);
+        cola.insertarODisminuir(desde, cota[desde]);
+        int fijados = 0;
+
+        while (!cola.estaVacio()) {
+            // Con la cota, la clave mínima es lo mínimo que puede costar cualquier camino que falta ver
+            if (costoTramo + cola.claveMinima() >= techo) {
+                EstadisticasBusqueda.ALTERNATIVAS.registrar(cola);
+                return null;
+            }
+            int actual = cola.extraerMin();
+            fijados++;
+            if (actual == destino) break;
+
+            double distActual = dist[actual];
+            for (int e = grafo.primeraArista(actual); e < grafo.finAristas(actual); e++) {
+                int vecino = grafo.destino(e);
+                if (bloqueado[vecino] || prohibidos[vecino]) continue;
+                if (actual == desde && contiene(rutasUsadas, vecino)) continue;
+
+                double nuevaDist = distActual + grafo.peso(e);
+                if (nuevaDist < dist[vecino]) {
+                    dist[vecino] = nuevaDist;
+                    previo[vecino] = actual;
+                    cola.insertarODisminuir(vecino, nuevaDist + cota[vecino]);
+                }
+            }
+        }
+        EstadisticasBusqueda.ALTERNATIVAS.registrar(cola);
+        if (dist[destino] == Double.POSITIVE_INFINITY) return null;
+
+        int largoDesvio = 0;
+        for (int v = destino; v != -1; v = previo[v]) largoDesvio++;
+
+        int[] nodos = new int[largoTramo + largoDesvio];
+        double[] acumulado = new double[nodos.length];
+        if (base != null) {
+            System.arraycopy(base.nodos, 0, nodos, 0, largoTramo);
+            System.arraycopy(base.acumulado, 0, acumulado, 0, largoTramo);
+        }
+        int posicion = nodos.length;
+        for (int v = destino; v != -1; v = previo[v]) {
+            nodos[--posicion] = v;
+            acumulado[posicion] = costoTramo + dist[v];
+        }
+        return new Camino(nodos, acumulado, fijados);
+    }
+
+    private static boolean contiene(int[] valores, int valor) {
+        for (int v : valores) if (v == valor) return true;
+        return false;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.uade.TP_Progra3.graph;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Variantes de Dijkstra para consultas de un origen a un único destino
+// Ambas devuelven el mismo costo que GrafoCompacto.dijkstra, pero fijan muchos menos nodos en rutas largas
+public final class CaminosPuntoAPunto {
+
+    private CaminosPuntoAPunto() {
+    }
+
+    // Dijkstra bidireccional: una búsqueda desde el origen y otra desde el destino, hasta que se encuentran
+    // Como el grafo es no dirigido (cada ruta está en ambos sentidos), la búsqueda hacia atrás usa las mismas aristas
+    // Análisis de Complejidad:
+    // - Peor caso igual a Dijkstra: O((n + m) log n)
+    // - En la práctica cada búsqueda llega a "la mitad" del camino: se exploran dos bolas de radio d/2
+    //   en lugar de una de radio d
+    public static ResultadoCamino dijkstraBidireccional(GrafoCompacto grafo, int origen, int destino) {
+        if (origen == destino) return new ResultadoCamino(List.of(grafo.nombre(origen)), 0.0, 1);
+
+        int n = grafo.cantidadNodos();
+        double[] distIda = new double[n];
+        double[] distVuelta = new double[n];
+        int[] anteriorIda = new int[n];
+        int[] siguienteVuelta = new int[n];
+        Arrays.fill(distIda, Double.POSITIVE_INFINITY);
+        Arrays.fill(distVuelta, Double.POSITIVE_INFINITY);
+        Arrays.fill(anteriorIda, -1);
+        Arrays.fill(siguienteVuelta, -1);
+        distIda[origen] = 0.0;
+        distVuelta[destino] = 0.0;
+
+        HeapIndexado colaIda = new HeapIndexado(n);
+        HeapIndexado colaVuelta = new HeapIndexado(n);
+        colaIda.insertarODisminuir(origen, 0.0);
+        colaVuelta.insertarODisminuir(destino, 0.0);
+
+        // mejor: costo del mejor camino completo visto hasta ahora, encuentro: nodo donde se unen las búsquedas
+        double mejor = Double.POSITIVE_INFINITY;
+        int encuentro = -1;
+        int fijados = 0;
+
+        while (!colaIda.estaVacio() && !colaVuelta.estaVacio()) {
+            // Ningún camino sin explorar puede costar menos que la suma de los dos mínimos
+            if (colaIda.claveMinima() + colaVuelta.claveMinima() >= mejor) break;
+
+            // Avanzar el lado con el mínimo más chico mantiene las dos bolas de radio parecido
+            boolean haciaAdelante = colaIda.claveMinima() <= colaVuelta.claveMinima();
+            HeapIndexado cola = haciaAdelante ? colaIda : colaVuelta;
+            double[] dist = haciaAdelante ? distIda : distVuelta;
+            double[] distOtro = haciaAdelante ? distVuelta : distIda;
+            int[] previo = haciaAdelante ? anteriorIda : siguienteVuelta;
+
+            int actual = cola.extraerMin();
+            fijados++;
+
+            double distActual = dist[actual];
+            for (int e = grafo.primeraArista(actual); e < grafo.finAristas(actual); e++) {
+                int vecino = grafo.destino(e);
+                double nuevaDist = distActual + grafo.peso(e);
+
+                if (nuevaDist < dist[vecino]) {
+                    dist[vecino] = nuevaDist;
+                    previo[vecino] = actual;
+                    cola.insertarODisminuir(vecino, nuevaDist);
+                }
+                if (dist[vecino] + distOtro[vecino] < mejor) {
+                    mejor = dist[vecino] + distOtro[vecino];
+                    encuentro = vecino;
+                }
+            }
+        }
+        EstadisticasBusqueda.BIDIRECCIONAL.registrar(colaIda, colaVuelta);
+
+        if (encuentro == -1) return new ResultadoCamino(null, Double.POSITIVE_INFINITY, fijados);
+
+        // origen -> encuentro por los predecesores de la ida, encuentro -> destino por los sucesores de la vuelta
+        List<String> camino = grafo.reconstruirCamino(anteriorIda, encuentro);
+        for (int v = siguienteVuelta[encuentro]; v != -1; v = siguienteVuelta[v]) {
+            camino.add(grafo.nombre(v));
+        }
+        return new ResultadoCamino(camino, mejor, fijados);
+    }
+
+    // A*: Dijkstra ordenado por distancia recorrida + cota inferior del costo restante
+    // Con una heurística consistente cada nodo se fija una sola vez y el primer pop del destino es óptimo
+    // Análisis de Complejidad:
+    // - Peor caso (heurística nula) igual a Dijkstra: O((n + m) log n)
+    // - Cuanto más ajustada la cota, menos nodos fuera del "corredor" del camino se exploran
+    public static ResultadoCamino aEstrella(GrafoCompacto grafo, int origen, int destino, Heuristica heuristica) {
+        int n = grafo.cantidadNodos();
+        double[] distancias = new double[n];
+        int[] anterior = new int[n];
+        boolean[] cerrados = new boolean[n];
+        Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+        Arrays.fill(anterior, -1);
+        distancias[origen] = 0.0;
+
+        double estimacionInicial = heuristica.cotaInferior(origen, destino);
+        if (estimacionInicial == Double.POSITIVE_INFINITY) return new ResultadoCamino(null, Double.POSITIVE_INFINITY, 0);
+
+        HeapIndexado cola = new HeapIndexado(n);
+        cola.insertarODisminuir(origen, estimacionInicial);
+        int fijados = 0;
+
+        while (!cola.estaVacio()) {
+            int actual = cola.extraerMin();
+            cerrados[actual] = true;
+            fijados++;
+            if (actual == destino) {
+                EstadisticasBusqueda.A_ESTRELLA.registrar(cola);
+                return new ResultadoCamino(grafo.reconstruirCamino(anterior, destino), distancias[destino], fijados);
+            }
+
+            double distActual = distancias[actual];
+            for (int e = grafo.primeraArista(actual); e < grafo.finAristas(actual); e++) {
+                int vecino = grafo.destino(e);
+                if (cerrados[vecino]) continue;
+
+                double nuevaDist = distActual + grafo.peso(e);
+                if (nuevaDist < distancias[vecino]) {
+                    double cota = heuristica.cotaInferior(vecino, destino);
+                    if (cota == Double.POSITIVE_INFINITY) continue;
+
+                    distancias[vecino] = nuevaDist;
+                    anterior[vecino] = actual;
+                    cola.insertarODisminuir(vecino, nuevaDist + cota);
+                }
+            }
+        }
+
+        EstadisticasBusqueda.A_ESTRELLA.registrar(cola);
+        return new ResultadoCamino(null, Double.POSITIVE_INFINITY, fijados);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.uade.TP_Progra3.graph;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+// Índice de componentes conexas: a qué componente pertenece cada nodo y cuántos nodos tiene cada una
+// Se calcula una vez por versión del grafo y después responde "¿hay camino entre a y b?" en O(1),
+// sin recorrer nada (BFS, DFS o Dijkstra exploran toda la componente antes de rendirse).
+// Las componentes se numeran 0..k-1 en el orden de su nodo de menor id.
+// Solo guarda ids: sirve para cualquier GrafoCompacto con la misma estructura (ver comparteEstructura).
+public final class ComponentesConexas {
+    private final int[] componente;
+    private final int[] tamanios;
+    // Nodos agrupados por componente: los de la componente c están en nodos[inicio[c] .. inicio[c+1]-1]
+    private final int[] inicio;
+    private final int[] nodos;
+
+    private ComponentesConexas(int[] componente, int[] tamanios, int[] inicio, int[] nodos) {
+        this.componente = componente;
+        this.tamanios = tamanios;
+        this.inicio = inicio;
+        this.nodos = nodos;
+    }
+
+    // Une los extremos de cada ruta en un union-find sin locks (en paralelo por nodo) y después numera las raíces
+    // Análisis de Complejidad:
+    // - Uniones: O(m α(n)), repartidas entre los hilos del ForkJoinPool común
+    // - Numerar y agrupar: O(n α(n))
+    public static ComponentesConexas calcular(GrafoCompacto grafo) {
+        int n = grafo.cantidadNodos();
+        ConjuntosDisjuntosConcurrentes conjuntos = new ConjuntosDisjuntosConcurrentes(n);
+        IntStream.range(0, n).parallel().forEach(v -> {
+            for (int e = grafo.primeraArista(v); e < grafo.finAristas(v); e++) {
+                int w = grafo.destino(e);
+                // Cada ruta aparece en los dos sentidos: alcanza con unirla una vez
+                if (v < w) conjuntos.unir(v, w);
+            }
+        });
+
+        int[] numeroDeRaiz = new int[n];
+        Arrays.fill(numeroDeRaiz, -1);
+        int[] componente = new int[n];
+        int cantidad = 0;
+        for (int v = 0; v < n; v++) {
+            int raiz = conjuntos.buscar(v);
+            if (numeroDeRaiz[raiz] == -1) numeroDeRaiz[raiz] = cantidad++;
+            componente[v] = numeroDeRaiz[raiz];
+        }
+
+        int[] tamanios = new int[cantidad];
+        for (int v = 0; v < n; v++) tamanios[componente[v]]++;
+
+        int[] inicio = new int[cantidad + 1];
+        for (int c = 0; c < cantidad; c++) inicio[c + 1] = inicio[c] + tamanios[c];
+        int[] nodos = new int[n];
+        int[] siguiente = Arrays.copyOf(inicio, cantidad);
+        for (int v = 0; v < n; v++) nodos[siguiente[componente[v]]++] = v;
+
+        return new ComponentesConexas(componente, tamanios, inicio, nodos);
+    }
+
+    public int componente(int nodo) {
+        return componente[nodo];
+    }
+
+    // true si existe algún camino entre los dos nodos
+    public boolean conectados(int a, int b) {
+        return componente[a] == componente[b];
+    }
+
+    public int cantidadComponentes() {
+        return tamanios.length;
+    }
+
+    public int tamanio(int componente) {
+        return tamanios[componente];
+    }
+
+    public int tamanioMaximo() {
+        int maximo = 0;
+        for (int tamanio : tamanios) maximo = Math.max(maximo, tamanio);
+        return maximo;
+    }
+
+    // Ids de los nodos de la componente, en orden creciente
+    public int[] nodos(int componente) {
+        return Arrays.copyOfRange(nodos, inicio[componente], inicio[componente + 1]);
+    }
+}
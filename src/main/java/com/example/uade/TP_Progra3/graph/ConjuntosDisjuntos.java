@@ -0,0 +1,68 @@
+package com.example.uade.TP_Progra3.graph;
+
+// Union-Find sobre ids enteros 0..n-1 con arreglos primitivos
+// A diferencia de la versión original de UnionFind (String, recursiva) no hay boxing, la búsqueda es iterativa
+// y la unión por tamaño mantiene los árboles con altura O(log n). No es thread-safe: para uniones desde
+// varios hilos a la vez está ConjuntosDisjuntosConcurrentes.
+public final class ConjuntosDisjuntos {
+    private final int[] padre;
+    // Tamaño del conjunto, válido solo en las raíces
+    private final int[] tamanio;
+    private int cantidadConjuntos;
+
+    public ConjuntosDisjuntos(int n) {
+        padre = new int[n];
+        tamanio = new int[n];
+        for (int i = 0; i < n; i++) {
+            padre[i] = i;
+            tamanio[i] = 1;
+        }
+        cantidadConjuntos = n;
+    }
+
+    // Raíz del conjunto de x, con "path halving": cada nodo del camino pasa a apuntar a su abuelo
+    // Análisis de Complejidad:
+    // - Junto con la unión por tamaño: O(α(n)) amortizado
+    public int buscar(int x) {
+        while (padre[x] != x) {
+            padre[x] = padre[padre[x]];
+            x = padre[x];
+        }
+        return x;
+    }
+
+    // Une los conjuntos de a y b; retorna false si ya estaban juntos
+    public boolean unir(int a, int b) {
+        int raizA = buscar(a);
+        int raizB = buscar(b);
+        if (raizA == raizB) return false;
+
+        // El conjunto más chico se cuelga del más grande
+        if (tamanio[raizA] < tamanio[raizB]) {
+            int aux = raizA;
+            raizA = raizB;
+            raizB = aux;
+        }
+        padre[raizB] = raizA;
+        tamanio[raizA] += tamanio[raizB];
+        cantidadConjuntos--;
+        return true;
+    }
+
+    public boolean conectados(int a, int b) {
+        return buscar(a) == buscar(b);
+    }
+
+    // Cantidad de elementos en el conjunto de x
+    public int tamanio(int x) {
+        return tamanio[buscar(x)];
+    }
+
+    public int cantidadConjuntos() {
+        return cantidadConjuntos;
+    }
+
+    public int cantidadElementos() {
+        return padre.length;
+    }
+}
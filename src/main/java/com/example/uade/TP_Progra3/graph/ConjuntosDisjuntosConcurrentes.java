@@ -0,0 +1,106 @@
+package com.example.uade.TP_Progra3.graph;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Union-Find sin locks para compartir entre hilos (MST o componentes conexas en paralelo)
+// Cada elemento es una sola palabra de 64 bits: rango en la mitad alta y padre en la baja (como Anderson-Woll),
+// así unir decide por rango y cuelga la raíz con un único CAS, que solo funciona si sigue siendo raíz con ese rango.
+// - buscar hace path halving con CAS; si otro hilo ya cambió el padre, el CAS falla y se sigue igual
+// - unir cuelga la raíz de menor (rango, id) de la otra; si otro hilo la colgó antes, se vuelve a buscar y se reintenta.
+//   Con rangos iguales intenta subir el rango de la raíz que queda; si ese CAS pierde, el rango es solo más bajo
+//   de lo ideal (no afecta la corrección). El rango de una raíz solo crece y se congela cuando deja de ser raíz,
+//   por eso (rango, id) crece estrictamente hacia la raíz y no se pueden formar ciclos.
+// La cantidad de conjuntos es exacta en todo momento (cada CAS exitoso es exactamente una unión); los tamaños
+// se calculan con tamanios() una vez terminadas las uniones, porque mantenerlos en vivo requeriría locks.
+public final class ConjuntosDisjuntosConcurrentes {
+    private final AtomicLongArray nodo;
+    private final AtomicInteger cantidadConjuntos;
+
+    public ConjuntosDisjuntosConcurrentes(int n) {
+        nodo = new AtomicLongArray(n);
+        for (int i = 0; i < n; i++) nodo.set(i, palabra(0, i));
+        cantidadConjuntos = new AtomicInteger(n);
+    }
+
+    private static long palabra(int rango, int padre) {
+        return ((long) rango << 32) | (padre & 0xFFFFFFFFL);
+    }
+
+    private static int padre(long palabra) {
+        return (int) palabra;
+    }
+
+    private static int rango(long palabra) {
+        return (int) (palabra >>> 32);
+    }
+
+    public int buscar(int x) {
+        while (true) {
+            long actual = nodo.get(x);
+            int p = padre(actual);
+            if (p == x) return x;
+            int abuelo = padre(nodo.get(p));
+            if (p != abuelo) nodo.compareAndSet(x, actual, palabra(rango(actual), abuelo));
+            x = abuelo;
+        }
+    }
+
+    // Une los conjuntos de a y b; retorna false si ya estaban juntos (solo un hilo gana cada unión)
+    // Análisis de Complejidad:
+    // - Sin contención: O(log n) por el rango (O(α(n)) amortizado con el path halving)
+    public boolean unir(int a, int b) {
+        while (true) {
+            int raizA = buscar(a);
+            int raizB = buscar(b);
+            if (raizA == raizB) return false;
+
+            long palabraA = nodo.get(raizA);
+            long palabraB = nodo.get(raizB);
+            // Entre la búsqueda y la lectura otro hilo pudo colgarlas: se vuelve a buscar
+            if (padre(palabraA) != raizA || padre(palabraB) != raizB) continue;
+
+            int rangoA = rango(palabraA);
+            int rangoB = rango(palabraB);
+            boolean cuelgaA = rangoA < rangoB || (rangoA == rangoB && raizA < raizB);
+            int hijo = cuelgaA ? raizA : raizB;
+            int raiz = cuelgaA ? raizB : raizA;
+            long palabraHijo = cuelgaA ? palabraA : palabraB;
+            long palabraRaiz = cuelgaA ? palabraB : palabraA;
+
+            if (nodo.compareAndSet(hijo, palabraHijo, palabra(rango(palabraHijo), raiz))) {
+                cantidadConjuntos.decrementAndGet();
+                if (rangoA == rangoB) nodo.compareAndSet(raiz, palabraRaiz, palabra(rango(palabraRaiz) + 1, raiz));
+                return true;
+            }
+        }
+    }
+
+    // Puede dar false si justo otro hilo está uniendo los dos conjuntos; se reintenta hasta ver un estado estable
+    public boolean conectados(int a, int b) {
+        while (true) {
+            int raizA = buscar(a);
+            int raizB = buscar(b);
+            if (raizA == raizB) return true;
+            // Si raizA sigue siendo raíz, en ese instante a y b estaban en conjuntos distintos
+            if (padre(nodo.get(raizA)) == raizA) return false;
+        }
+    }
+
+    // Tamaño de cada conjunto, indexado por su raíz (0 para los que no son raíz)
+    // Análisis de Complejidad:
+    // - Una búsqueda por elemento: O(n α(n)); llamar cuando ya no hay uniones en curso
+    public int[] tamanios() {
+        int[] tamanios = new int[nodo.length()];
+        for (int i = 0; i < tamanios.length; i++) tamanios[buscar(i)]++;
+        return tamanios;
+    }
+
+    public int cantidadConjuntos() {
+        return cantidadConjuntos.get();
+    }
+
+    public int cantidadElementos() {
+        return nodo.length();
+    }
+}
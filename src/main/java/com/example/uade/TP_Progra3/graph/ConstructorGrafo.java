@@ -0,0 +1,128 @@
+package com.example.uade.TP_Progra3.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Arma un GrafoCompacto a medida que llegan las rutas, sin lista intermedia ni Graph
+// Los nombres se numeran al llegar y cada ruta se guarda en arreglos primitivos que crecen al doble.
+// Como en la carga desde la BD, cada par de almacenes queda con una sola ruta: la de menor costo.
+public final class ConstructorGrafo {
+    private static final long VACIO = -1L;
+
+    private final List<String> nombres = new ArrayList<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    // Ruta i: extremosA[i] - extremosB[i] con costo costos[i]
+    private int[] extremosA = new int[16];
+    private int[] extremosB = new int[16];
+    private double[] costos = new double[16];
+    private int cantidadRutas;
+
+    // Tabla hash abierta (par de ids -> índice de ruta) para detectar rutas repetidas sin boxing
+    private long[] claves = new long[32];
+    private int[] posiciones = new int[32];
+
+    public ConstructorGrafo() {
+        Arrays.fill(claves, VACIO);
+    }
+
+    // Análisis de Complejidad:
+    // - Numerar los nombres y buscar el par: O(1) amortizado
+    public ConstructorGrafo agregarRuta(String desde, String hasta, double costo) {
+        int a = id(desde);
+        int b = id(hasta);
+        long clave = a <= b ? ((long) a << 32) | b : ((long) b << 32) | a;
+
+        int ranura = buscar(clave);
+        if (claves[ranura] != VACIO) {
+            int ruta = posiciones[ranura];
+            if (costo < costos[ruta]) costos[ruta] = costo;
+            return this;
+        }
+
+        if (cantidadRutas == costos.length) {
+            extremosA = Arrays.copyOf(extremosA, cantidadRutas * 2);
+            extremosB = Arrays.copyOf(extremosB, cantidadRutas * 2);
+            costos = Arrays.copyOf(costos, cantidadRutas * 2);
+        }
+        extremosA[cantidadRutas] = a;
+        extremosB[cantidadRutas] = b;
+        costos[cantidadRutas] = costo;
+
+        claves[ranura] = clave;
+        posiciones[ranura] = cantidadRutas++;
+        if (cantidadRutas * 2 > claves.length) agrandarTabla();
+        return this;
+    }
+
+    private int id(String nombre) {
+        Integer id = ids.get(nombre);
+        if (id == null) {
+            id = nombres.size();
+            nombres.add(nombre);
+            ids.put(nombre, id);
+        }
+        return id;
+    }
+
+    private int buscar(long clave) {
+        int mascara = claves.length - 1;
+        int ranura = Long.hashCode(clave * 0x9E3779B97F4A7C15L) & mascara;
+        while (claves[ranura] != VACIO && claves[ranura] != clave) {
+            ranura = (ranura + 1) & mascara;
+        }
+        return ranura;
+    }
+
+    private void agrandarTabla() {
+        long[] clavesViejas = claves;
+        int[] posicionesViejas = posiciones;
+        claves = new long[clavesViejas.length * 2];
+        posiciones = new int[clavesViejas.length * 2];
+        Arrays.fill(claves, VACIO);
+
+        for (int i = 0; i < clavesViejas.length; i++) {
+            if (clavesViejas[i] == VACIO) continue;
+            int ranura = buscar(clavesViejas[i]);
+            claves[ranura] = clavesViejas[i];
+            posiciones[ranura] = posicionesViejas[i];
+        }
+    }
+
+    public int cantidadRutas() {
+        return cantidadRutas;
+    }
+
+    // Cada ruta queda en los dos sentidos, como Graph.agregarArista
+    // El grafo se queda con el mapa de ids: el constructor no se sigue usando después de construir
+    // Análisis de Complejidad:
+    // - Contar grados y repartir las aristas: O(n + m)
+    public GrafoCompacto construir() {
+        int n = nombres.size();
+        int[] inicio = new int[n + 1];
+        for (int i = 0; i < cantidadRutas; i++) {
+            inicio[extremosA[i] + 1]++;
+            inicio[extremosB[i] + 1]++;
+        }
+        for (int v = 0; v < n; v++) inicio[v + 1] += inicio[v];
+
+        int[] destinos = new int[inicio[n]];
+        double[] pesos = new double[inicio[n]];
+        int[] siguiente = Arrays.copyOf(inicio, n);
+        for (int i = 0; i < cantidadRutas; i++) {
+            int a = extremosA[i];
+            int b = extremosB[i];
+            int posicion = siguiente[a]++;
+            destinos[posicion] = b;
+            pesos[posicion] = costos[i];
+            posicion = siguiente[b]++;
+            destinos[posicion] = a;
+            pesos[posicion] = costos[i];
+        }
+
+        return new GrafoCompacto(nombres.toArray(new String[0]), ids, inicio, destinos, pesos);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.uade.TP_Progra3.graph;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+// Trabajo acumulado de las búsquedas con HeapIndexado, por tipo de búsqueda:
+// cantidad de búsquedas, nodos fijados, inserciones en el heap y rutas relajadas (mejoraron la distancia de un vecino)
+// Cada búsqueda cuenta en su propio heap (campos long, sin nada compartido entre hilos) y al terminar suma
+// una sola vez por contador en un LongAdder: el costo no depende del tamaño de la búsqueda.
+// El paquete no depende de la librería de métricas; el servicio expone estos totales como contadores.
+public final class EstadisticasBusqueda {
+    public static final EstadisticasBusqueda DIJKSTRA = new EstadisticasBusqueda("dijkstra");
+    public static final EstadisticasBusqueda BIDIRECCIONAL = new EstadisticasBusqueda("bidireccional");
+    public static final EstadisticasBusqueda A_ESTRELLA = new EstadisticasBusqueda("astar");
+    public static final EstadisticasBusqueda JERARQUIA = new EstadisticasBusqueda("jerarquia");
+    public static final EstadisticasBusqueda ALTERNATIVAS = new EstadisticasBusqueda("alternativas");
+
+    public static final List<EstadisticasBusqueda> TODAS = List.of(DIJKSTRA, BIDIRECCIONAL, A_ESTRELLA, JERARQUIA, ALTERNATIVAS);
+
+    private final String nombre;
+    private final LongAdder busquedas = new LongAdder();
+    private final LongAdder nodosFijados = new LongAdder();
+    private final LongAdder insercionesHeap = new LongAdder();
+    private final LongAdder aristasRelajadas = new LongAdder();
+
+    private EstadisticasBusqueda(String nombre) {
+        this.nombre = nombre;
+    }
+
+    // Suma lo que hizo una búsqueda en su heap y deja los contadores del heap en cero (por si se reutiliza)
+    // Cada búsqueda inserta su origen sin relajar ninguna ruta: se descuenta de las relajadas
+    void registrar(HeapIndexado cola) {
+        long inserciones = cola.inserciones();
+        busquedas.increment();
+        nodosFijados.add(cola.extracciones());
+        insercionesHeap.add(inserciones);
+        aristasRelajadas.add(Math.max(0, inserciones - 1) + cola.disminuciones());
+        cola.reiniciarContadores();
+    }
+
+    // Búsqueda bidireccional: dos heaps, una sola búsqueda
+    void registrar(HeapIndexado ida, HeapIndexado vuelta) {
+        registrar(ida);
+        registrar(vuelta);
+        busquedas.decrement();
+    }
+
+    public String nombre() {
+        return nombre;
+    }
+
+    public long busquedas() {
+        return busquedas.sum();
+    }
+
+    public long nodosFijados() {
+        return nodosFijados.sum();
+    }
+
+    public long insercionesHeap() {
+        return insercionesHeap.sum();
+    }
+
+    public long aristasRelajadas() {
+        return aristasRelajadas.sum();
+    }
+}
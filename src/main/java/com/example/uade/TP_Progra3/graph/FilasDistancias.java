@@ -0,0 +1,69 @@
+package com.example.uade.TP_Progra3.graph;
+
+// Submatriz (filas x columnas) de la matriz de distancias mínimas, calculada de a una fila
+// Sirve para serializar el resultado de todos los pares sin tener n² valores boxeados en memoria:
+// - Sin filas pedidas (todas): Floyd-Warshall una sola vez y cada fila se copia de la matriz plana
+// - Con filas pedidas: un Dijkstra por fila, que corta cuando fijó las columnas pedidas
+//   (para pocas filas es mucho más barato que O(n³)); las filas se calculan recién cuando se leen
+public final class FilasDistancias {
+    private final GrafoCompacto grafo;
+    private final int[] filas;
+    private final int[] columnas;
+    private final boolean todasLasColumnas;
+    private final MatrizDistancias matriz;
+
+    private FilasDistancias(GrafoCompacto grafo, int[] filas, int[] columnas, boolean todasLasColumnas, MatrizDistancias matriz) {
+        this.grafo = grafo;
+        this.filas = filas;
+        this.columnas = columnas;
+        this.todasLasColumnas = todasLasColumnas;
+        this.matriz = matriz;
+    }
+
+    // filas / columnas: ids de nodo, o null para todos los nodos
+    public static FilasDistancias de(GrafoCompacto grafo, int[] filas, int[] columnas) {
+        MatrizDistancias matriz = filas == null ? MatrizDistancias.calcular(grafo) : null;
+        return new FilasDistancias(grafo,
+                filas == null ? todos(grafo.cantidadNodos()) : filas,
+                columnas == null ? todos(grafo.cantidadNodos()) : columnas,
+                columnas == null, matriz);
+    }
+
+    private static int[] todos(int n) {
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) ids[i] = i;
+        return ids;
+    }
+
+    public int cantidadFilas() {
+        return filas.length;
+    }
+
+    public int cantidadColumnas() {
+        return columnas.length;
+    }
+
+    public String nombreFila(int i) {
+        return grafo.nombre(filas[i]);
+    }
+
+    public String nombreColumna(int j) {
+        return grafo.nombre(columnas[j]);
+    }
+
+    // Escribe en salida (de largo cantidadColumnas) las distancias de la fila i a cada columna
+    // Análisis de Complejidad:
+    // - Con la matriz ya calculada: O(columnas)
+    // - Si no: un Dijkstra con corte en las columnas, O((n + m) log n) en el peor caso
+    public void calcularFila(int i, double[] salida) {
+        int origen = filas[i];
+        if (matriz != null) {
+            for (int j = 0; j < columnas.length; j++) salida[j] = matriz.distancia(origen, columnas[j]);
+            return;
+        }
+
+        // Al cortar, todas las columnas quedaron fijadas o son inalcanzables (distancia infinita)
+        ArbolCaminos arbol = grafo.arbolDijkstra(origen, todasLasColumnas ? null : columnas);
+        for (int j = 0; j < columnas.length; j++) salida[j] = arbol.distancia(columnas[j]);
+    }
+}
@@ -0,0 +1,758 @@
+package com.example.uade.TP_Progra3.graph;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Function;
+
+// Representación compacta e inmutable del grafo (CSR: compressed sparse row)
+// Cada almacén se traduce a un id entero 0..n-1 y las aristas se guardan en arreglos primitivos:
+// las aristas salientes del nodo v son los índices e en [inicio[v], inicio[v+1]),
+// con destino destinos[e] y costo pesos[e]. No hay objetos por arista ni búsquedas por String.
+public final class GrafoCompacto {
+    private final String[] nombres;
+    private final Map<String, Integer> ids;
+    private final int[] inicio;
+    private final int[] destinos;
+    private final double[] pesos;
+    // Motores de BFS libres (tres arreglos de n cada uno) para no pedirlos de nuevo en cada búsqueda.
+    // Acotado a la cantidad de procesadores: si hay más búsquedas a la vez, las de más usan uno que no se guarda
+    private final ArrayBlockingQueue<BusquedaAmplitud> busquedasLibres =
+            new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+
+    GrafoCompacto(String[] nombres, Map<String, Integer> ids, int[] inicio, int[] destinos, double[] pesos) {
+        this.nombres = nombres;
+        this.ids = ids;
+        this.inicio = inicio;
+        this.destinos = destinos;
+        this.pesos = pesos;
+    }
+
+    // Construir la versión compacta a partir de un Graph con listas de adyacencia
+    // Los ids respetan el orden de iteración de Graph.getNodos() y las aristas el orden de cada lista,
+    // así los algoritmos desempatan igual que en Graph
+    // Análisis de Complejidad:
+    // - Numerar nodos: O(n)
+    // - Copiar aristas a los arreglos: O(m)
+    // - Conclusión: Complejidad FINAL = O(n + m)
+    public static GrafoCompacto desde(Graph grafo) {
+        int n = grafo.getNodos().size();
+        String[] nombres = new String[n];
+        Map<String, Integer> ids = new HashMap<>(n * 2);
+
+        int id = 0;
+        for (String nodo : grafo.getNodos()) {
+            nombres[id] = nodo;
+            ids.put(nodo, id);
+            id++;
+        }
+
+        int[] inicio = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            inicio[v + 1] = inicio[v] + grafo.getListaAdyacencia().getOrDefault(nombres[v], Collections.emptyList()).size();
+        }
+
+        int[] destinos = new int[inicio[n]];
+        double[] pesos = new double[inicio[n]];
+        for (int v = 0; v < n; v++) {
+            int e = inicio[v];
+            for (Arista arista : grafo.getListaAdyacencia().getOrDefault(nombres[v], Collections.emptyList())) {
+                destinos[e] = ids.get(arista.destino);
+                pesos[e] = arista.peso;
+                e++;
+            }
+        }
+
+        return new GrafoCompacto(nombres, ids, inicio, destinos, pesos);
+    }
+
+    // Nueva versión del grafo con los cambios aplicados en orden, sin volver a pasar por Graph ni por la BD
+    // Entre dos almacenes queda una sola ruta: AGREGAR sobre un par que ya existe se queda con la más barata.
+    // Si solo cambian costos de rutas existentes (lo más frecuente) se comparten nombres, ids y estructura
+    // y solo se copia el arreglo de pesos. Si cambia la estructura se rearman los arreglos desde los actuales.
+    // Análisis de Complejidad:
+    // - Solo costos: O(m + k · grado) [k = cantidad de cambios]
+    // - Con altas o bajas: O(n + m + k · grado), sin hashing por arista ni objetos Arista
+    public GrafoCompacto conCambios(List<CambioRuta> cambios) {
+        if (soloCambianCostos(cambios)) {
+            double[] nuevosPesos = pesos.clone();
+            for (CambioRuta cambio : cambios) {
+                int u = id(cambio.desde);
+                int v = id(cambio.hasta);
+                boolean soloSiBaja = cambio.tipo == CambioRuta.Tipo.AGREGAR;
+                fijarCosto(nuevosPesos, u, v, cambio.costo, soloSiBaja);
+                fijarCosto(nuevosPesos, v, u, cambio.costo, soloSiBaja);
+            }
+            return new GrafoCompacto(nombres, ids, inicio, destinos, nuevosPesos);
+        }
+        return new EdicionGrafo(this).aplicar(cambios).construir();
+    }
+
+    // true si otro es una versión de este grafo que solo cambió costos (mismos ids y mismas aristas)
+    public boolean comparteEstructura(GrafoCompacto otro) {
+        return otro.inicio == inicio && otro.destinos == destinos;
+    }
+
+    private boolean soloCambianCostos(List<CambioRuta> cambios) {
+        for (CambioRuta cambio : cambios) {
+            if (cambio.tipo != CambioRuta.Tipo.ACTUALIZAR && cambio.tipo != CambioRuta.Tipo.AGREGAR) return false;
+            int u = id(cambio.desde);
+            int v = id(cambio.hasta);
+            if (u < 0 || v < 0 || !existeArista(u, v)) return false;
+        }
+        return true;
+    }
+
+    private boolean existeArista(int u, int v) {
+        for (int e = inicio[u]; e < inicio[u + 1]; e++) {
+            if (destinos[e] == v) return true;
+        }
+        return false;
+    }
+
+    private void fijarCosto(double[] nuevosPesos, int u, int v, double costo, boolean soloSiBaja) {
+        for (int e = inicio[u]; e < inicio[u + 1]; e++) {
+            if (destinos[e] == v && (!soloSiBaja || costo < nuevosPesos[e])) nuevosPesos[e] = costo;
+        }
+    }
+
+    // Cambios estructurales sobre una copia: las aristas originales se marcan como borradas o cambian de peso,
+    // las nuevas se anotan aparte y los nodos nuevos toman ids a partir de n. Al final se renumera sin los
+    // nodos quitados y se arma el CSR nuevo (aristas originales en su orden, después las agregadas).
+    private static final class EdicionGrafo {
+        private final GrafoCompacto base;
+        private final int n;
+        private final boolean[] aristaBorrada;
+        private final double[] nuevosPesos;
+        private final List<String> nombresNuevos = new ArrayList<>();
+        private final Map<String, Integer> idsNuevos = new HashMap<>();
+        private final BitSet nodosQuitados = new BitSet();
+        private final List<RutaAgregada> agregadas = new ArrayList<>();
+
+        EdicionGrafo(GrafoCompacto base) {
+            this.base = base;
+            this.n = base.nombres.length;
+            this.aristaBorrada = new boolean[base.destinos.length];
+            this.nuevosPesos = base.pesos.clone();
+        }
+
+        EdicionGrafo aplicar(List<CambioRuta> cambios) {
+            for (CambioRuta cambio : cambios) {
+                switch (cambio.tipo) {
+                    case AGREGAR, ACTUALIZAR -> {
+                        int u = id(cambio.desde, true);
+                        int v = id(cambio.hasta, true);
+                        boolean soloSiBaja = cambio.tipo == CambioRuta.Tipo.AGREGAR;
+                        if (!actualizar(u, v, cambio.costo, soloSiBaja)) agregar(u, v, cambio.costo);
+                    }
+                    case QUITAR -> {
+                        int u = id(cambio.desde, false);
+                        int v = id(cambio.hasta, false);
+                        if (u >= 0 && v >= 0) quitar(u, v);
+                    }
+                    case QUITAR_NODO -> {
+                        int u = id(cambio.desde, false);
+                        if (u >= 0) quitarNodo(u);
+                    }
+                }
+            }
+            return this;
+        }
+
+        // Id extendido (0..n-1 los originales, n.. los nuevos); -1 si no existe y no se pide crearlo
+        private int id(String nombre, boolean crear) {
+            int u = base.id(nombre);
+            if (u < 0) {
+                Integer nuevo = idsNuevos.get(nombre);
+                if (nuevo != null) {
+                    u = nuevo;
+                } else if (crear) {
+                    u = n + nombresNuevos.size();
+                    nombresNuevos.add(nombre);
+                    idsNuevos.put(nombre, u);
+                }
+            }
+            if (u < 0 || nodosQuitados.get(u)) {
+                if (!crear) return -1;
+                // Un almacén dado de baja y vuelto a agregar en el mismo lote vuelve sin sus rutas viejas
+                nodosQuitados.clear(u);
+            }
+            return u;
+        }
+
+        private void agregar(int u, int v, double costo) {
+            agregadas.add(new RutaAgregada(u, v, costo));
+        }
+
+        // Con soloSiBaja (AGREGAR) el par existente solo cambia si el costo nuevo es menor
+        private boolean actualizar(int u, int v, double costo, boolean soloSiBaja) {
+            boolean existia = false;
+            if (u < n && v < n) {
+                existia = cambiarOriginal(u, v, costo, soloSiBaja) | cambiarOriginal(v, u, costo, soloSiBaja);
+            }
+            for (RutaAgregada ruta : agregadas) {
+                if (!ruta.borrada && ruta.une(u, v)) {
+                    if (!soloSiBaja || costo < ruta.costo) ruta.costo = costo;
+                    existia = true;
+                }
+            }
+            return existia;
+        }
+
+        private boolean cambiarOriginal(int u, int v, double costo, boolean soloSiBaja) {
+            boolean cambiada = false;
+            for (int e = base.inicio[u]; e < base.inicio[u + 1]; e++) {
+                if (!aristaBorrada[e] && base.destinos[e] == v) {
+                    if (!soloSiBaja || costo < nuevosPesos[e]) nuevosPesos[e] = costo;
+                    cambiada = true;
+                }
+            }
+            return cambiada;
+        }
+
+        private void quitar(int u, int v) {
+            if (u < n && v < n) {
+                borrarOriginal(u, v);
+                borrarOriginal(v, u);
+            }
+            for (RutaAgregada ruta : agregadas) {
+                if (ruta.une(u, v)) ruta.borrada = true;
+            }
+        }
+
+        private void borrarOriginal(int u, int v) {
+            for (int e = base.inicio[u]; e < base.inicio[u + 1]; e++) {
+                if (base.destinos[e] == v) aristaBorrada[e] = true;
+            }
+        }
+
+        private void quitarNodo(int u) {
+            nodosQuitados.set(u);
+            if (u < n) {
+                for (int e = base.inicio[u]; e < base.inicio[u + 1]; e++) {
+                    aristaBorrada[e] = true;
+                    borrarOriginal(base.destinos[e], u);
+                }
+            }
+            for (RutaAgregada ruta : agregadas) {
+                if (ruta.u == u || ruta.v == u) ruta.borrada = true;
+            }
+        }
+
+        GrafoCompacto construir() {
+            int total = n + nombresNuevos.size();
+            int[] nuevoId = new int[total];
+            int cantidad = 0;
+            for (int u = 0; u < total; u++) {
+                nuevoId[u] = nodosQuitados.get(u) ? -1 : cantidad++;
+            }
+
+            String[] nombres = new String[cantidad];
+            Map<String, Integer> ids = new HashMap<>(cantidad * 2);
+            for (int u = 0; u < total; u++) {
+                if (nuevoId[u] < 0) continue;
+                String nombre = u < n ? base.nombres[u] : nombresNuevos.get(u - n);
+                nombres[nuevoId[u]] = nombre;
+                ids.put(nombre, nuevoId[u]);
+            }
+
+            // Grado de cada nodo en la versión nueva
+            int[] inicio = new int[cantidad + 1];
+            for (int u = 0; u < n; u++) {
+                if (nuevoId[u] < 0) continue;
+                for (int e = base.inicio[u]; e < base.inicio[u + 1]; e++) {
+                    if (!aristaBorrada[e]) inicio[nuevoId[u] + 1]++;
+                }
+            }
+            for (RutaAgregada ruta : agregadas) {
+                if (ruta.borrada) continue;
+                inicio[nuevoId[ruta.u] + 1]++;
+                inicio[nuevoId[ruta.v] + 1]++;
+            }
+            for (int u = 0; u < cantidad; u++) inicio[u + 1] += inicio[u];
+
+            int[] destinos = new int[inicio[cantidad]];
+            double[] pesos = new double[inicio[cantidad]];
+            int[] siguiente = Arrays.copyOf(inicio, cantidad);
+            for (int u = 0; u < n; u++) {
+                if (nuevoId[u] < 0) continue;
+                for (int e = base.inicio[u]; e < base.inicio[u + 1]; e++) {
+                    if (aristaBorrada[e]) continue;
+                    int posicion = siguiente[nuevoId[u]]++;
+                    destinos[posicion] = nuevoId[base.destinos[e]];
+                    pesos[posicion] = nuevosPesos[e];
+                }
+            }
+            // Como en Graph.agregarArista, cada ruta nueva queda en las listas de sus dos extremos
+            for (RutaAgregada ruta : agregadas) {
+                if (ruta.borrada) continue;
+                int u = nuevoId[ruta.u];
+                int v = nuevoId[ruta.v];
+                int posicion = siguiente[u]++;
+                destinos[posicion] = v;
+                pesos[posicion] = ruta.costo;
+                posicion = siguiente[v]++;
+                destinos[posicion] = u;
+                pesos[posicion] = ruta.costo;
+            }
+
+            return new GrafoCompacto(nombres, ids, inicio, destinos, pesos);
+        }
+    }
+
+    private static final class RutaAgregada {
+        final int u;
+        final int v;
+        double costo;
+        boolean borrada;
+
+        RutaAgregada(int u, int v, double costo) {
+            this.u = u;
+            this.v = v;
+            this.costo = costo;
+        }
+
+        boolean une(int a, int b) {
+            return (u == a && v == b) || (u == b && v == a);
+        }
+    }
+
+    public int cantidadNodos() {
+        return nombres.length;
+    }
+
+    public int cantidadAristas() {
+        return destinos.length;
+    }
+
+    // Id entero de un almacén, o -1 si no está en el grafo
+    public int id(String nombre) {
+        if (nombre == null) return -1;
+        Integer id = ids.get(nombre);
+        return id == null ? -1 : id;
+    }
+
+    public String nombre(int id) {
+        return nombres[id];
+    }
+
+    public List<String> getNodos() {
+        return Collections.unmodifiableList(Arrays.asList(nombres));
+    }
+
+    public int grado(int v) {
+        return inicio[v + 1] - inicio[v];
+    }
+
+    // Rango de aristas salientes de v: [primeraArista(v), finAristas(v))
+    public int primeraArista(int v) {
+        return inicio[v];
+    }
+
+    public int finAristas(int v) {
+        return inicio[v + 1];
+    }
+
+    public int destino(int arista) {
+        return destinos[arista];
+    }
+
+    public double peso(int arista) {
+        return pesos[arista];
+    }
+
+    // Traducir un camino de ids a nombres
+    List<String> aNombres(int[] camino, int largo) {
+        List<String> resultado = new ArrayList<>(largo);
+        for (int i = 0; i < largo; i++) {
+            resultado.add(nombres[camino[i]]);
+        }
+        return resultado;
+    }
+
+    // Reconstruir el camino origen -> destino siguiendo el arreglo de predecesores
+    List<String> reconstruirCamino(int[] anterior, int destino) {
+        int largo = 0;
+        for (int v = destino; v != -1; v = anterior[v]) largo++;
+
+        int[] camino = new int[largo];
+        int i = largo;
+        for (int v = destino; v != -1; v = anterior[v]) camino[--i] = v;
+
+        return aNombres(camino, largo);
+    }
+
+    // Dijkstra: camino más corto entre dos nodos
+    // Es el árbol de una sola fuente cortado apenas se fija el destino
+    // Análisis de Complejidad: el de arbolDijkstra, O((n + m) log n)
+    public List<String> dijkstra(String origen, String destino) {
+        int s = id(origen);
+        int t = id(destino);
+        if (s < 0 || t < 0) return null;
+
+        return arbolDijkstra(s, new int[]{t}).camino(t);
+    }
+
+    public ArbolCaminos arbolDijkstra(int origen, int[] objetivos) {
+        return arbolDijkstra(origen, objetivos, Double.POSITIVE_INFINITY);
+    }
+
+    // Dijkstra de una sola fuente: distancias y predecesores desde origen
+    // La búsqueda corta antes si objetivos no es null y ya se fijaron todos, o si el próximo nodo
+    // cuesta más que limite. Solo las distancias de los nodos fijados (ArbolCaminos.fijado) son definitivas
+    // Análisis de Complejidad:
+    // - Distancias y predecesores en double[]/int[] indexados por id: O(n) de inicialización
+    // - Cada nodo entra y sale del HeapIndexado una sola vez: O(n log n)
+    // - Cada relajación baja la clave en el heap (decrease-key) en lugar de remove + add: O(m log n)
+    // - Conclusión: Complejidad FINAL = O((n + m) log n)
+    public ArbolCaminos arbolDijkstra(int origen, int[] objetivos, double limite) {
+        int n = nombres.length;
+        double[] distancias = new double[n];
+        int[] anterior = new int[n];
+        Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+        Arrays.fill(anterior, -1);
+        distancias[origen] = 0.0;
+
+        boolean[] esObjetivo = null;
+        int pendientes = 0;
+        if (objetivos != null) {
+            esObjetivo = new boolean[n];
+            for (int objetivo : objetivos) {
+                if (!esObjetivo[objetivo]) {
+                    esObjetivo[objetivo] = true;
+                    pendientes++;
+                }
+            }
+        }
+
+        int[] fijados = new int[n];
+        int cantidadFijados = 0;
+
+        HeapIndexado cola = new HeapIndexado(n);
+        cola.insertarODisminuir(origen, 0.0);
+
+        while (!cola.estaVacio() && cola.claveMinima() <= limite) {
+            int actual = cola.extraerMin();
+            fijados[cantidadFijados++] = actual;
+            if (esObjetivo != null && esObjetivo[actual] && --pendientes == 0) break;
+
+            double distActual = distancias[actual];
+            for (int e = inicio[actual]; e < inicio[actual + 1]; e++) {
+                int vecino = destinos[e];
+                double nuevaDist = distActual + pesos[e];
+
+                if (nuevaDist < distancias[vecino]) {
+                    distancias[vecino] = nuevaDist;
+                    anterior[vecino] = actual;
+                    cola.insertarODisminuir(vecino, nuevaDist);
+                }
+            }
+        }
+
+        EstadisticasBusqueda.DIJKSTRA.registrar(cola);
+        return new ArbolCaminos(this, origen, distancias, anterior, fijados, cantidadFijados);
+    }
+
+    // BFS: búsqueda en amplitud (con BusquedaAmplitud: cola, visitados y predecesores en arreglos primitivos)
+    // Análisis de Complejidad:
+    // - Cada nodo entra una vez a la cola: O(n)
+    // - Cada arista explorada una vez: O(m)
+    // - El camino se arma una sola vez al final
+    // - Conclusión: Complejidad FINAL = O(n + m)
+    public List<String> bfs(String inicioNombre, String destinoNombre) {
+        return bfs(inicioNombre, destinoNombre, Integer.MAX_VALUE);
+    }
+
+    // BFS que no se aleja más de maxSaltos rutas del inicio (null si el destino queda más lejos)
+    public List<String> bfs(String inicioNombre, String destinoNombre, int maxSaltos) {
+        int s = id(inicioNombre);
+        int t = id(destinoNombre);
+        if (s < 0 || t < 0) return null;
+
+        return conBusquedaAmplitud(busqueda -> busqueda.buscar(s, t, maxSaltos) == -1 ? null : busqueda.camino(t));
+    }
+
+    // Presta un motor de BFS de este grafo mientras dura uso (lo que retorne no debe guardar el motor)
+    public <T> T conBusquedaAmplitud(Function<BusquedaAmplitud, T> uso) {
+        BusquedaAmplitud busqueda = busquedasLibres.poll();
+        if (busqueda == null) busqueda = new BusquedaAmplitud(this);
+        try {
+            return uso.apply(busqueda);
+        } finally {
+            busquedasLibres.offer(busqueda);
+        }
+    }
+
+    // DFS: búsqueda en profundidad (iterativa, con pila explícita)
+    // Recorre en el mismo orden que la versión recursiva de Graph, pero sin riesgo de StackOverflowError
+    // Análisis de Complejidad:
+    // - Cada nodo se apila una vez: O(n)
+    // - Cada arista se mira una vez gracias al cursor por nodo: O(m)
+    // - Conclusión: Complejidad FINAL = O(n + m)
+    public List<String> dfs(String inicioNombre, String destinoNombre) {
+        int s = id(inicioNombre);
+        int t = id(destinoNombre);
+        if (s < 0 || t < 0) return null;
+        if (s == t) return new ArrayList<>(List.of(nombres[s]));
+
+        int n = nombres.length;
+        boolean[] visitados = new boolean[n];
+        int[] pila = new int[n];
+        int[] cursor = new int[n];
+        int tope = 0;
+
+        visitados[s] = true;
+        pila[tope] = s;
+        cursor[tope] = inicio[s];
+        tope++;
+
+        while (tope > 0) {
+            int actual = pila[tope - 1];
+            if (actual == t) return aNombres(pila, tope);
+
+            if (cursor[tope - 1] == inicio[actual + 1]) {
+                tope--;
+                continue;
+            }
+
+            int vecino = destinos[cursor[tope - 1]++];
+            if (!visitados[vecino]) {
+                visitados[vecino] = true;
+                pila[tope] = vecino;
+                cursor[tope] = inicio[vecino];
+                tope++;
+            }
+        }
+
+        return null;
+    }
+
+    // Kruskal: árbol de expansión mínima
+    // Análisis de Complejidad:
+    // - Cada arista no dirigida se toma una vez (u < v), sin armar claves String
+    // - Ordenamiento de aristas: O(m log m), sobre int[] sin boxing (ordenarPorPeso)
+    // - Union-Find sobre int[] (ConjuntosDisjuntos): O(m α(n))
+    // - Conclusión: Complejidad FINAL = O(m log m)
+    public List<Arista> kruskalMST() {
+        int n = nombres.length;
+        int[] candidatas = new int[destinos.length / 2 + 1];
+        int cantidad = 0;
+        int[] origenArista = new int[destinos.length];
+
+        for (int u = 0; u < n; u++) {
+            for (int e = inicio[u]; e < inicio[u + 1]; e++) {
+                origenArista[e] = u;
+                if (u < destinos[e]) {
+                    if (cantidad == candidatas.length) candidatas = Arrays.copyOf(candidatas, cantidad * 2);
+                    candidatas[cantidad++] = e;
+                }
+            }
+        }
+
+        ordenarPorPeso(candidatas, cantidad, pesos);
+
+        ConjuntosDisjuntos conjuntos = new ConjuntosDisjuntos(n);
+        List<Arista> mst = new ArrayList<>();
+        for (int i = 0; i < cantidad && mst.size() < n - 1; i++) {
+            int e = candidatas[i];
+            if (conjuntos.unir(origenArista[e], destinos[e])) {
+                mst.add(new Arista(nombres[origenArista[e]], nombres[destinos[e]], pesos[e]));
+            }
+        }
+
+        return mst;
+    }
+
+    // Ordena aristas[0..cantidad) por peso, estable (a igual peso queda primero el id menor, como antes con List.sort)
+    // Merge sort de abajo hacia arriba sobre int[]: ni Integer por arista ni lambda por comparación
+    // Análisis de Complejidad: O(m log m) comparaciones, O(m) de memoria extra
+    static void ordenarPorPeso(int[] aristas, int cantidad, double[] pesos) {
+        final int tramo = 16;
+        // Tramos cortos por inserción
+        for (int desde = 0; desde < cantidad; desde += tramo) {
+            int hasta = Math.min(desde + tramo, cantidad);
+            for (int i = desde + 1; i < hasta; i++) {
+                int e = aristas[i];
+                int j = i - 1;
+                while (j >= desde && Double.compare(pesos[aristas[j]], pesos[e]) > 0) {
+                    aristas[j + 1] = aristas[j];
+                    j--;
+                }
+                aristas[j + 1] = e;
+            }
+        }
+
+        int[] origen = aristas;
+        int[] destino = new int[cantidad];
+        for (int ancho = tramo; ancho < cantidad; ancho *= 2) {
+            for (int izquierda = 0; izquierda < cantidad; izquierda += 2 * ancho) {
+                int medio = Math.min(izquierda + ancho, cantidad);
+                int fin = Math.min(izquierda + 2 * ancho, cantidad);
+                int i = izquierda, j = medio, k = izquierda;
+                while (i < medio && j < fin) {
+                    destino[k++] = Double.compare(pesos[origen[j]], pesos[origen[i]]) < 0 ? origen[j++] : origen[i++];
+                }
+                while (i < medio) destino[k++] = origen[i++];
+                while (j < fin) destino[k++] = origen[j++];
+            }
+            int[] auxiliar = origen;
+            origen = destino;
+            destino = auxiliar;
+        }
+        if (origen != aristas) System.arraycopy(origen, 0, aristas, 0, cantidad);
+    }
+
+    // Prim: árbol de expansión mínima desde un nodo inicial (solo la componente del inicio;
+    // para todas las componentes ver ArbolGeneradorMinimo.bosquePrim)
+    // Análisis de Complejidad:
+    // - Heap indexado por nodo (a lo sumo n entradas) con decrease-key: O((n + m) log n)
+    // - Conclusión: Complejidad FINAL = O(m log n)
+    public List<Arista> primMST(String inicioNombre) {
+        int n = nombres.length;
+        List<Arista> mst = new ArrayList<>();
+        if (n == 0) return mst;
+
+        int s = id(inicioNombre);
+        if (s < 0) s = 0;
+
+        ArbolGeneradorMinimo.prim(this, s, new ArbolGeneradorMinimo.EstadoPrim(n), mst);
+        return mst;
+    }
+
+    // Obtener peso de arista entre dos nodos (el menor si hay rutas paralelas)
+    // Análisis de Complejidad:
+    // - Iteración sobre aristas del nodo: O(grado)
+    // - Conclusión: Complejidad FINAL = O(grado)
+    public double obtenerPeso(int u, int v) {
+        double pesoMin = Double.POSITIVE_INFINITY;
+        for (int e = inicio[u]; e < inicio[u + 1]; e++) {
+            if (destinos[e] == v) {
+                pesoMin = Math.min(pesoMin, pesos[e]);
+            }
+        }
+        return pesoMin;
+    }
+
+    public double obtenerPeso(String nodoA, String nodoB) {
+        int u = id(nodoA);
+        int v = id(nodoB);
+        if (u < 0 || v < 0) return Double.POSITIVE_INFINITY;
+        return obtenerPeso(u, v);
+    }
+
+    // Calcular costo total de un camino
+    // Análisis de Complejidad:
+    // - Bucle de k pasos, cada uno O(grado)
+    // - Conclusión: Complejidad FINAL = O(k · grado)
+    public double calcularCosto(List<String> camino) {
+        if (camino == null || camino.size() < 2) return 0.0;
+
+        double total = 0.0;
+
+        for (int i = 0; i < camino.size() - 1; i++) {
+            double peso = obtenerPeso(camino.get(i), camino.get(i + 1));
+            if (Double.isInfinite(peso)) return Double.POSITIVE_INFINITY;
+            total += peso;
+        }
+
+        return total;
+    }
+
+    // TSP Greedy: vecino más cercano
+    // Solo las aristas directas cuentan (igual que en Graph), así que alcanza con recorrer la
+    // adyacencia del nodo actual en lugar de preguntar el peso a todos los candidatos
+    // Análisis de Complejidad:
+    // - n pasos, cada uno recorre la adyacencia del nodo actual: O(grado)
+    // - Conclusión: Complejidad FINAL = O(n + m)
+    public List<String> tspVecinoCercano(String inicioNombre) {
+        int n = nombres.length;
+        if (n == 0) return new ArrayList<>();
+
+        int actual = id(inicioNombre);
+        if (actual < 0) actual = 0;
+
+        boolean[] visitados = new boolean[n];
+        List<String> recorrido = new ArrayList<>();
+
+        recorrido.add(nombres[actual]);
+        visitados[actual] = true;
+
+        while (recorrido.size() < n) {
+            int cercano = -1;
+            double minCosto = Double.POSITIVE_INFINITY;
+
+            for (int e = inicio[actual]; e < inicio[actual + 1]; e++) {
+                int candidato = destinos[e];
+                if (visitados[candidato]) continue;
+
+                // A igual costo gana el de menor id, como en el recorrido de Graph
+                if (pesos[e] < minCosto || (pesos[e] == minCosto && candidato < cercano)) {
+                    minCosto = pesos[e];
+                    cercano = candidato;
+                }
+            }
+
+            if (cercano == -1) break;
+
+            recorrido.add(nombres[cercano]);
+            visitados[cercano] = true;
+            actual = cercano;
+        }
+
+        return recorrido;
+    }
+
+    // Floyd-Warshall: todos los caminos más cortos (ver MatrizDistancias)
+    // Análisis de Complejidad:
+    // - Inicialización directa desde las aristas: O(n² + m)
+    // - Triple bucle por bloques, en paralelo: O(n³)
+    // - Conclusión: Complejidad FINAL = O(n³), con n² doubles de memoria
+    public Map<String, Object> floydWarshall() {
+        Map<String, Object> resultado = new HashMap<>();
+        resultado.put("caminosMinimos", MatrizDistancias.calcular(this).comoMapa());
+        return resultado;
+    }
+
+    // Ordenar nodos por cantidad de conexiones usando Divide y Vencerás (MergeSort)
+    // El grado sale directo de los offsets y se ordenan ids en int[], sin mapas intermedios
+    // Análisis de Complejidad (Master Theorem):
+    // - Recurrencia: T(n) = 2*T(n/2) + O(n)
+    // - Conclusión: Complejidad FINAL = O(n log n)
+    public List<Map<String, Object>> ordenarPorGrado() {
+        int n = nombres.length;
+        int[] orden = new int[n];
+        for (int v = 0; v < n; v++) orden[v] = v;
+
+        mergeSort(orden, new int[n], 0, n - 1);
+
+        List<Map<String, Object>> lista = new ArrayList<>(n);
+        for (int v : orden) {
+            Map<String, Object> info = new HashMap<>();
+            info.put("almacen", nombres[v]);
+            info.put("conexiones", grado(v));
+            lista.add(info);
+        }
+        return lista;
+    }
+
+    // Divide: partir el rango en mitades y ordenar recursivamente (mayor grado primero, estable)
+    private void mergeSort(int[] orden, int[] auxiliar, int desde, int hasta) {
+        if (desde >= hasta) return;
+
+        int medio = desde + (hasta - desde) / 2;
+        mergeSort(orden, auxiliar, desde, medio);
+        mergeSort(orden, auxiliar, medio + 1, hasta);
+
+        // Vencerás: combinar las dos mitades ordenadas
+        System.arraycopy(orden, desde, auxiliar, desde, hasta - desde + 1);
+        int i = desde, j = medio + 1, k = desde;
+        while (i <= medio && j <= hasta) {
+            if (grado(auxiliar[i]) >= grado(auxiliar[j])) {
+                orden[k++] = auxiliar[i++];
+            } else {
+                orden[k++] = auxiliar[j++];
+            }
+        }
+        while (i <= medio) orden[k++] = auxiliar[i++];
+        while (j <= hasta) orden[k++] = auxiliar[j++];
+    }
+}
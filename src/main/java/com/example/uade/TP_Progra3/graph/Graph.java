@@ -25,6 +25,71 @@ public class Graph {
                        .add(new Arista(nodoB, nodoA, peso));
     }
 
+    // Quitar todas las rutas entre dos nodos (en ambos sentidos); los nodos quedan aunque queden aislados
+    // Análisis de Complejidad:
+    // - Recorre la lista de cada extremo: O(grado(A) + grado(B))
+    public boolean quitarArista(String nodoA, String nodoB) {
+        boolean quitada = quitarDeLista(nodoA, nodoB);
+        if (!nodoA.equals(nodoB)) quitarDeLista(nodoB, nodoA);
+        return quitada;
+    }
+
+    // Cambiar en el lugar el costo de las rutas entre dos nodos (todas, si hay paralelas); si no existe se agrega
+    // Análisis de Complejidad:
+    // - Recorre la lista de cada extremo: O(grado(A) + grado(B))
+    public void actualizarArista(String nodoA, String nodoB, double peso) {
+        boolean existia = cambiarPeso(nodoA, nodoB, peso);
+        if (!nodoA.equals(nodoB)) cambiarPeso(nodoB, nodoA, peso);
+        if (!existia) agregarArista(nodoA, nodoB, peso);
+    }
+
+    // Quitar un nodo con todas sus rutas
+    // Análisis de Complejidad:
+    // - Por cada vecino se limpia su lista: O(suma de grados de los vecinos)
+    public boolean quitarNodo(String nodo) {
+        if (!nodos.remove(nodo)) return false;
+
+        List<Arista> aristas = listaAdyacencia.remove(nodo);
+        if (aristas != null) {
+            for (Arista arista : aristas) {
+                if (!arista.destino.equals(nodo)) quitarDeLista(arista.destino, nodo);
+            }
+        }
+        return true;
+    }
+
+    public void aplicar(CambioRuta cambio) {
+        switch (cambio.tipo) {
+            // Una sola ruta por par, como en GrafoCompacto: la nueva solo cuenta si es más barata
+            case AGREGAR -> {
+                if (cambio.costo < obtenerPeso(cambio.desde, cambio.hasta)) actualizarArista(cambio.desde, cambio.hasta, cambio.costo);
+            }
+            case QUITAR -> quitarArista(cambio.desde, cambio.hasta);
+            case ACTUALIZAR -> actualizarArista(cambio.desde, cambio.hasta, cambio.costo);
+            case QUITAR_NODO -> quitarNodo(cambio.desde);
+        }
+    }
+
+    private boolean quitarDeLista(String nodo, String destino) {
+        List<Arista> aristas = listaAdyacencia.get(nodo);
+        return aristas != null && aristas.removeIf(arista -> arista.destino.equals(destino));
+    }
+
+    // Arista es inmutable: se reemplaza en la misma posición de la lista
+    private boolean cambiarPeso(String nodo, String destino, double peso) {
+        List<Arista> aristas = listaAdyacencia.get(nodo);
+        if (aristas == null) return false;
+
+        boolean cambiada = false;
+        for (int i = 0; i < aristas.size(); i++) {
+            if (aristas.get(i).destino.equals(destino)) {
+                aristas.set(i, new Arista(nodo, destino, peso));
+                cambiada = true;
+            }
+        }
+        return cambiada;
+    }
+
     // Dijkstra: camino más corto entre dos nodos
     // Análisis de Complejidad:
     // - Inicialización: O(n)
@@ -84,17 +149,13 @@ public class Graph {
     // - Conclusión: Complejidad FINAL = O(n log n)
     public List<Arista> kruskalMST() {
         List<Arista> todasAristas = new ArrayList<>();
-        Set<String> vistas = new HashSet<>();
         
-        for (Map.Entry<String, List<Arista>> entrada : listaAdyacencia.entrySet()) {
-            for (Arista arista : entrada.getValue()) {
-                String clave = arista.origen.compareTo(arista.destino) <= 0 
-                    ? arista.origen + "|" + arista.destino 
-                    : arista.destino + "|" + arista.origen;
-                
-                if (!vistas.contains(clave)) {
-                    vistas.add(clave);
-                    todasAristas.add(new Arista(arista.origen, arista.destino, arista.peso));
+        // Cada ruta está en la lista de sus dos extremos: se toma solo desde el menor (sin armar claves String)
+        // Las rutas paralelas entran todas y, al ordenar por peso, Kruskal usa la más barata
+        for (List<Arista> aristas : listaAdyacencia.values()) {
+            for (Arista arista : aristas) {
+                if (arista.origen.compareTo(arista.destino) < 0) {
+                    todasAristas.add(arista);
                 }
             }
         }
@@ -299,80 +360,84 @@ public class Graph {
     }
 
     // BFS: búsqueda en amplitud
+    // Guarda el predecesor de cada nodo en vez de encolar una copia del camino por nodo
     // Análisis de Complejidad:
     // - Cada nodo visitado una vez: O(n)
-    // - Cada arista explorada una vez: O(n)
-    // - Recurrencia: T(n) = O(n) + O(n) = O(n)
-    // - Conclusión: Complejidad FINAL = O(n)
+    // - Cada arista explorada una vez: O(m)
+    // - El camino se arma una sola vez al final: O(largo del camino)
+    // - Conclusión: Complejidad FINAL = O(n + m)
     public List<String> bfs(String inicio, String destino) {
         if (!nodos.contains(inicio) || !nodos.contains(destino)) return null;
         if (inicio.equals(destino)) return new ArrayList<>(List.of(inicio));
-        
-        Queue<List<String>> cola = new LinkedList<>();
-        cola.add(new ArrayList<>(List.of(inicio)));
-        
-        Set<String> visitados = new HashSet<>();
-        visitados.add(inicio);
-        
+
+        Deque<String> cola = new ArrayDeque<>();
+        cola.add(inicio);
+
+        // anterior también hace de conjunto de visitados
+        Map<String, String> anterior = new HashMap<>();
+        anterior.put(inicio, null);
+
         while (!cola.isEmpty()) {
-            List<String> camino = cola.poll();
-            String ultimo = camino.get(camino.size() - 1);
-            
+            String ultimo = cola.poll();
+
             for (Arista arista : listaAdyacencia.getOrDefault(ultimo, Collections.emptyList())) {
                 String vecino = arista.destino;
-                
-                if (!visitados.contains(vecino)) {
-                    visitados.add(vecino);
-                    
-                    List<String> nuevoCamino = new ArrayList<>(camino);
-                    nuevoCamino.add(vecino);
-                    
-                    if (vecino.equals(destino)) return nuevoCamino;
-                    
-                    cola.add(nuevoCamino);
+
+                if (!anterior.containsKey(vecino)) {
+                    anterior.put(vecino, ultimo);
+
+                    if (vecino.equals(destino)) {
+                        List<String> camino = new ArrayList<>();
+                        for (String v = destino; v != null; v = anterior.get(v)) camino.add(v);
+                        Collections.reverse(camino);
+                        return camino;
+                    }
+
+                    cola.add(vecino);
                 }
             }
         }
-        
+
         return null;
     }
 
-    // DFS: búsqueda en profundidad
-    // Análisis de Complejidad (Recurrencia por sustracción):
-    // - T(n) = T(n-1) + O(grado(v))
-    // - Suma de todos los grados = 2n
-    // - Recurrencia: T(n) = O(n) + O(n)
-    // - Conclusión: Complejidad FINAL = O(n)
+    // DFS: búsqueda en profundidad (iterativa, con una pila de iteradores en lugar de recursión)
+    // Visita en el mismo orden que la versión recursiva, pero una cadena de miles de almacenes ya no
+    // provoca StackOverflowError
+    // Análisis de Complejidad:
+    // - Cada nodo se apila una vez: O(n)
+    // - Cada arista se mira una vez (el iterador de cada nodo sigue donde quedó): O(m)
+    // - Conclusión: Complejidad FINAL = O(n + m)
     public List<String> dfs(String inicio, String destino) {
         if (!nodos.contains(inicio) || !nodos.contains(destino)) return null;
         if (inicio.equals(destino)) return new ArrayList<>(List.of(inicio));
-        
+
         Set<String> visitados = new HashSet<>();
+        // camino es la rama actual; pendientes guarda, por cada nodo de la rama, las aristas que le faltan mirar
         List<String> camino = new ArrayList<>();
-        
-        if (dfsRecursivo(inicio, destino, visitados, camino)) {
-            return camino;
-        }
-        
-        return null;
-    }
+        Deque<Iterator<Arista>> pendientes = new ArrayDeque<>();
 
-    private boolean dfsRecursivo(String actual, String destino, Set<String> visitados, List<String> camino) {
-        visitados.add(actual);
-        camino.add(actual);
-        
-        if (actual.equals(destino)) return true;
-        
-        for (Arista arista : listaAdyacencia.getOrDefault(actual, Collections.emptyList())) {
-            if (!visitados.contains(arista.destino)) {
-                if (dfsRecursivo(arista.destino, destino, visitados, camino)) {
-                    return true;
-                }
+        visitados.add(inicio);
+        camino.add(inicio);
+        pendientes.push(listaAdyacencia.getOrDefault(inicio, Collections.emptyList()).iterator());
+
+        while (!pendientes.isEmpty()) {
+            Iterator<Arista> aristas = pendientes.peek();
+            if (!aristas.hasNext()) {
+                pendientes.pop();
+                camino.remove(camino.size() - 1);
+                continue;
+            }
+
+            String vecino = aristas.next().destino;
+            if (visitados.add(vecino)) {
+                camino.add(vecino);
+                if (vecino.equals(destino)) return camino;
+                pendientes.push(listaAdyacencia.getOrDefault(vecino, Collections.emptyList()).iterator());
             }
         }
-        
-        camino.remove(camino.size() - 1);
-        return false;
+
+        return null;
     }
 
     // Ordenar nodos por cantidad de conexiones usando Divide y Vencerás (MergeSort)
@@ -0,0 +1,163 @@
+package com.example.uade.TP_Progra3.graph;
+
+import java.util.Arrays;
+
+// Min-heap d-ario indexado por id de nodo (ids 0..capacidad-1) con claves double
+// A diferencia de PriorityQueue permite bajar la clave de un nodo que ya está en el heap
+// (decrease-key) sin sacarlo y volverlo a insertar, y sin boxing de las prioridades.
+// Cada nodo aparece como mucho una vez, así que el heap nunca supera n entradas.
+public final class HeapIndexado {
+    // Con 4 hijos por nodo el árbol es más bajo y los hijos quedan contiguos en memoria
+    private static final int ARIDAD = 4;
+
+    private final int[] heap;       // posición en el heap -> nodo
+    private final int[] posicion;   // nodo -> posición en el heap (-1 si no está)
+    private final double[] claves;  // nodo -> clave actual
+    private int tamanio;
+
+    // Operaciones hechas desde la última vez que se registraron (ver EstadisticasBusqueda)
+    private long inserciones;
+    private long disminuciones;
+    private long extracciones;
+
+    public HeapIndexado(int capacidad) {
+        heap = new int[capacidad];
+        posicion = new int[capacidad];
+        claves = new double[capacidad];
+        Arrays.fill(posicion, -1);
+    }
+
+    public boolean estaVacio() {
+        return tamanio == 0;
+    }
+
+    public int tamanio() {
+        return tamanio;
+    }
+
+    public boolean contiene(int nodo) {
+        return posicion[nodo] != -1;
+    }
+
+    public double clave(int nodo) {
+        return claves[nodo];
+    }
+
+    public int minimo() {
+        return heap[0];
+    }
+
+    public double claveMinima() {
+        return claves[heap[0]];
+    }
+
+    // Inserta el nodo, o le baja la clave si ya estaba con una clave mayor
+    // Análisis de Complejidad:
+    // - Sube a lo sumo la altura del árbol: O(log_d n)
+    // - Conclusión: Complejidad FINAL = O(log n)
+    // Retorna true si el heap cambió
+    public boolean insertarODisminuir(int nodo, double clave) {
+        int i = posicion[nodo];
+        if (i == -1) {
+            i = tamanio++;
+            heap[i] = nodo;
+            posicion[nodo] = i;
+            inserciones++;
+        } else if (clave >= claves[nodo]) {
+            return false;
+        } else {
+            disminuciones++;
+        }
+
+        claves[nodo] = clave;
+        subir(i);
+        return true;
+    }
+
+    // Saca el nodo de menor clave
+    // Análisis de Complejidad:
+    // - Baja a lo sumo la altura del árbol comparando d hijos por nivel: O(d log_d n)
+    // - Conclusión: Complejidad FINAL = O(log n)
+    public int extraerMin() {
+        int minimo = heap[0];
+        posicion[minimo] = -1;
+        extracciones++;
+
+        tamanio--;
+        if (tamanio > 0) {
+            heap[0] = heap[tamanio];
+            posicion[heap[0]] = 0;
+            bajar(0);
+        }
+        return minimo;
+    }
+
+    // Vacía el heap en O(tamaño) para reutilizarlo en otra búsqueda
+    public void limpiar() {
+        for (int i = 0; i < tamanio; i++) {
+            posicion[heap[i]] = -1;
+        }
+        tamanio = 0;
+    }
+
+    long inserciones() {
+        return inserciones;
+    }
+
+    long disminuciones() {
+        return disminuciones;
+    }
+
+    long extracciones() {
+        return extracciones;
+    }
+
+    void reiniciarContadores() {
+        inserciones = 0;
+        disminuciones = 0;
+        extracciones = 0;
+    }
+
+    private void subir(int i) {
+        int nodo = heap[i];
+        double clave = claves[nodo];
+
+        while (i > 0) {
+            int padre = (i - 1) / ARIDAD;
+            int nodoPadre = heap[padre];
+            if (claves[nodoPadre] <= clave) break;
+
+            heap[i] = nodoPadre;
+            posicion[nodoPadre] = i;
+            i = padre;
+        }
+
+        heap[i] = nodo;
+        posicion[nodo] = i;
+    }
+
+    private void bajar(int i) {
+        int nodo = heap[i];
+        double clave = claves[nodo];
+
+        while (true) {
+            int primerHijo = i * ARIDAD + 1;
+            if (primerHijo >= tamanio) break;
+
+            int ultimoHijo = Math.min(primerHijo + ARIDAD, tamanio);
+            int menor = primerHijo;
+            for (int hijo = primerHijo + 1; hijo < ultimoHijo; hijo++) {
+                if (claves[heap[hijo]] < claves[heap[menor]]) menor = hijo;
+            }
+
+            if (claves[heap[menor]] >= clave) break;
+
+            heap[i] = heap[menor];
+            posicion[heap[i]] = i;
+            i = menor;
+        }
+
+        heap[i] = nodo;
+        posicion[nodo] = i;
+    }
+}
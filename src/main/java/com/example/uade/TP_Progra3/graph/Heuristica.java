@@ -0,0 +1,12 @@
+package com.example.uade.TP_Progra3.graph;
+
+// Estimación del costo restante para A*
+// Debe ser una cota inferior del costo real (admisible) y consistente para que A* devuelva el camino mínimo
+// Puede devolver Double.POSITIVE_INFINITY si sabe que desde nodo no se llega a destino
+@FunctionalInterface
+public interface Heuristica {
+    double cotaInferior(int nodo, int destino);
+
+    // Sin información: A* se comporta exactamente como Dijkstra
+    Heuristica NULA = (nodo, destino) -> 0.0;
+}
@@ -0,0 +1,513 @@
+package com.example.uade.TP_Progra3.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Jerarquía de contracción (Contraction Hierarchies) sobre un snapshot del grafo
+// Preprocesamiento: se "contraen" los nodos de a uno en orden de importancia; al sacar un nodo v se agregan
+// atajos u-w (con costo u-v-w) solo si no existe otro camino igual o más barato (testigo) entre u y w.
+// Consulta: Dijkstra bidireccional que solo sube a nodos de mayor rango; las dos búsquedas se encuentran en
+// el nodo más importante del camino y exploran unos pocos cientos de nodos aunque la red sea enorme.
+// Supone grafo no dirigido (cada ruta en ambos sentidos, como lo arma Graph.agregarArista).
+public final class JerarquiaContraccion {
+    // Corta la búsqueda de testigos; si no se encontró testigo se agrega el atajo igual (sigue siendo correcto)
+    private static final int LIMITE_FIJADOS_TESTIGO = 64;
+
+    private final GrafoCompacto grafo;
+    private final int[] rango;
+    // Grafo "hacia arriba" en formato CSR: de cada nodo solo salen aristas a nodos de rango mayor.
+    // medios[e] es el nodo contraído que reemplaza el atajo e (-1 si es una ruta original)
+    private final int[] inicio;
+    private final int[] destinos;
+    private final int[] medios;
+    private final double[] pesos;
+    private final int cantidadAtajos;
+    private final long milisegundosConstruccion;
+
+    // Espacios de trabajo libres para las consultas (ida y vuelta), así no se reservan arreglos de tamaño n
+    // en cada request. Son de esta jerarquía: cuando el snapshot se descarta se van con ella, sin quedar
+    // colgados de los hilos. Acotado a la cantidad de procesadores; si hay más consultas a la vez se crean
+    // espacios extra que no se guardan.
+    private final ArrayBlockingQueue<EspacioBusqueda[]> espaciosLibres =
+            new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+
+    private JerarquiaContraccion(GrafoCompacto grafo, int[] rango, int[] inicio, int[] destinos, int[] medios,
+                                 double[] pesos, int cantidadAtajos, long milisegundosConstruccion) {
+        this.grafo = grafo;
+        this.rango = rango;
+        this.inicio = inicio;
+        this.destinos = destinos;
+        this.medios = medios;
+        this.pesos = pesos;
+        this.cantidadAtajos = cantidadAtajos;
+        this.milisegundosConstruccion = milisegundosConstruccion;
+    }
+
+    public int cantidadAtajos() {
+        return cantidadAtajos;
+    }
+
+    public long milisegundosConstruccion() {
+        return milisegundosConstruccion;
+    }
+
+    // Memoria de la jerarquía (rango + grafo hacia arriba), sin contar el GrafoCompacto de base
+    public long bytesOcupados() {
+        return 4L * (rango.length + inicio.length + destinos.length + medios.length) + 8L * pesos.length;
+    }
+
+    // Construcción en rondas: en cada ronda se contraen a la vez todos los nodos que son mínimos locales
+    // de prioridad (un conjunto independiente, ningún par es vecino), así las búsquedas de testigos
+    // de la ronda corren en paralelo y después se aplican los atajos en un solo hilo.
+    // Análisis de Complejidad:
+    // - Cada contracción hace grado(v) búsquedas de testigos acotadas a LIMITE_FIJADOS_TESTIGO nodos;
+    //   actualizar la prioridad de un vecino solo mira rutas directas: O(grado²)
+    // - En redes viales/logísticas la cantidad de atajos queda en O(m) y el total es casi lineal
+    // - Peor caso teórico (grafos densos): O(n² log n)
+    public static JerarquiaContraccion construir(GrafoCompacto grafo) {
+        long comienzo = System.nanoTime();
+        int n = grafo.cantidadNodos();
+        GrafoContraible dinamico = new GrafoContraible(grafo);
+        // Un espacio de testigos por bloque de trabajo paralelo (ver porBloques), solo durante la construcción
+        EspacioBusqueda[] espaciosTestigos = new EspacioBusqueda[Math.max(1, ForkJoinPool.getCommonPoolParallelism())];
+
+        int[] prioridad = new int[n];
+        int[] vecinosContraidos = new int[n];
+        int[] rango = new int[n];
+        boolean[] contraido = new boolean[n];
+        // Prioridad = atajos que generaría - aristas que saca + vecinos ya contraídos (reparte la contracción)
+        porBloques(n, espaciosTestigos, n, (v, espacio) ->
+                prioridad[v] = dinamico.estimarAtajos(v, espacio) - dinamico.grado[v]);
+
+        // Aristas hacia arriba de cada nodo, que se fijan en el momento de contraerlo
+        int[][] arribaDestinos = new int[n][];
+        int[][] arribaMedios = new int[n][];
+        double[][] arribaPesos = new double[n][];
+
+        int[] restantes = IntStream.range(0, n).toArray();
+        int[] rondaMarcado = new int[n];
+        boolean[] enRonda = new boolean[n];
+        int ronda = 0;
+        int siguienteRango = 0;
+        int atajos = 0;
+
+        while (restantes.length > 0) {
+            int[] seleccion = Arrays.stream(restantes).parallel()
+                    .filter(v -> dinamico.esMinimoLocal(v, prioridad))
+                    .toArray();
+            for (int v : seleccion) enRonda[v] = true;
+
+            // Los testigos no pueden pasar por ningún nodo de la ronda: si no, dos nodos contraídos a la vez
+            // podrían usarse mutuamente como testigo y se perdería el camino mínimo
+            // Lista de tamaño fijo: cada bloque escribe (set) solo sus posiciones, sin cambiar la estructura
+            List<List<double[]>> atajosPorNodo = new ArrayList<>(Collections.nCopies(seleccion.length, null));
+            int[] seleccionados = seleccion;
+            porBloques(seleccion.length, espaciosTestigos, n, (i, espacio) -> {
+                List<double[]> nuevos = new ArrayList<>();
+                dinamico.calcularAtajos(seleccionados[i], enRonda, LIMITE_FIJADOS_TESTIGO, espacio, nuevos);
+                atajosPorNodo.set(i, nuevos);
+            });
+
+            for (int i = 0; i < seleccion.length; i++) {
+                int v = seleccion[i];
+                int grado = dinamico.grado[v];
+                arribaDestinos[v] = Arrays.copyOf(dinamico.vecinos[v], grado);
+                arribaMedios[v] = Arrays.copyOf(dinamico.medios[v], grado);
+                arribaPesos[v] = Arrays.copyOf(dinamico.pesos[v], grado);
+
+                rango[v] = siguienteRango++;
+                contraido[v] = true;
+                for (int j = 0; j < grado; j++) {
+                    int vecino = dinamico.vecinos[v][j];
+                    dinamico.quitar(vecino, v);
+                    vecinosContraidos[vecino]++;
+                }
+                for (double[] atajo : atajosPorNodo.get(i)) {
+                    if (dinamico.agregarOMejorar((int) atajo[0], (int) atajo[1], atajo[2], v)) atajos++;
+                }
+            }
+
+            for (int v : seleccion) enRonda[v] = false;
+
+            // Recalcular la prioridad de los vecinos de los contraídos (su grado y sus atajos cambiaron)
+            ronda++;
+            int[] afectados = new int[16];
+            int cantidadAfectados = 0;
+            for (int v : seleccion) {
+                for (int vecino : arribaDestinos[v]) {
+                    if (!contraido[vecino] && rondaMarcado[vecino] != ronda) {
+                        rondaMarcado[vecino] = ronda;
+                        if (cantidadAfectados == afectados.length) afectados = Arrays.copyOf(afectados, cantidadAfectados * 2);
+                        afectados[cantidadAfectados++] = vecino;
+                    }
+                }
+            }
+            int[] porActualizar = afectados;
+            porBloques(cantidadAfectados, espaciosTestigos, n, (i, espacio) -> {
+                int v = porActualizar[i];
+                prioridad[v] = dinamico.estimarAtajos(v, espacio) - dinamico.grado[v] + vecinosContraidos[v];
+            });
+
+            restantes = Arrays.stream(restantes).filter(v -> !contraido[v]).toArray();
+        }
+
+        // Pasar las aristas hacia arriba a CSR
+        int[] inicio = new int[n + 1];
+        for (int v = 0; v < n; v++) inicio[v + 1] = inicio[v] + arribaDestinos[v].length;
+        int[] destinos = new int[inicio[n]];
+        int[] medios = new int[inicio[n]];
+        double[] pesos = new double[inicio[n]];
+        for (int v = 0; v < n; v++) {
+            System.arraycopy(arribaDestinos[v], 0, destinos, inicio[v], arribaDestinos[v].length);
+            System.arraycopy(arribaMedios[v], 0, medios, inicio[v], arribaMedios[v].length);
+            System.arraycopy(arribaPesos[v], 0, pesos, inicio[v], arribaPesos[v].length);
+        }
+
+        long milisegundos = (System.nanoTime() - comienzo) / 1_000_000;
+        return new JerarquiaContraccion(grafo, rango, inicio, destinos, medios, pesos, atajos, milisegundos);
+    }
+
+    private interface TareaConEspacio {
+        void ejecutar(int indice, EspacioBusqueda espacio);
+    }
+
+    // Reparte los índices [0, cantidad) en un bloque por espacio (salteados, para equilibrar la carga) y corre
+    // los bloques en paralelo: cada bloque usa siempre su propio espacio, sin ThreadLocal ni sincronización
+    private static void porBloques(int cantidad, EspacioBusqueda[] espacios, int n, TareaConEspacio tarea) {
+        int bloques = Math.min(cantidad, espacios.length);
+        IntStream.range(0, bloques).parallel().forEach(bloque -> {
+            if (espacios[bloque] == null) espacios[bloque] = new EspacioBusqueda(n);
+            EspacioBusqueda espacio = espacios[bloque];
+            for (int i = bloque; i < cantidad; i += bloques) tarea.ejecutar(i, espacio);
+        });
+    }
+
+    // Consulta: dos búsquedas que solo suben de rango, una desde cada extremo
+    // Análisis de Complejidad:
+    // - Cada búsqueda ve solo el "cono" de nodos más importantes que su extremo: en la práctica
+    //   unos cientos de nodos, casi independiente del tamaño de la red
+    // - Desempaquetar los atajos: O(largo del camino)
+    public ResultadoCamino consultar(int origen, int destino) {
+        if (origen == destino) return new ResultadoCamino(List.of(grafo.nombre(origen)), 0.0, 1);
+
+        EspacioBusqueda[] par = espaciosLibres.poll();
+        if (par == null) {
+            int n = grafo.cantidadNodos();
+            par = new EspacioBusqueda[]{new EspacioBusqueda(n), new EspacioBusqueda(n)};
+        }
+        EspacioBusqueda ida = par[0];
+        EspacioBusqueda vuelta = par[1];
+        ida.iniciar(origen);
+        vuelta.iniciar(destino);
+
+        double mejor = Double.POSITIVE_INFINITY;
+        int encuentro = -1;
+        int fijados = 0;
+
+        try {
+            while (!ida.cola.estaVacio() || !vuelta.cola.estaVacio()) {
+                boolean haciaAdelante = !ida.cola.estaVacio()
+                        && (vuelta.cola.estaVacio() || ida.cola.claveMinima() <= vuelta.cola.claveMinima());
+                EspacioBusqueda lado = haciaAdelante ? ida : vuelta;
+                EspacioBusqueda otro = haciaAdelante ? vuelta : ida;
+
+                // Este lado ya no puede mejorar el camino encontrado
+                if (lado.cola.claveMinima() >= mejor) {
+                    lado.cola.limpiar();
+                    continue;
+                }
+
+                int actual = lado.cola.extraerMin();
+                fijados++;
+                double distActual = lado.distancias[actual];
+                if (distActual + otro.distancias[actual] < mejor) {
+                    mejor = distActual + otro.distancias[actual];
+                    encuentro = actual;
+                }
+
+                // Stall-on-demand: si a este nodo se llega más barato bajando desde un nodo de rango mayor,
+                // su distancia no es la real y no hace falta expandirlo
+                if (estancado(lado, actual, distActual)) continue;
+
+                for (int e = inicio[actual]; e < inicio[actual + 1]; e++) {
+                    lado.relajar(destinos[e], distActual + pesos[e], actual);
+                }
+            }
+
+            if (encuentro == -1) return new ResultadoCamino(null, Double.POSITIVE_INFINITY, fijados);
+
+            // Camino en el grafo con atajos: origen -> encuentro (ida) y encuentro -> destino (vuelta)
+            List<Integer> saltos = new ArrayList<>();
+            for (int v = encuentro; v != -1; v = ida.anterior[v]) saltos.add(v);
+            Collections.reverse(saltos);
+            for (int v = vuelta.anterior[encuentro]; v != -1; v = vuelta.anterior[v]) saltos.add(v);
+
+            return new ResultadoCamino(desempaquetar(saltos), mejor, fijados);
+        } finally {
+            EstadisticasBusqueda.JERARQUIA.registrar(ida.cola, vuelta.cola);
+            ida.limpiar();
+            vuelta.limpiar();
+            espaciosLibres.offer(par);
+        }
+    }
+
+    private boolean estancado(EspacioBusqueda lado, int nodo, double distancia) {
+        for (int e = inicio[nodo]; e < inicio[nodo + 1]; e++) {
+            if (lado.distancias[destinos[e]] + pesos[e] < distancia) return true;
+        }
+        return false;
+    }
+
+    // Reemplaza cada atajo por los dos tramos que representa, hasta llegar a rutas originales
+    private List<String> desempaquetar(List<Integer> saltos) {
+        List<String> camino = new ArrayList<>();
+        camino.add(grafo.nombre(saltos.get(0)));
+
+        int[] pila = new int[64];
+        for (int i = 0; i + 1 < saltos.size(); i++) {
+            int tope = 0;
+            pila[tope++] = saltos.get(i + 1);
+            int actual = saltos.get(i);
+
+            while (tope > 0) {
+                int siguiente = pila[tope - 1];
+                int medio = medio(actual, siguiente);
+                if (medio == -1) {
+                    camino.add(grafo.nombre(siguiente));
+                    actual = siguiente;
+                    tope--;
+                } else {
+                    if (tope == pila.length) pila = Arrays.copyOf(pila, tope * 2);
+                    pila[tope++] = medio;
+                }
+            }
+        }
+        return camino;
+    }
+
+    // La arista u-v está guardada en el extremo de menor rango
+    private int medio(int u, int v) {
+        int bajo = rango[u] < rango[v] ? u : v;
+        int alto = bajo == u ? v : u;
+        for (int e = inicio[bajo]; e < inicio[bajo + 1]; e++) {
+            if (destinos[e] == alto) return medios[e];
+        }
+        throw new IllegalStateException("Arista inexistente en la jerarquía: " + u + "-" + v);
+    }
+
+    // Distancias, predecesores y heap reutilizables; solo se resetean los nodos tocados
+    private static final class EspacioBusqueda {
+        final double[] distancias;
+        final int[] anterior;
+        final HeapIndexado cola;
+        int[] tocados = new int[16];
+        int cantidadTocados;
+        // Solo para búsquedas de testigos: marcaObjetivo[v] == sello si v es uno de los objetivos actuales
+        int[] marcaObjetivo;
+        int sello;
+
+        EspacioBusqueda(int n) {
+            distancias = new double[n];
+            anterior = new int[n];
+            cola = new HeapIndexado(n);
+            Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+            Arrays.fill(anterior, -1);
+        }
+
+        int nuevoSello() {
+            if (marcaObjetivo == null) marcaObjetivo = new int[distancias.length];
+            return ++sello;
+        }
+
+        void iniciar(int origen) {
+            relajar(origen, 0.0, -1);
+        }
+
+        void relajar(int nodo, double distancia, int desde) {
+            if (distancia >= distancias[nodo]) return;
+            if (distancias[nodo] == Double.POSITIVE_INFINITY) {
+                if (cantidadTocados == tocados.length) tocados = Arrays.copyOf(tocados, cantidadTocados * 2);
+                tocados[cantidadTocados++] = nodo;
+            }
+            distancias[nodo] = distancia;
+            anterior[nodo] = desde;
+            cola.insertarODisminuir(nodo, distancia);
+        }
+
+        void limpiar() {
+            for (int i = 0; i < cantidadTocados; i++) {
+                distancias[tocados[i]] = Double.POSITIVE_INFINITY;
+                anterior[tocados[i]] = -1;
+            }
+            cantidadTocados = 0;
+            cola.limpiar();
+        }
+    }
+
+    // Grafo mutable usado solo durante la construcción: listas de adyacencia en arreglos que crecen,
+    // una sola arista (la más barata) por par de nodos y sin los nodos ya contraídos
+    private static final class GrafoContraible {
+        final int[][] vecinos;
+        final double[][] pesos;
+        final int[][] medios;
+        final int[] grado;
+
+        GrafoContraible(GrafoCompacto grafo) {
+            int n = grafo.cantidadNodos();
+            vecinos = new int[n][];
+            pesos = new double[n][];
+            medios = new int[n][];
+            grado = new int[n];
+            for (int v = 0; v < n; v++) {
+                int capacidad = Math.max(2, grafo.grado(v));
+                vecinos[v] = new int[capacidad];
+                pesos[v] = new double[capacidad];
+                medios[v] = new int[capacidad];
+            }
+            for (int u = 0; u < n; u++) {
+                for (int e = grafo.primeraArista(u); e < grafo.finAristas(u); e++) {
+                    int v = grafo.destino(e);
+                    if (u != v) agregarOMejorarLado(u, v, grafo.peso(e), -1);
+                }
+            }
+        }
+
+        // Prioridades iguales se desempatan por id, así dos vecinos nunca son mínimos a la vez
+        boolean esMinimoLocal(int v, int[] prioridad) {
+            for (int i = 0; i < grado[v]; i++) {
+                int w = vecinos[v][i];
+                if (prioridad[w] < prioridad[v] || (prioridad[w] == prioridad[v] && w < v)) return false;
+            }
+            return true;
+        }
+
+        // Atajos necesarios al contraer v: para cada par de vecinos u, w se busca un testigo u ~> w que no pase
+        // por v (ni por los nodos marcados en excluidos) y cueste a lo sumo c(u,v) + c(v,w).
+        // Si salida no es null se agregan ahí como {u, w, costo}. Retorna la cantidad de atajos
+        int calcularAtajos(int v, boolean[] excluidos, int limiteFijados, EspacioBusqueda espacio, List<double[]> salida) {
+            int cantidad = 0;
+            int g = grado[v];
+
+            // Cada par se revisa una sola vez (i < j): desde u solo interesan los vecinos que vienen después
+            for (int i = 0; i < g - 1; i++) {
+                int u = vecinos[v][i];
+                double costoUV = pesos[v][i];
+                double maximoSalida = 0.0;
+                int sello = espacio.nuevoSello();
+                for (int j = i + 1; j < g; j++) {
+                    maximoSalida = Math.max(maximoSalida, pesos[v][j]);
+                    espacio.marcaObjetivo[vecinos[v][j]] = sello;
+                }
+                buscarTestigos(u, v, excluidos, costoUV + maximoSalida, g - 1 - i, limiteFijados, espacio);
+
+                for (int j = i + 1; j < g; j++) {
+                    int w = vecinos[v][j];
+                    double costoPorV = costoUV + pesos[v][j];
+                    if (espacio.distancias[w] > costoPorV) {
+                        cantidad++;
+                        if (salida != null) salida.add(new double[]{u, w, costoPorV});
+                    }
+                }
+                espacio.limpiar();
+            }
+            return cantidad;
+        }
+
+        // Estimación barata de calcularAtajos para la prioridad: solo cuenta como testigo una ruta directa u-w
+        // (se recalcula cada vez que se contrae un vecino, así que no puede costar búsquedas completas)
+        int estimarAtajos(int v, EspacioBusqueda espacio) {
+            int cantidad = 0;
+            int g = grado[v];
+
+            for (int i = 0; i < g - 1; i++) {
+                int u = vecinos[v][i];
+                int sello = espacio.nuevoSello();
+                for (int k = 0; k < grado[u]; k++) {
+                    espacio.marcaObjetivo[vecinos[u][k]] = sello;
+                    espacio.distancias[vecinos[u][k]] = pesos[u][k];
+                }
+
+                for (int j = i + 1; j < g; j++) {
+                    int w = vecinos[v][j];
+                    boolean hayTestigo = espacio.marcaObjetivo[w] == sello && espacio.distancias[w] <= pesos[v][i] + pesos[v][j];
+                    if (!hayTestigo) cantidad++;
+                }
+
+                for (int k = 0; k < grado[u]; k++) espacio.distancias[vecinos[u][k]] = Double.POSITIVE_INFINITY;
+            }
+            return cantidad;
+        }
+
+        // Dijkstra acotado desde u que ignora a v y a los excluidos; termina antes si ya fijó los objetivos marcados
+        private void buscarTestigos(int u, int v, boolean[] excluidos, double limite, int objetivos, int limiteFijados,
+                                    EspacioBusqueda espacio) {
+            espacio.iniciar(u);
+            int fijados = 0;
+
+            while (!espacio.cola.estaVacio() && fijados < limiteFijados) {
+                if (espacio.cola.claveMinima() > limite) break;
+                int actual = espacio.cola.extraerMin();
+                fijados++;
+                if (espacio.marcaObjetivo[actual] == espacio.sello && --objetivos == 0) break;
+
+                double distActual = espacio.distancias[actual];
+                for (int i = 0; i < grado[actual]; i++) {
+                    int vecino = vecinos[actual][i];
+                    double nuevaDist = distActual + pesos[actual][i];
+                    if (nuevaDist <= limite && vecino != v && (excluidos == null || !excluidos[vecino])) {
+                        espacio.relajar(vecino, nuevaDist, actual);
+                    }
+                }
+            }
+            espacio.cola.limpiar();
+        }
+
+        // Agrega el atajo u-w (en ambos sentidos) o baja su costo; retorna true si era un par nuevo
+        boolean agregarOMejorar(int u, int w, double peso, int medio) {
+            boolean nuevo = agregarOMejorarLado(u, w, peso, medio);
+            agregarOMejorarLado(w, u, peso, medio);
+            return nuevo;
+        }
+
+        private boolean agregarOMejorarLado(int u, int w, double peso, int medio) {
+            for (int i = 0; i < grado[u]; i++) {
+                if (vecinos[u][i] == w) {
+                    if (peso < pesos[u][i]) {
+                        pesos[u][i] = peso;
+                        medios[u][i] = medio;
+                    }
+                    return false;
+                }
+            }
+            if (grado[u] == vecinos[u].length) {
+                int capacidad = grado[u] * 2;
+                vecinos[u] = Arrays.copyOf(vecinos[u], capacidad);
+                pesos[u] = Arrays.copyOf(pesos[u], capacidad);
+                medios[u] = Arrays.copyOf(medios[u], capacidad);
+            }
+            vecinos[u][grado[u]] = w;
+            pesos[u][grado[u]] = peso;
+            medios[u][grado[u]] = medio;
+            grado[u]++;
+            return true;
+        }
+
+        // Sacar a v de la lista de u (intercambiando con el último)
+        void quitar(int u, int v) {
+            for (int i = 0; i < grado[u]; i++) {
+                if (vecinos[u][i] == v) {
+                    int ultimo = --grado[u];
+                    vecinos[u][i] = vecinos[u][ultimo];
+                    pesos[u][i] = pesos[u][ultimo];
+                    medios[u][i] = medios[u][ultimo];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.uade.TP_Progra3.graph;
+
+import java.util.Arrays;
+
+// Heurística ALT (A*, Landmarks, desigualdad Triangular) precalculada desde el grafo
+// Se eligen k nodos "faro" y se guarda la distancia de cada faro a todos los nodos.
+// Por la desigualdad triangular, |d(L, v) - d(L, t)| <= d(v, t) para cualquier faro L,
+// así que el máximo sobre los faros es una cota inferior admisible y consistente.
+public final class Landmarks implements Heuristica {
+    private final int cantidad;
+    // distancias[v * cantidad + l] = d(faro l, v); por nodo quedan contiguas para leerlas juntas
+    private final double[] distancias;
+    private final int[] faros;
+
+    private Landmarks(int cantidad, double[] distancias, int[] faros) {
+        this.cantidad = cantidad;
+        this.distancias = distancias;
+        this.faros = faros;
+    }
+
+    // Elegir faros por "el más lejano": cada nuevo faro es el nodo más alejado de los ya elegidos,
+    // así quedan en la periferia de la red, que es donde dan mejores cotas
+    // Análisis de Complejidad:
+    // - Un Dijkstra completo por faro: O(k (n + m) log n)
+    // - Memoria: k · n doubles
+    public static Landmarks calcular(GrafoCompacto grafo, int cantidadPedida) {
+        int n = grafo.cantidadNodos();
+        int k = Math.min(cantidadPedida, n);
+        double[] distancias = new double[n * k];
+        int[] faros = new int[k];
+        // Distancia mínima de cada nodo al conjunto de faros elegidos (para elegir el siguiente)
+        double[] cercania = new double[n];
+        Arrays.fill(cercania, Double.POSITIVE_INFINITY);
+
+        // El primer faro es el nodo más lejano a un nodo cualquiera
+        int siguiente = k == 0 ? -1 : masLejano(grafo.arbolDijkstra(0, null), n, null);
+
+        for (int l = 0; l < k; l++) {
+            faros[l] = siguiente;
+            ArbolCaminos arbol = grafo.arbolDijkstra(siguiente, null);
+
+            for (int v = 0; v < n; v++) {
+                double d = arbol.distancia(v);
+                distancias[v * k + l] = d;
+                if (d < cercania[v]) cercania[v] = d;
+            }
+
+            siguiente = masLejano(arbol, n, cercania);
+        }
+
+        return new Landmarks(k, distancias, faros);
+    }
+
+    // Nodo alcanzado con mayor distancia; si hay cercania, se maximiza la distancia al faro más cercano.
+    // Los nodos inalcanzables desde todos los faros (otra componente) también son buenos candidatos
+    private static int masLejano(ArbolCaminos arbol, int n, double[] cercania) {
+        int mejor = arbol.getOrigen();
+        double mejorDist = -1;
+        for (int v = 0; v < n; v++) {
+            double d = cercania == null ? arbol.distancia(v) : cercania[v];
+            if (d == Double.POSITIVE_INFINITY && cercania == null) continue;
+            if (d > mejorDist) {
+                mejorDist = d;
+                mejor = v;
+            }
+        }
+        return mejor;
+    }
+
+    public int cantidadFaros() {
+        return cantidad;
+    }
+
+    public int faro(int i) {
+        return faros[i];
+    }
+
+    @Override
+    public double cotaInferior(int nodo, int destino) {
+        int baseNodo = nodo * cantidad;
+        int baseDestino = destino * cantidad;
+        double cota = 0.0;
+
+        for (int l = 0; l < cantidad; l++) {
+            double a = distancias[baseNodo + l];
+            double b = distancias[baseDestino + l];
+
+            if (a == Double.POSITIVE_INFINITY || b == Double.POSITIVE_INFINITY) {
+                // Uno alcanzable desde el faro y el otro no: están en componentes distintas
+                if (a != b) return Double.POSITIVE_INFINITY;
+                continue;
+            }
+
+            double diferencia = a > b ? a - b : b - a;
+            if (diferencia > cota) cota = diferencia;
+        }
+
+        return cota;
+    }
+}
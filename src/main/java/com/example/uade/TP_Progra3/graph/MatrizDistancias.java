@@ -0,0 +1,176 @@
+package com.example.uade.TP_Progra3.graph;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+// Distancias mínimas entre todos los pares de nodos (Floyd-Warshall) en un único double[] de n·n
+// La fila i ocupa distancias[i*n .. i*n+n-1]: sin un objeto por fila ni Doubles boxeados.
+public final class MatrizDistancias {
+    // Lado de cada bloque: 64 x 64 doubles = 32 KB, tres bloques (i-k, k-j, i-j) entran en L1/L2
+    private static final int TAMANIO_BLOQUE = 64;
+
+    private final GrafoCompacto grafo;
+    private final int n;
+    private final double[] distancias;
+
+    private MatrizDistancias(GrafoCompacto grafo, double[] distancias) {
+        this.grafo = grafo;
+        this.n = grafo.cantidadNodos();
+        this.distancias = distancias;
+    }
+
+    // Floyd-Warshall por bloques: para cada bloque k de la diagonal
+    //  1) se cierra el bloque (k,k) solo,
+    //  2) los bloques de la fila k y la columna k, que dependen solo del (k,k), en paralelo,
+    //  3) el resto de los bloques, que dependen solo de su fila y su columna k, en paralelo.
+    // Análisis de Complejidad:
+    // - Inicialización directa desde las listas de adyacencia: O(n² + m)
+    // - Mismo trabajo que el triple bucle: O(n³), repartido entre los hilos del ForkJoinPool común
+    // - Memoria: n² doubles (8 bytes por par)
+    public static MatrizDistancias calcular(GrafoCompacto grafo) {
+        int n = grafo.cantidadNodos();
+        if ((long) n * n > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Demasiados nodos para una matriz de distancias: " + n);
+        }
+        double[] distancias = new double[n * n];
+        Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+
+        for (int i = 0; i < n; i++) {
+            int fila = i * n;
+            distancias[fila + i] = 0.0;
+            // Si hay rutas paralelas queda la más barata
+            for (int e = grafo.primeraArista(i); e < grafo.finAristas(i); e++) {
+                int j = grafo.destino(e);
+                if (i != j && grafo.peso(e) < distancias[fila + j]) {
+                    distancias[fila + j] = grafo.peso(e);
+                }
+            }
+        }
+
+        int bloques = (n + TAMANIO_BLOQUE - 1) / TAMANIO_BLOQUE;
+        for (int k = 0; k < bloques; k++) {
+            int bk = k;
+            actualizarBloque(distancias, n, bk, bk, bk);
+
+            // Fase 2: índices 0..bloques-1 son la fila k, bloques..2·bloques-1 la columna k
+            IntStream.range(0, 2 * bloques).parallel().forEach(b -> {
+                if (b < bloques) {
+                    if (b != bk) actualizarBloque(distancias, n, bk, b, bk);
+                } else if (b - bloques != bk) {
+                    actualizarBloque(distancias, n, b - bloques, bk, bk);
+                }
+            });
+
+            IntStream.range(0, bloques * bloques).parallel().forEach(b -> {
+                int bi = b / bloques;
+                int bj = b % bloques;
+                if (bi != bk && bj != bk) actualizarBloque(distancias, n, bi, bj, bk);
+            });
+        }
+
+        return new MatrizDistancias(grafo, distancias);
+    }
+
+    // Relaja el bloque (bi, bj) pasando por los nodos intermedios del bloque bk
+    private static void actualizarBloque(double[] distancias, int n, int bi, int bj, int bk) {
+        int iDesde = bi * TAMANIO_BLOQUE, iHasta = Math.min(iDesde + TAMANIO_BLOQUE, n);
+        int jDesde = bj * TAMANIO_BLOQUE, jHasta = Math.min(jDesde + TAMANIO_BLOQUE, n);
+        int kDesde = bk * TAMANIO_BLOQUE, kHasta = Math.min(kDesde + TAMANIO_BLOQUE, n);
+
+        for (int k = kDesde; k < kHasta; k++) {
+            int filaK = k * n;
+            for (int i = iDesde; i < iHasta; i++) {
+                int filaI = i * n;
+                double ik = distancias[filaI + k];
+                if (ik == Double.POSITIVE_INFINITY) continue;
+                for (int j = jDesde; j < jHasta; j++) {
+                    double nuevaDist = ik + distancias[filaK + j];
+                    if (nuevaDist < distancias[filaI + j]) {
+                        distancias[filaI + j] = nuevaDist;
+                    }
+                }
+            }
+        }
+    }
+
+    public int cantidadNodos() {
+        return n;
+    }
+
+    public double distancia(int origen, int destino) {
+        return distancias[origen * n + destino];
+    }
+
+    // Vista de solo lectura con la forma {origen: {destino: costo}} que espera el JSON de /programacion-dinamica
+    // No copia nada: cada Double se crea recién cuando el serializador recorre la fila
+    public Map<String, Map<String, Double>> comoMapa() {
+        return new AbstractMap<>() {
+            @Override
+            public int size() {
+                return n;
+            }
+
+            @Override
+            public Set<Entry<String, Map<String, Double>>> entrySet() {
+                return new Entradas<>(i -> fila(i));
+            }
+        };
+    }
+
+    private Map<String, Double> fila(int origen) {
+        return new AbstractMap<>() {
+            @Override
+            public int size() {
+                return n;
+            }
+
+            @Override
+            public Set<Entry<String, Double>> entrySet() {
+                return new Entradas<>(j -> distancias[origen * n + j]);
+            }
+        };
+    }
+
+    private interface ValorPorIndice<V> {
+        V valor(int indice);
+    }
+
+    // Entradas (nombre del nodo i, valor i) para i = 0..n-1, generadas al iterar
+    private final class Entradas<V> extends AbstractSet<Map.Entry<String, V>> {
+        private final ValorPorIndice<V> valores;
+
+        Entradas(ValorPorIndice<V> valores) {
+            this.valores = valores;
+        }
+
+        @Override
+        public int size() {
+            return n;
+        }
+
+        @Override
+        public Iterator<Map.Entry<String, V>> iterator() {
+            return new Iterator<>() {
+                private int siguiente = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return siguiente < n;
+                }
+
+                @Override
+                public Map.Entry<String, V> next() {
+                    if (siguiente >= n) throw new NoSuchElementException();
+                    int i = siguiente++;
+                    return new AbstractMap.SimpleImmutableEntry<>(grafo.nombre(i), valores.valor(i));
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package com.example.uade.TP_Progra3.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+// Recorrido del viajante (TSP) sobre un conjunto de paradas, con costos de camino mínimo entre ellas
+// (clausura métrica): dos paradas sin ruta directa igual se pueden visitar seguidas pasando por otros almacenes,
+// así que el recorrido nunca se queda trabado como el vecino más cercano sobre rutas directas.
+// 1) Matriz de costos entre paradas: un Dijkstra por parada que corta al fijar todas las paradas
+// 2) Recorrido inicial por vecino más cercano
+// 3) Búsqueda local con 2-opt y Or-opt (mover tramos de 1 a 3 paradas), mirando solo los vecinos más cercanos
+//    de cada parada y con "don't look bits": solo se revisan las paradas cuyas rutas cambiaron
+// 4) Varios arranques (distintas paradas iniciales) en paralelo; gana el más barato
+// 5) Camino completo almacén por almacén: un Dijkstra con corte por tramo, en paralelo
+// Todo respeta un presupuesto de tiempo: al vencer se devuelve el mejor recorrido encontrado hasta ahí.
+// El paso 5 cuesta a lo sumo lo que costó la matriz (k búsquedas, ahora con un solo objetivo cada una),
+// así que la búsqueda local termina ese tiempo antes del límite para dejarle lugar.
+public final class RecorridoTsp {
+    // Tope de paradas: la matriz de costos ocupa k² doubles (3000 paradas = 72 MB)
+    public static final int MAXIMO_PARADAS = 3000;
+    // Vecinos más cercanos que se consideran para cada parada en la búsqueda local
+    private static final int VECINOS = 10;
+    private static final int LARGO_MAXIMO_TRAMO = 3;
+    private static final double EPSILON = 1e-9;
+
+    private final int[] recorrido;
+    private final List<String> camino;
+    private final double costo;
+    private final double costoVecinoCercano;
+    private final int arranques;
+
+    private RecorridoTsp(int[] recorrido, List<String> camino, double costo, double costoVecinoCercano, int arranques) {
+        this.recorrido = recorrido;
+        this.camino = camino;
+        this.costo = costo;
+        this.costoVecinoCercano = costoVecinoCercano;
+        this.arranques = arranques;
+    }
+
+    // paradas: ids de nodo sin repetidos, la primera es el depósito (el recorrido empieza y termina ahí)
+    // Todas tienen que estar en la misma componente conexa.
+    // Análisis de Complejidad:
+    // - Matriz de costos: k Dijkstras con corte, O(k (n + m) log n), en paralelo
+    // - Listas de vecinos: O(k² · VECINOS)
+    // - Cada arranque: vecino más cercano O(k²) y búsqueda local hasta un óptimo local o hasta el presupuesto
+    // - Camino completo: k Dijkstras con un objetivo, O(k (n + m) log n) en el peor caso, en paralelo
+    public static RecorridoTsp resolver(GrafoCompacto grafo, int[] paradas, long presupuestoNanos, int intentos) {
+        int k = paradas.length;
+        if (k > MAXIMO_PARADAS) {
+            throw new IllegalArgumentException("Demasiadas paradas para el recorrido: " + k + " (máximo " + MAXIMO_PARADAS + ")");
+        }
+        long comienzo = System.nanoTime();
+
+        double[] costos = matrizCostos(grafo, paradas);
+        // Lo que tardó la matriz se reserva para armar el camino completo al final
+        long limite = comienzo + presupuestoNanos - (System.nanoTime() - comienzo);
+        int[][] vecinos = listasVecinos(costos, k);
+
+        double costoVecinoCercano = costoCiclo(costos, k, vecinoCercano(costos, k, 0));
+        AtomicInteger arranques = new AtomicInteger();
+        // El primer arranque siempre corre (desde el depósito); los demás solo si queda tiempo
+        int[] mejor = IntStream.range(0, Math.max(1, intentos)).parallel()
+                .mapToObj(intento -> {
+                    if (intento > 0 && System.nanoTime() > limite) return null;
+                    arranques.incrementAndGet();
+                    int inicio = intento == 0 ? 0 : new Random(intento).nextInt(k);
+                    int[] ciclo = vecinoCercano(costos, k, inicio);
+                    if (k >= 5) new BusquedaLocal(costos, k, vecinos, ciclo, limite).mejorar();
+                    return ciclo;
+                })
+                .filter(Objects::nonNull)
+                .min(Comparator.comparingDouble(ciclo -> costoCiclo(costos, k, ciclo)))
+                .orElseThrow();
+
+        // Rotar para que empiece en el depósito y pasar a ids de nodo
+        int desplazamiento = 0;
+        while (mejor[desplazamiento] != 0) desplazamiento++;
+        int[] recorrido = new int[k];
+        for (int i = 0; i < k; i++) recorrido[i] = paradas[mejor[(desplazamiento + i) % k]];
+
+        return new RecorridoTsp(recorrido, caminoCompleto(grafo, recorrido), costoCiclo(costos, k, mejor),
+                costoVecinoCercano, arranques.get());
+    }
+
+    // Cada tramo entre paradas seguidas (y la vuelta al depósito) reemplazado por su camino mínimo
+    private static List<String> caminoCompleto(GrafoCompacto grafo, int[] recorrido) {
+        int k = recorrido.length;
+        List<List<String>> tramos = IntStream.range(0, k > 1 ? k : 0).parallel()
+                .mapToObj(i -> {
+                    int hasta = recorrido[(i + 1) % k];
+                    return grafo.arbolDijkstra(recorrido[i], new int[]{hasta}).camino(hasta);
+                })
+                .toList();
+
+        List<String> camino = new ArrayList<>();
+        camino.add(grafo.nombre(recorrido[0]));
+        for (List<String> tramo : tramos) camino.addAll(tramo.subList(1, tramo.size()));
+        return camino;
+    }
+
+    private static double[] matrizCostos(GrafoCompacto grafo, int[] paradas) {
+        int k = paradas.length;
+        double[] costos = new double[k * k];
+        FilasDistancias filas = FilasDistancias.de(grafo, paradas, paradas);
+        IntStream.range(0, k).parallel().forEach(i -> {
+            double[] fila = new double[k];
+            filas.calcularFila(i, fila);
+            System.arraycopy(fila, 0, costos, i * k, k);
+        });
+        return costos;
+    }
+
+    // Los VECINOS paradas más cercanas de cada una, de la más cercana a la más lejana (inserción en un arreglo chico)
+    private static int[][] listasVecinos(double[] costos, int k) {
+        int cantidad = Math.min(VECINOS, k - 1);
+        int[][] vecinos = new int[k][];
+        IntStream.range(0, k).parallel().forEach(i -> {
+            int[] lista = new int[cantidad];
+            int largo = 0;
+            for (int j = 0; j < k; j++) {
+                if (j == i) continue;
+                double costo = costos[i * k + j];
+                if (largo == cantidad && costo >= costos[i * k + lista[largo - 1]]) continue;
+
+                int posicion = largo < cantidad ? largo++ : largo - 1;
+                while (posicion > 0 && costos[i * k + lista[posicion - 1]] > costo) {
+                    lista[posicion] = lista[posicion - 1];
+                    posicion--;
+                }
+                lista[posicion] = j;
+            }
+            vecinos[i] = lista;
+        });
+        return vecinos;
+    }
+
+    private static int[] vecinoCercano(double[] costos, int k, int inicio) {
+        int[] ciclo = new int[k];
+        boolean[] visitada = new boolean[k];
+        ciclo[0] = inicio;
+        visitada[inicio] = true;
+
+        for (int i = 1; i < k; i++) {
+            int actual = ciclo[i - 1];
+            int cercana = -1;
+            for (int j = 0; j < k; j++) {
+                if (!visitada[j] && (cercana == -1 || costos[actual * k + j] < costos[actual * k + cercana])) cercana = j;
+            }
+            ciclo[i] = cercana;
+            visitada[cercana] = true;
+        }
+        return ciclo;
+    }
+
+    private static double costoCiclo(double[] costos, int k, int[] ciclo) {
+        double total = 0.0;
+        for (int i = 0; i < k; i++) total += costos[ciclo[i] * k + ciclo[(i + 1) % k]];
+        return total;
+    }
+
+    // Mejora un ciclo (índices de parada) en el lugar hasta que ninguna parada ofrezca una mejora o venza el plazo
+    private static final class BusquedaLocal {
+        private final double[] costos;
+        private final int k;
+        private final int[][] vecinos;
+        private final int[] ciclo;
+        private final int[] posicion;
+        private final long limite;
+        // Paradas pendientes de revisar (las demás tienen el "don't look bit" prendido): cola circular de k lugares
+        private final int[] pendientes;
+        private final boolean[] enCola;
+        private int cabeza, cantidad;
+
+        BusquedaLocal(double[] costos, int k, int[][] vecinos, int[] ciclo, long limite) {
+            this.costos = costos;
+            this.k = k;
+            this.vecinos = vecinos;
+            this.ciclo = ciclo;
+            this.posicion = new int[k];
+            this.limite = limite;
+            this.pendientes = new int[k];
+            this.enCola = new boolean[k];
+            for (int i = 0; i < k; i++) {
+                posicion[ciclo[i]] = i;
+                encolar(ciclo[i]);
+            }
+        }
+
+        void mejorar() {
+            int iteraciones = 0;
+            while (cantidad > 0) {
+                if ((++iteraciones & 255) == 0 && System.nanoTime() > limite) return;
+
+                int a = pendientes[cabeza];
+                cabeza = (cabeza + 1) % k;
+                cantidad--;
+                enCola[a] = false;
+
+                // Si mejoró, la parada se vuelve a revisar (puede tener otra mejora)
+                if (dosOpt(a) || orOpt(a)) encolar(a);
+            }
+        }
+
+        private void encolar(int parada) {
+            if (enCola[parada]) return;
+            enCola[parada] = true;
+            pendientes[(cabeza + cantidad) % k] = parada;
+            cantidad++;
+        }
+
+        private double costo(int a, int b) {
+            return costos[a * k + b];
+        }
+
+        private int siguiente(int parada) {
+            return ciclo[(posicion[parada] + 1) % k];
+        }
+
+        private int anterior(int parada) {
+            return ciclo[(posicion[parada] - 1 + k) % k];
+        }
+
+        // 2-opt: cambia las rutas (a, b) y (c, e) por (a, c) y (b, e), con b y e del mismo lado (siguiente o anterior)
+        // Solo hace falta mirar las c más cercanas a a que a su vecino actual: si no, (a, c) ya no puede ganar
+        private boolean dosOpt(int a) {
+            for (int lado = 0; lado < 2; lado++) {
+                boolean haciaAdelante = lado == 0;
+                int b = haciaAdelante ? siguiente(a) : anterior(a);
+                double costoAB = costo(a, b);
+
+                for (int c : vecinos[a]) {
+                    double costoAC = costo(a, c);
+                    if (costoAC >= costoAB - EPSILON) break;
+
+                    int e = haciaAdelante ? siguiente(c) : anterior(c);
+                    if (c == b || e == a) continue;
+
+                    double delta = costoAC + costo(b, e) - costoAB - costo(c, e);
+                    if (delta < -EPSILON) {
+                        // Adelante: a b ... c e -> a c ... b e. Atrás: b a ... e c -> b e ... a c
+                        if (haciaAdelante) invertir(posicion[b], posicion[c]);
+                        else invertir(posicion[a], posicion[e]);
+                        encolar(b);
+                        encolar(c);
+                        encolar(e);
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        // Invierte el tramo de posiciones desde..hasta (hacia adelante, dando la vuelta si hace falta)
+        // Si el tramo es más de la mitad del ciclo invierte el resto, que da el mismo ciclo recorrido al revés
+        private void invertir(int desde, int hasta) {
+            int largo = (hasta - desde + k) % k + 1;
+            if (2 * largo > k) {
+                int nuevoDesde = (hasta + 1) % k;
+                hasta = (desde - 1 + k) % k;
+                desde = nuevoDesde;
+                largo = k - largo;
+            }
+            for (int t = 0; t < largo / 2; t++) {
+                int x = ciclo[desde];
+                int y = ciclo[hasta];
+                ciclo[desde] = y;
+                posicion[y] = desde;
+                ciclo[hasta] = x;
+                posicion[x] = hasta;
+                desde = (desde + 1) % k;
+                hasta = (hasta - 1 + k) % k;
+            }
+        }
+
+        // Or-opt: saca un tramo de 1 a 3 paradas que empieza o termina en a y lo reinserta (en cualquier sentido)
+        // junto a una parada cercana a uno de sus extremos
+        private boolean orOpt(int a) {
+            for (int largo = 1; largo <= LARGO_MAXIMO_TRAMO && largo <= k - 3; largo++) {
+                for (int lado = 0; lado < (largo == 1 ? 1 : 2); lado++) {
+                    int primera = lado == 0 ? a : ciclo[(posicion[a] - largo + 1 + k) % k];
+                    int ultima = lado == 0 ? ciclo[(posicion[a] + largo - 1) % k] : a;
+                    int previa = anterior(primera);
+                    int posterior = siguiente(ultima);
+                    double ganancia = costo(previa, primera) + costo(ultima, posterior) - costo(previa, posterior);
+                    if (ganancia <= EPSILON) continue;
+
+                    if (reinsertar(primera, largo, ultima, previa, posterior, primera, ganancia)) return true;
+                    if (largo > 1 && reinsertar(primera, largo, ultima, previa, posterior, ultima, ganancia)) return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean reinsertar(int primera, int largo, int ultima, int previa, int posterior, int extremo, double ganancia) {
+            int otro = extremo == primera ? ultima : primera;
+            int inicioTramo = posicion[primera];
+
+            for (int c : vecinos[extremo]) {
+                if (costo(extremo, c) >= ganancia - EPSILON) break;
+                if ((posicion[c] - inicioTramo + k) % k < largo) continue;
+
+                // Entre c y su siguiente, con extremo pegado a c
+                if (c != previa) {
+                    int d = siguiente(c);
+                    if (ganancia - (costo(c, extremo) + costo(otro, d) - costo(c, d)) > EPSILON) {
+                        mover(inicioTramo, largo, c, extremo == primera);
+                        encolarCambio(primera, ultima, previa, posterior, c, d);
+                        return true;
+                    }
+                }
+                // Entre su anterior y c, con extremo pegado a c
+                if (c != posterior) {
+                    int d = anterior(c);
+                    if (ganancia - (costo(d, otro) + costo(extremo, c) - costo(d, c)) > EPSILON) {
+                        mover(inicioTramo, largo, d, otro == primera);
+                        encolarCambio(primera, ultima, previa, posterior, c, d);
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private void encolarCambio(int primera, int ultima, int previa, int posterior, int c, int d) {
+            encolar(primera);
+            encolar(ultima);
+            encolar(previa);
+            encolar(posterior);
+            encolar(c);
+            encolar(d);
+        }
+
+        // Mueve el tramo que ocupa las posiciones inicio..inicio+largo-1 entre u y su siguiente v
+        // (derecho: u primera ... ultima v; si no, al revés). Corre el bloque más corto de los dos que quedan
+        // entre el tramo y el destino, así no hace falta invertir nada ni cambia el sentido del ciclo.
+        private void mover(int inicio, int largo, int u, boolean derecho) {
+            int[] tramo = new int[largo];
+            for (int t = 0; t < largo; t++) tramo[t] = ciclo[(inicio + t) % k];
+
+            int v = siguiente(u);
+            int adelante = (posicion[u] - (inicio + largo - 1) + k) % k;   // paradas desde la posterior hasta u
+            int atras = (inicio - posicion[v] + k) % k;                      // paradas desde v hasta la previa
+            int destino;
+            if (adelante <= atras) {
+                for (int t = 0; t < adelante; t++) ubicar((inicio + t) % k, ciclo[(inicio + largo + t) % k]);
+                destino = (inicio + adelante) % k;
+            } else {
+                int desdeV = posicion[v];
+                for (int t = atras - 1; t >= 0; t--) ubicar((desdeV + largo + t) % k, ciclo[(desdeV + t) % k]);
+                destino = desdeV;
+            }
+
+            for (int t = 0; t < largo; t++) ubicar((destino + t) % k, derecho ? tramo[t] : tramo[largo - 1 - t]);
+        }
+
+        private void ubicar(int lugar, int parada) {
+            ciclo[lugar] = parada;
+            posicion[parada] = lugar;
+        }
+    }
+
+    // Ids de nodo en el orden de visita, empezando por el depósito (después de la última se vuelve al depósito)
+    public int[] recorrido() {
+        return recorrido;
+    }
+
+    // Recorrido completo almacén por almacén, del depósito al depósito
+    public List<String> camino() {
+        return camino;
+    }
+
+    public double costo() {
+        return costo;
+    }
+
+    // Costo del vecino más cercano desde el depósito, antes de la búsqueda local (para comparar)
+    public double costoVecinoCercano() {
+        return costoVecinoCercano;
+    }
+
+    public int arranques() {
+        return arranques;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.uade.TP_Progra3.graph;
+
+import java.util.List;
+
+// Resultado de una búsqueda punto a punto: el camino, su costo y cuántos nodos tuvo que fijar la búsqueda
+public final class ResultadoCamino {
+    public final List<String> camino;   // null si no hay camino
+    public final double costo;
+    public final int nodosFijados;
+
+    public ResultadoCamino(List<String> camino, double costo, int nodosFijados) {
+        this.camino = camino;
+        this.costo = costo;
+        this.nodosFijados = nodosFijados;
+    }
+}
@@ -6,55 +6,47 @@ import java.util.Set;
 
 // Estructura Union-Find para detectar ciclos en grafos
 // Se usa principalmente en el algoritmo de Kruskal
+// Cada nodo se traduce una vez a un id entero y el trabajo lo hace ConjuntosDisjuntos
+// (búsqueda iterativa y unión por tamaño: no hay recursión que pueda desbordar la pila)
 public class UnionFind {
-    // Mapa que guarda el padre de cada nodo
-    private final Map<String, String> padre = new HashMap<>();
+    // Nombre de cada nodo -> id en conjuntos, y al revés
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final String[] nombres;
+    private final ConjuntosDisjuntos conjuntos;
 
-    // Constructor: cada nodo empieza siendo su propio padre
+    // Constructor: cada nodo empieza siendo su propio conjunto
     public UnionFind(Set<String> nodos) {
+        nombres = new String[nodos.size()];
         for (String nodo : nodos) {
-            padre.put(nodo, nodo);
+            nombres[ids.size()] = nodo;
+            ids.put(nodo, ids.size());
         }
+        conjuntos = new ConjuntosDisjuntos(nombres.length);
     }
 
-    // Busca la raíz del conjunto al que pertenece el nodo
-    // Usa compresión de caminos para optimizar búsquedas futuras
+    // Busca la raíz del conjunto al que pertenece el nodo (null si el nodo no existe)
     public String buscarRaiz(String nodo) {
-        String padreActual = padre.get(nodo);
-        
-        // Si el nodo no existe, retornamos null
-        if (padreActual == null) {
-            return null;
-        }
-        
-        // Si el nodo no es su propio padre, buscar recursivamente
-        if (!padreActual.equals(nodo)) {
-            String raiz = buscarRaiz(padreActual);
-            padre.put(nodo, raiz);  // Comprimir el camino
-            return raiz;
-        }
-        
-        // El nodo es su propio padre (es la raíz)
-        return padreActual;
+        Integer id = ids.get(nodo);
+        return id == null ? null : nombres[conjuntos.buscar(id)];
     }
 
-    // Une dos conjuntos. Retorna true si se unieron, false si ya estaban unidos
+    // Une dos conjuntos. Retorna true si se unieron, false si ya estaban unidos o algún nodo no existe
     public boolean unir(String nodoA, String nodoB) {
-        String raizA = buscarRaiz(nodoA);
-        String raizB = buscarRaiz(nodoB);
-        
-        // Si alguna raíz no existe, no se puede unir
-        if (raizA == null || raizB == null) {
-            return false;
-        }
-        
-        // Si ya tienen la misma raíz, ya están en el mismo conjunto
-        if (raizA.equals(raizB)) {
+        Integer idA = ids.get(nodoA);
+        Integer idB = ids.get(nodoB);
+        if (idA == null || idB == null) {
             return false;
         }
-        
-        // Unir los conjuntos haciendo que una raíz apunte a la otra
-        padre.put(raizA, raizB);
-        return true;
+        return conjuntos.unir(idA, idB);
+    }
+
+    // Cantidad de nodos en el conjunto del nodo (0 si no existe)
+    public int tamanio(String nodo) {
+        Integer id = ids.get(nodo);
+        return id == null ? 0 : conjuntos.tamanio(id);
+    }
+
+    public int cantidadConjuntos() {
+        return conjuntos.cantidadConjuntos();
     }
-}
\ No newline at end of file
+}
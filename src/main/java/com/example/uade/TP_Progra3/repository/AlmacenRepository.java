@@ -7,11 +7,32 @@ import org.springframework.data.neo4j.repository.query.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Mono;
+import java.util.List;
 import java.util.Map;
 
 @Repository
 public interface AlmacenRepository extends ReactiveNeo4jRepository<AlmacenEntity, String> {
 
-       @Query("MATCH (a:Almacen)-[r:RUTA]-(b:Almacen) RETURN {from: a.nombre, to: b.nombre, cost: r.cost} AS edge")
+       // Patrón dirigido: cada relación RUTA llega una sola vez (el patrón sin dirección la devuelve dos veces)
+       // Las bajas lógicas (r.eliminada) no entran en el grafo
+       @Query("MATCH (a:Almacen)-[r:RUTA]->(b:Almacen) WHERE coalesce(r.eliminada, false) = false " +
+              "RETURN {from: a.nombre, to: b.nombre, cost: r.cost} AS edge")
        reactor.core.publisher.Flux<Map<String, Object>> findAllEdges();
+
+       // Rutas modificadas después de una marca (r.actualizado, epoch en ms); las bajas llegan con r.eliminada = true
+       @Query("MATCH (a:Almacen)-[r:RUTA]->(b:Almacen) WHERE r.actualizado > $desde " +
+              "RETURN {from: a.nombre, to: b.nombre, cost: r.cost, removed: coalesce(r.eliminada, false), updated: r.actualizado} AS edge")
+       reactor.core.publisher.Flux<Map<String, Object>> findEdgesUpdatedSince(@Param("desde") long desde);
+
+       // Costos de todas las rutas vivas entre cada par [desde, hasta], en cualquier sentido (puede haber paralelas);
+       // un par sin rutas vivas llega con la lista vacía
+       @Query("UNWIND $pares AS par " +
+              "OPTIONAL MATCH (:Almacen {nombre: par[0]})-[r:RUTA]-(:Almacen {nombre: par[1]}) " +
+              "WHERE coalesce(r.eliminada, false) = false " +
+              "WITH par, [ruta IN collect(r) | ruta.cost] AS costos " +
+              "RETURN {from: par[0], to: par[1], costs: costos} AS edge")
+       reactor.core.publisher.Flux<Map<String, Object>> findLiveCostsBetween(@Param("pares") List<List<String>> pares);
+
+       @Query("MATCH (:Almacen)-[r:RUTA]->(:Almacen) RETURN coalesce(max(r.actualizado), 0)")
+       Mono<Long> findLastEdgeUpdate();
 }
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.example.uade.TP_Progra3.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Cache LRU de respuestas ya calculadas, por (algoritmo, parámetros, versión del grafo)
+// Como cada versión del grafo es inmutable, una respuesta vale mientras la versión siga vigente:
+// al publicarse una versión nueva se descartan las entradas de las anteriores.
+// Se acota por peso (aprox. cantidad de valores de la respuesta) y no por cantidad de entradas,
+// así un árbol de un millón de rutas no ocupa lo mismo que un camino de cinco almacenes.
+// Lo que se guarda es una copia de solo lectura (mapas, listas y conjuntos anidados incluidos): la misma
+// instancia se entrega a todos los requests, así que ninguno puede modificarla para los demás.
+final class CacheResultados {
+    private final long pesoMaximo;
+    // accessOrder = true: recorrer el mapa va del menos usado recientemente al más usado
+    private final LinkedHashMap<Clave, Entrada> entradas = new LinkedHashMap<>(64, 0.75f, true);
+    private long pesoTotal;
+    // Versión más vieja que todavía se guarda (un cálculo que termina después de publicarse otra versión no entra)
+    private long versionMinima;
+
+    private final AtomicLong aciertos = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+    private final AtomicLong desalojos = new AtomicLong();
+
+    CacheResultados(long pesoMaximo) {
+        this.pesoMaximo = pesoMaximo;
+    }
+
+    private static final class Clave {
+        final long version;
+        final String algoritmo;
+        final String parametros;
+
+        Clave(long version, String algoritmo, String parametros) {
+            this.version = version;
+            this.algoritmo = algoritmo;
+            this.parametros = parametros;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Clave otra)) return false;
+            return version == otra.version && algoritmo.equals(otra.algoritmo) && parametros.equals(otra.parametros);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(version, algoritmo, parametros);
+        }
+    }
+
+    private static final class Entrada {
+        final Object valor;
+        final long peso;
+
+        Entrada(Object valor, long peso) {
+            this.valor = valor;
+            this.peso = peso;
+        }
+    }
+
+    // Devuelve la respuesta guardada (contándola como acierto) o null si no está, sin calcular nada
+    // Los fallos los cuenta obtener, que es quien calcula.
+    @SuppressWarnings("unchecked")
+    synchronized <T> T buscar(long version, String algoritmo, String parametros) {
+        Entrada entrada = entradas.get(new Clave(version, algoritmo, parametros));
+        if (entrada == null) return null;
+        aciertos.incrementAndGet();
+        return (T) entrada.valor;
+    }
+
+    // Devuelve la respuesta guardada o la calcula y la guarda (en los dos casos, de solo lectura si entra en el cache)
+    // El cálculo se hace fuera del lock: dos requests simultáneos iguales pueden calcular los dos, pero ninguno espera
+    @SuppressWarnings("unchecked")
+    <T> T obtener(long version, String algoritmo, String parametros, Supplier<T> calculo) {
+        T guardado = buscar(version, algoritmo, parametros);
+        if (guardado != null) return guardado;
+        Clave clave = new Clave(version, algoritmo, parametros);
+
+        fallos.incrementAndGet();
+        T calculado = calculo.get();
+        long peso = peso(calculado);
+        if (peso > pesoMaximo) return calculado;
+        T valor = (T) soloLectura(calculado);
+
+        synchronized (this) {
+            if (version < versionMinima) return valor;
+            Entrada anterior = entradas.put(clave, new Entrada(valor, peso));
+            if (anterior != null) pesoTotal -= anterior.peso;
+            pesoTotal += peso;
+
+            Iterator<Entrada> masViejas = entradas.values().iterator();
+            while (pesoTotal > pesoMaximo && masViejas.hasNext()) {
+                pesoTotal -= masViejas.next().peso;
+                masViejas.remove();
+                desalojos.incrementAndGet();
+            }
+        }
+        return valor;
+    }
+
+    // Descarta todo lo calculado sobre versiones anteriores a version
+    synchronized void descartarAnteriores(long version) {
+        versionMinima = Math.max(versionMinima, version);
+        Iterator<Map.Entry<Clave, Entrada>> iterador = entradas.entrySet().iterator();
+        while (iterador.hasNext()) {
+            Map.Entry<Clave, Entrada> entrada = iterador.next();
+            if (entrada.getKey().version < version) {
+                pesoTotal -= entrada.getValue().peso;
+                iterador.remove();
+            }
+        }
+    }
+
+    synchronized Map<String,Object> estadisticas() {
+        long totalAciertos = aciertos.get();
+        long totalFallos = fallos.get();
+
+        Map<String,Object> estadisticas = new HashMap<>();
+        estadisticas.put("hits", totalAciertos);
+        estadisticas.put("misses", totalFallos);
+        estadisticas.put("hitRate", totalAciertos + totalFallos == 0 ? 0.0 : (double) totalAciertos / (totalAciertos + totalFallos));
+        estadisticas.put("evictions", desalojos.get());
+        estadisticas.put("entries", entradas.size());
+        estadisticas.put("weight", pesoTotal);
+        estadisticas.put("maxWeight", pesoMaximo);
+        return estadisticas;
+    }
+
+    // Copia de solo lectura de mapas, listas y conjuntos, recursiva; los demás valores se comparten tal cual
+    // Se copia (no alcanza con una vista) porque quien calculó todavía tiene referencias a los originales.
+    // Los mapas y conjuntos mantienen el orden de iteración del original, así el JSON no cambia.
+    // Análisis de Complejidad: O(tamaño de la respuesta), una sola vez al guardarla
+    static Object soloLectura(Object valor) {
+        if (valor instanceof Map<?, ?> mapa) {
+            Map<Object, Object> copia = new LinkedHashMap<>(Math.max(16, mapa.size() * 4 / 3 + 1));
+            for (Map.Entry<?, ?> entrada : mapa.entrySet()) copia.put(entrada.getKey(), soloLectura(entrada.getValue()));
+            return Collections.unmodifiableMap(copia);
+        }
+        if (valor instanceof List<?> lista) {
+            List<Object> copia = new ArrayList<>(lista.size());
+            for (Object elemento : lista) copia.add(soloLectura(elemento));
+            return Collections.unmodifiableList(copia);
+        }
+        if (valor instanceof Set<?> conjunto) {
+            Set<Object> copia = new LinkedHashSet<>(Math.max(16, conjunto.size() * 4 / 3 + 1));
+            for (Object elemento : conjunto) copia.add(soloLectura(elemento));
+            return Collections.unmodifiableSet(copia);
+        }
+        return valor;
+    }
+
+    // Peso aproximado: 1 por valor simple, más el de cada elemento de listas y mapas
+    // Análisis de Complejidad: O(tamaño de la respuesta), lo mismo que serializarla una vez
+    static long peso(Object valor) {
+        if (valor instanceof Map<?, ?> mapa) {
+            long peso = 1;
+            for (Object elemento : mapa.values()) peso += peso(elemento);
+            return peso;
+        }
+        if (valor instanceof Collection<?> coleccion) {
+            long peso = 1;
+            for (Object elemento : coleccion) peso += peso(elemento);
+            return peso;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.uade.TP_Progra3.service;
+
+import com.example.uade.TP_Progra3.graph.ArbolDinamico;
+import com.example.uade.TP_Progra3.graph.ComponentesConexas;
+import com.example.uade.TP_Progra3.graph.GrafoCompacto;
+import com.example.uade.TP_Progra3.graph.JerarquiaContraccion;
+import com.example.uade.TP_Progra3.graph.Landmarks;
+
+import java.time.Instant;
+import java.util.Map;
+
+// Foto inmutable del grafo de rutas compartida por todos los requests
+// Se reemplaza entera (nunca se modifica) cada vez que se refresca desde la BD
+public final class GrafoSnapshot {
+    // Faros para la heurística ALT de A*: más faros dan mejores cotas pero cuestan k·n doubles
+    private static final int CANTIDAD_FAROS = 8;
+
+    public final long version;
+    public final GrafoCompacto grafo;
+    public final Instant cargadoEn;
+    // Árboles de caminos mínimos de los orígenes frecuentes, por id de nodo, ya calculados para esta versión
+    public final Map<Integer, ArbolDinamico> arbolesFrecuentes;
+    // Componente conexa de cada almacén: los endpoints de caminos lo consultan antes de buscar
+    public final ComponentesConexas componentes;
+
+    private volatile Landmarks landmarks;
+    private volatile JerarquiaContraccion jerarquia;
+
+    public GrafoSnapshot(long version, GrafoCompacto grafo, Instant cargadoEn, Map<Integer, ArbolDinamico> arbolesFrecuentes,
+                         ComponentesConexas componentes) {
+        this.version = version;
+        this.grafo = grafo;
+        this.cargadoEn = cargadoEn;
+        this.arbolesFrecuentes = arbolesFrecuentes;
+        this.componentes = componentes;
+    }
+
+    // true si los dos almacenes existen y no hay ningún camino entre ellos (O(1), sin recorrer el grafo)
+    public boolean sinCamino(int origen, int destino) {
+        return origen >= 0 && destino >= 0 && !componentes.conectados(origen, destino);
+    }
+
+    // Árbol precalculado para el origen, o null si no es un origen frecuente
+    public ArbolDinamico arbolFrecuente(int origen) {
+        return arbolesFrecuentes.get(origen);
+    }
+
+    // Los faros se calculan recién la primera vez que un request usa A* sobre esta versión
+    public Landmarks landmarks() {
+        Landmarks actuales = landmarks;
+        if (actuales == null) {
+            synchronized (this) {
+                if (landmarks == null) landmarks = Landmarks.calcular(grafo, CANTIDAD_FAROS);
+                actuales = landmarks;
+            }
+        }
+        return actuales;
+    }
+
+    // La jerarquía de contracción se arma una sola vez por versión (la primera consulta que la pida,
+    // o en segundo plano al publicar si está habilitado el precálculo)
+    public JerarquiaContraccion jerarquia() {
+        JerarquiaContraccion actual = jerarquia;
+        if (actual == null) {
+            synchronized (this) {
+                if (jerarquia == null) jerarquia = JerarquiaContraccion.construir(grafo);
+                actual = jerarquia;
+            }
+        }
+        return actual;
+    }
+
+    // Jerarquía ya construida, o null si todavía nadie la pidió (no dispara la construcción)
+    public JerarquiaContraccion jerarquiaSiExiste() {
+        return jerarquia;
+    }
+}
@@ -1,61 +1,804 @@
 package com.example.uade.TP_Progra3.service;
 
+import com.example.uade.TP_Progra3.graph.ArbolCaminos;
+import com.example.uade.TP_Progra3.graph.ArchivoGrafo;
+import com.example.uade.TP_Progra3.graph.ArbolComponente;
+import com.example.uade.TP_Progra3.graph.ArbolDinamico;
+import com.example.uade.TP_Progra3.graph.ArbolGeneradorMinimo;
 import com.example.uade.TP_Progra3.graph.Arista;
-import com.example.uade.TP_Progra3.graph.Graph;
+import com.example.uade.TP_Progra3.graph.BusquedaProfundidad;
+import com.example.uade.TP_Progra3.graph.CaminosAlternativos;
+import com.example.uade.TP_Progra3.graph.CaminosPuntoAPunto;
+import com.example.uade.TP_Progra3.graph.CambioRuta;
+import com.example.uade.TP_Progra3.graph.ComponentesConexas;
+import com.example.uade.TP_Progra3.graph.ConstructorGrafo;
+import com.example.uade.TP_Progra3.graph.FilasDistancias;
+import com.example.uade.TP_Progra3.graph.GrafoCompacto;
+import com.example.uade.TP_Progra3.graph.JerarquiaContraccion;
+import com.example.uade.TP_Progra3.graph.RecorridoTsp;
+import com.example.uade.TP_Progra3.graph.ResultadoCamino;
+import com.example.uade.TP_Progra3.repository.AlmacenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 @Service
 public class LogisticaService {
 
-    // Construir grafo desde lista de aristas de la BD
-    public Graph construirGrafoDesdeAristas(List<Map<String,Object>> aristas) {
-        Graph grafo = new Graph();
-        for (Map<String,Object> arista : aristas) {
-            Object origen = arista.get("from");
-            Object destino = arista.get("to");
-            Object costo = arista.get("cost");
-            
-            if (origen == null || destino == null) continue;
-            
-            String nodoA = origen.toString();
-            String nodoB = destino.toString();
-            double peso = 1.0;
-            
-            if (costo != null) {
-                try { 
-                    peso = Double.parseDouble(costo.toString()); 
-                } catch (NumberFormatException ex) { 
-                    peso = 1.0; 
-                }
+    private static final Logger log = LoggerFactory.getLogger(LogisticaService.class);
+    // Tope de k para /alternativas: cada camino extra cuesta hasta una búsqueda por nodo del camino anterior
+    private static final int MAXIMO_ALTERNATIVAS = 20;
+    private static final Set<String> MODOS_DIJKSTRA = Set.of("clasico", "bidireccional", "astar", "jerarquia");
+    private static final Set<String> MODOS_KRUSKAL = Set.of("clasico", "boruvka");
+
+    private final AlmacenRepository almacenRepository;
+    // Si está activo, cada snapshot nuevo arma su jerarquía de contracción en segundo plano al publicarse
+    private final boolean precalcularJerarquia;
+    // Si está activo, cada tanto se piden a la BD solo las rutas modificadas (r.actualizado) y se aplican sobre el snapshot
+    private final boolean deltaHabilitado;
+    // Orígenes más consultados (depósitos): cada snapshot trae su árbol de caminos mínimos listo,
+    // que se repara en lugar de recalcularse cuando solo cambian costos
+    private final List<String> origenesFrecuentes;
+    // Tiempo por defecto para mejorar un recorrido de /tsp (ms)
+    private final long presupuestoTspMs;
+    // Respuestas ya calculadas sobre la versión vigente (árboles, ordenamientos, caminos frecuentes)
+    private final CacheResultados cache;
+    // Tiempos por fase y por algoritmo, contadores de las búsquedas y tamaño del grafo (Micrometer)
+    private final MetricasLogistica metricas;
+    // Copia binaria del grafo (null si no se configuró): se lee al arrancar y se reescribe con cada versión nueva
+    private final Path archivo;
+    // Si está activo el grafo sale solo del archivo, sin consultar la BD
+    private final boolean soloArchivo;
+    private final Object bloqueoArchivo = new Object();
+    private long versionGuardada;
+    // CRC del archivo y versión con que se publicó su contenido por última vez (null si nunca se leyó)
+    private volatile PublicadoDesdeArchivo publicadoDesdeArchivo;
+
+    private static final class PublicadoDesdeArchivo {
+        final long crc;
+        final long version;
+
+        PublicadoDesdeArchivo(long crc, long version) {
+            this.crc = crc;
+            this.version = version;
+        }
+    }
+
+    // Snapshot vigente del grafo: se carga una sola vez y se reemplaza atómicamente al refrescar
+    private final AtomicReference<GrafoSnapshot> snapshot = new AtomicReference<>();
+    // Carga en curso (si hay una), para que requests concurrentes no disparen varias lecturas de la BD
+    private final AtomicReference<Mono<GrafoSnapshot>> cargaEnCurso = new AtomicReference<>();
+    private final AtomicLong ultimaVersion = new AtomicLong();
+    // Mayor r.actualizado ya reflejado en el snapshot vigente
+    private final AtomicLong marcaDelta = new AtomicLong();
+
+    public LogisticaService(AlmacenRepository almacenRepository,
+                            MeterRegistry registroMetricas,
+                            @Value("${logistica.jerarquia.habilitada:false}") boolean precalcularJerarquia,
+                            @Value("${logistica.grafo.delta.habilitado:false}") boolean deltaHabilitado,
+                            @Value("${logistica.origenes-frecuentes:}") String[] origenesFrecuentes,
+                            @Value("${logistica.tsp.presupuesto-ms:1000}") long presupuestoTspMs,
+                            @Value("${logistica.cache.peso-maximo:500000}") long pesoMaximoCache,
+                            @Value("${logistica.grafo.archivo:}") String archivo,
+                            @Value("${logistica.grafo.solo-archivo:false}") boolean soloArchivo) {
+        this.almacenRepository = almacenRepository;
+        this.precalcularJerarquia = precalcularJerarquia;
+        this.deltaHabilitado = deltaHabilitado;
+        this.origenesFrecuentes = Arrays.stream(origenesFrecuentes).map(String::trim).filter(o -> !o.isEmpty()).toList();
+        this.presupuestoTspMs = presupuestoTspMs;
+        this.cache = new CacheResultados(pesoMaximoCache);
+        this.metricas = new MetricasLogistica(registroMetricas, snapshot);
+        this.archivo = archivo.isBlank() ? null : Path.of(archivo.trim());
+        this.soloArchivo = soloArchivo;
+        if (soloArchivo && this.archivo == null) {
+            throw new IllegalStateException("logistica.grafo.solo-archivo requiere logistica.grafo.archivo");
+        }
+    }
+
+    // Corre el cálculo de un endpoint fuera del hilo del request y registra su tiempo en logistica.algoritmo
+    public <T> Mono<T> calcular(String algoritmo, Supplier<T> calculo) {
+        return Mono.fromSupplier(() -> metricas.medirAlgoritmo(algoritmo, calculo))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // Como calcular, pero primero busca la respuesta en el cache: un acierto se entrega en el mismo hilo y solo suma
+    // a logistica.cache.aciertos, así logistica.algoritmo mide únicamente los cálculos reales
+    private <T> Mono<T> calcularConCache(String algoritmo, GrafoSnapshot actual, String parametros, Supplier<T> calculo) {
+        T guardado = cache.buscar(actual.version, algoritmo, parametros);
+        if (guardado != null) {
+            metricas.aciertoCache(algoritmo);
+            return Mono.just(guardado);
+        }
+        return calcular(algoritmo, () -> cache.obtener(actual.version, algoritmo, parametros, calculo));
+    }
+
+    // Devuelve el snapshot vigente; solo va a la BD si todavía no se cargó nunca
+    public Mono<GrafoSnapshot> obtenerSnapshot() {
+        GrafoSnapshot actual = snapshot.get();
+        if (actual != null) return Mono.just(actual);
+        return refrescarGrafo();
+    }
+
+    // Con archivo configurado se arranca desde él (milisegundos, sin esperar a la BD) y después se relee
+    // la BD en segundo plano; si el archivo falta o está dañado se carga directamente desde la BD
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarAlIniciar() {
+        if (archivo == null) return;
+        Mono<GrafoSnapshot> inicial = Files.exists(archivo) ? cargar(cargarDesdeArchivo()) : Mono.empty();
+        inicial.onErrorResume(error -> {
+                    log.warn("No se pudo leer el grafo de {}", archivo, error);
+                    return Mono.empty();
+                })
+                .then(Mono.defer(() -> soloArchivo ? Mono.<GrafoSnapshot>empty() : refrescarGrafo()))
+                .subscribe(
+                        nuevo -> log.info("Grafo cargado desde la BD: version {} con {} almacenes", nuevo.version, nuevo.grafo.cantidadNodos()),
+                        error -> log.warn("No se pudo cargar el grafo desde la BD, se mantiene la version {}", versionActual(), error));
+    }
+
+    // Relee todas las aristas de la BD (o el archivo, si logistica.grafo.solo-archivo), construye un grafo nuevo
+    // y lo publica con una versión nueva.
+    // Los requests que ya tomaron el snapshot anterior terminan con él; los siguientes ven el nuevo.
+    public Mono<GrafoSnapshot> refrescarGrafo() {
+        return cargar(soloArchivo ? cargarDesdeArchivo() : cargarDesdeBd());
+    }
+
+    private Mono<GrafoSnapshot> cargar(Mono<GrafoSnapshot> lectura) {
+        Mono<GrafoSnapshot> enCurso = cargaEnCurso.get();
+        if (enCurso != null) return enCurso;
+
+        // Se libera antes de avisar el resultado (doOnTerminate, no doFinally): quien encadena otra carga
+        // al terminar esta (cargarAlIniciar) tiene que encontrar el lugar libre, no esta misma carga ya resuelta
+        Mono<GrafoSnapshot> carga = lectura
+                .doOnTerminate(() -> cargaEnCurso.set(null))
+                .cache();
+
+        if (cargaEnCurso.compareAndSet(null, carga)) return carga;
+
+        // Otro hilo ganó la carrera: reutilizar su carga (o el snapshot, si ya terminó)
+        enCurso = cargaEnCurso.get();
+        return enCurso != null ? enCurso : obtenerSnapshot();
+    }
+
+    private Mono<GrafoSnapshot> cargarDesdeBd() {
+        // La marca se lee antes que las aristas: lo modificado en el medio se vuelve a aplicar en el próximo delta
+        Mono<Long> marca = deltaHabilitado ? almacenRepository.findLastEdgeUpdate().defaultIfEmpty(0L) : Mono.just(0L);
+        return marca
+                .flatMap(desde -> construirGrafo(almacenRepository.findAllEdges())
+                        .publishOn(Schedulers.boundedElastic())
+                        .map(grafo -> {
+                            GrafoSnapshot nuevo = publicarLeido(grafo);
+                            marcaDelta.set(desde);
+                            guardarEnSegundoPlano(nuevo);
+                            return nuevo;
+                        }));
+    }
+
+    private Mono<GrafoSnapshot> cargarDesdeArchivo() {
+        return Mono.fromCallable(() -> {
+                    // Archivo sin cambios desde que se publicó y esa versión sigue vigente: no se relee ni se publica,
+                    // así un refresco programado en modo solo-archivo no invalida el cache de respuestas
+                    PublicadoDesdeArchivo anterior = publicadoDesdeArchivo;
+                    GrafoSnapshot vigente = snapshot.get();
+                    if (anterior != null && vigente != null && vigente.version == anterior.version
+                            && ArchivoGrafo.leerCrc(archivo) == anterior.crc) {
+                        return vigente;
+                    }
+
+                    Timer.Sample lectura = Timer.start();
+                    ArchivoGrafo leido = ArchivoGrafo.leer(archivo);
+                    lectura.stop(metricas.fase("archivo"));
+                    GrafoSnapshot nuevo = publicarLeido(leido.grafo);
+                    publicadoDesdeArchivo = new PublicadoDesdeArchivo(leido.crc, nuevo.version);
+                    log.info("Grafo cargado desde {} (version {} guardada el {}): version {} con {} almacenes", archivo,
+                            leido.version, Instant.ofEpochMilli(leido.guardadoEn), nuevo.version, nuevo.grafo.cantidadNodos());
+                    return nuevo;
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // Grafo recién leído: se calculan sus índices (árboles frecuentes y componentes) y se publica
+    private GrafoSnapshot publicarLeido(GrafoCompacto grafo) {
+        Timer.Sample indices = Timer.start();
+        Map<Integer, ArbolDinamico> arboles = calcularArbolesFrecuentes(grafo);
+        ComponentesConexas componentes = ComponentesConexas.calcular(grafo);
+        indices.stop(metricas.fase("indices"));
+        return publicar(grafo, arboles, componentes);
+    }
+
+    // Guarda una versión nueva en el archivo sin demorar a quien la publicó
+    private void guardarEnSegundoPlano(GrafoSnapshot nuevo) {
+        if (archivo == null) return;
+        Mono.fromCallable(() -> guardarArchivo(nuevo, false))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(
+                        bytes -> log.debug("Grafo version {} guardado en {} ({} bytes)", nuevo.version, archivo, bytes),
+                        error -> log.warn("No se pudo guardar el grafo version {} en {}", nuevo.version, archivo, error));
+    }
+
+    // De a una escritura por vez; sin forzar, una versión más vieja que la ya guardada no pisa el archivo
+    private long guardarArchivo(GrafoSnapshot actual, boolean forzar) throws IOException {
+        synchronized (bloqueoArchivo) {
+            if (!forzar && actual.version <= versionGuardada) return 0;
+            Timer.Sample escritura = Timer.start();
+            long bytes = ArchivoGrafo.escribir(actual.grafo, actual.version, archivo);
+            escritura.stop(metricas.fase("guardar_archivo"));
+            versionGuardada = Math.max(versionGuardada, actual.version);
+            return bytes;
+        }
+    }
+
+    // Escribe ya la versión vigente en el archivo configurado
+    public Map<String,Object> guardarSnapshot(GrafoSnapshot actual) {
+        if (archivo == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "no hay archivo configurado (logistica.grafo.archivo)");
+        }
+        long comienzo = System.nanoTime();
+        long bytes;
+        try {
+            bytes = guardarArchivo(actual, true);
+        } catch (IOException ex) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "no se pudo guardar el grafo en " + archivo, ex);
+        }
+
+        Map<String,Object> respuesta = new HashMap<>();
+        respuesta.put("file", archivo.toString());
+        respuesta.put("version", actual.version);
+        respuesta.put("bytes", bytes);
+        respuesta.put("elapsedMs", (System.nanoTime() - comienzo) / 1_000_000);
+        return respuesta;
+    }
+
+    // Refresco periódico en segundo plano; si la BD falla se sigue sirviendo el snapshot anterior
+    @Scheduled(initialDelayString = "${logistica.grafo.refresco-ms:300000}",
+               fixedDelayString = "${logistica.grafo.refresco-ms:300000}")
+    public void refrescoProgramado() {
+        refrescarGrafo().subscribe(
+                nuevo -> log.info("Grafo refrescado: version {} con {} almacenes", nuevo.version, nuevo.grafo.cantidadNodos()),
+                error -> log.warn("No se pudo refrescar el grafo, se mantiene la version {}", versionActual(), error));
+    }
+
+    // Aplica cambios de rutas sobre el snapshot vigente y publica una versión nueva, sin releer toda la BD
+    // (para avisar cambios que ya se hicieron en Neo4j, por ejemplo costos actualizados por tráfico)
+    public Mono<GrafoSnapshot> aplicarCambios(List<CambioRuta> cambios) {
+        return obtenerSnapshot()
+                .publishOn(Schedulers.boundedElastic())
+                .map(actual -> publicarCambios(cambios));
+    }
+
+    // Trae de la BD solo las rutas modificadas desde la última marca y las aplica.
+    // El grafo guarda una sola ruta por par y en la BD puede haber paralelas: por eso cada par tocado se vuelve
+    // a consultar entero y queda con la más barata de sus rutas vivas, o se quita si ya no le queda ninguna.
+    // Análisis de Complejidad:
+    // - Pares distintos tocados: O(f) [f = filas del delta]
+    // - Una consulta para todos los pares y cambios sobre el snapshot: O(p · grado) o O(n + m) si hay bajas
+    public Mono<GrafoSnapshot> aplicarDelta() {
+        long desde = marcaDelta.get();
+        return almacenRepository.findEdgesUpdatedSince(desde)
+                .collectList()
+                .flatMap(filas -> {
+                    if (filas.isEmpty()) return Mono.justOrEmpty(snapshot.get());
+
+                    // Cada par una sola vez, con los nombres ordenados (las dos direcciones son la misma ruta)
+                    Set<List<String>> pares = new LinkedHashSet<>();
+                    long maxima = desde;
+                    for (Map<String,Object> fila : filas) {
+                        if (fila.get("updated") instanceof Number marcaFila) maxima = Math.max(maxima, marcaFila.longValue());
+                        Object origen = fila.get("from");
+                        Object destino = fila.get("to");
+                        if (origen == null || destino == null) continue;
+
+                        String a = origen.toString();
+                        String b = destino.toString();
+                        pares.add(a.compareTo(b) <= 0 ? List.of(a, b) : List.of(b, a));
+                    }
+                    long marca = maxima;
+                    if (pares.isEmpty()) {
+                        marcaDelta.accumulateAndGet(marca, Math::max);
+                        return Mono.justOrEmpty(snapshot.get());
+                    }
+
+                    return almacenRepository.findLiveCostsBetween(new ArrayList<>(pares))
+                            .collectList()
+                            .publishOn(Schedulers.boundedElastic())
+                            .map(vivas -> {
+                                GrafoSnapshot nuevo = publicarCambios(cambiosPorPar(vivas));
+                                marcaDelta.accumulateAndGet(marca, Math::max);
+                                return nuevo;
+                            });
+                });
+    }
+
+    // Un cambio por par: la ruta viva más barata como costo, o la baja si no le queda ninguna
+    private static List<CambioRuta> cambiosPorPar(List<Map<String,Object>> vivas) {
+        List<CambioRuta> cambios = new ArrayList<>(vivas.size());
+        for (Map<String,Object> par : vivas) {
+            String origen = par.get("from").toString();
+            String destino = par.get("to").toString();
+            double minimo = Double.POSITIVE_INFINITY;
+            if (par.get("costs") instanceof Collection<?> costos) {
+                for (Object costo : costos) minimo = Math.min(minimo, costo(costo));
             }
-            
-            grafo.agregarArista(nodoA, nodoB, peso);
+            cambios.add(minimo == Double.POSITIVE_INFINITY
+                    ? CambioRuta.quitar(origen, destino)
+                    : CambioRuta.actualizar(origen, destino, minimo));
         }
-        return grafo;
+        return cambios;
     }
 
-    public Map<String,Object> dijkstraFromEdges(List<Map<String,Object>> aristas, String desde, String hasta) {
-        Graph grafo = construirGrafoDesdeAristas(aristas);
-        List<String> camino = grafo.dijkstra(desde, hasta);
-        
+    @Scheduled(initialDelayString = "${logistica.grafo.delta-ms:30000}",
+               fixedDelayString = "${logistica.grafo.delta-ms:30000}")
+    public void deltaProgramado() {
+        // Sin snapshot todavía no hay sobre qué aplicar: la primera carga completa ya trae todo
+        if (!deltaHabilitado || soloArchivo || snapshot.get() == null) return;
+        aplicarDelta().subscribe(
+                nuevo -> log.debug("Delta de rutas aplicado: version {}", nuevo.version),
+                error -> log.warn("No se pudo aplicar el delta de rutas, se mantiene la version {}", versionActual(), error));
+    }
+
+    // Lee el snapshot vigente y publica el siguiente dentro del mismo lock, para no perder cambios concurrentes
+    private synchronized GrafoSnapshot publicarCambios(List<CambioRuta> cambios) {
+        Timer.Sample muestra = Timer.start();
+        GrafoSnapshot actual = snapshot.get();
+        GrafoCompacto grafo = actual.grafo.conCambios(cambios);
+        // Si solo cambiaron costos las componentes son las mismas: se reutiliza el índice anterior
+        boolean mismaEstructura = grafo.comparteEstructura(actual.grafo);
+        GrafoSnapshot nuevo = publicar(grafo,
+                mismaEstructura ? repararArbolesFrecuentes(actual, grafo, cambios) : calcularArbolesFrecuentes(grafo),
+                mismaEstructura ? actual.componentes : ComponentesConexas.calcular(grafo));
+        muestra.stop(metricas.fase("cambios"));
+        guardarEnSegundoPlano(nuevo);
+        log.debug("{} cambios de rutas aplicados: version {} -> {}", cambios.size(), actual.version, nuevo.version);
+        return nuevo;
+    }
+
+    private Map<Integer, ArbolDinamico> calcularArbolesFrecuentes(GrafoCompacto grafo) {
+        Map<Integer, ArbolDinamico> arboles = new HashMap<>();
+        for (String origen : origenesFrecuentes) {
+            int id = grafo.id(origen);
+            if (id >= 0) arboles.put(id, ArbolDinamico.calcular(grafo, id));
+        }
+        return arboles;
+    }
+
+    // Solo cambiaron costos: cada árbol se repara a partir del de la versión anterior
+    private Map<Integer, ArbolDinamico> repararArbolesFrecuentes(GrafoSnapshot anterior, GrafoCompacto grafo, List<CambioRuta> cambios) {
+        int[] extremosA = cambios.stream().mapToInt(cambio -> grafo.id(cambio.desde)).toArray();
+        int[] extremosB = cambios.stream().mapToInt(cambio -> grafo.id(cambio.hasta)).toArray();
+
+        Map<Integer, ArbolDinamico> arboles = new HashMap<>();
+        for (Map.Entry<Integer, ArbolDinamico> entrada : anterior.arbolesFrecuentes.entrySet()) {
+            ArbolDinamico reparado = entrada.getValue().reparado(grafo, extremosA, extremosB);
+            log.debug("Arbol de {} reparado: {} nodos recalculados", grafo.nombre(entrada.getKey()), reparado.nodosReparados());
+            arboles.put(entrada.getKey(), reparado);
+        }
+        return arboles;
+    }
+
+    // Cambios recibidos por la API: {"type": "add|remove|update|removeNode", "from", "to", "cost"}
+    public List<CambioRuta> leerCambios(List<Map<String,Object>> cuerpo) {
+        List<CambioRuta> cambios = new ArrayList<>(cuerpo.size());
+        for (Map<String,Object> item : cuerpo) {
+            Object tipo = item.get("type");
+            Object origen = item.get("from");
+            Object destino = item.get("to");
+            if (tipo == null || origen == null || (destino == null && !"removeNode".equals(tipo))) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "cambio incompleto: " + item);
+            }
+
+            cambios.add(switch (tipo.toString()) {
+                case "add" -> CambioRuta.agregar(origen.toString(), destino.toString(), costo(item.get("cost")));
+                case "remove" -> CambioRuta.quitar(origen.toString(), destino.toString());
+                case "update" -> CambioRuta.actualizar(origen.toString(), destino.toString(), costo(item.get("cost")));
+                case "removeNode" -> CambioRuta.quitarNodo(origen.toString());
+                default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "tipo de cambio desconocido: " + tipo + " (usar add, remove, update o removeNode)");
+            });
+        }
+        return cambios;
+    }
+
+    public Map<String,Object> infoSnapshot(GrafoSnapshot actual) {
         Map<String,Object> respuesta = new HashMap<>();
-        if (camino == null) {
+        respuesta.put("version", actual.version);
+        respuesta.put("loadedAt", actual.cargadoEn.toString());
+        respuesta.put("nodes", actual.grafo.cantidadNodos());
+        respuesta.put("edges", actual.grafo.cantidadAristas());
+        respuesta.put("hotOrigins", actual.arbolesFrecuentes.keySet().stream().map(actual.grafo::nombre).sorted().toList());
+        respuesta.put("components", actual.componentes.cantidadComponentes());
+        return respuesta;
+    }
+
+    // Componentes conexas de la versión vigente, de la más grande a la más chica
+    // conNodos = false devuelve solo los tamaños (para redes grandes, sin listar cada almacén)
+    public Map<String,Object> componentes(GrafoSnapshot actual, boolean conNodos) {
+        ComponentesConexas componentes = actual.componentes;
+        List<Map<String,Object>> lista = new ArrayList<>(componentes.cantidadComponentes());
+        for (int c = 0; c < componentes.cantidadComponentes(); c++) {
+            Map<String,Object> componente = new HashMap<>();
+            componente.put("id", c);
+            componente.put("size", componentes.tamanio(c));
+            if (conNodos) {
+                componente.put("nodes", Arrays.stream(componentes.nodos(c)).mapToObj(actual.grafo::nombre).toList());
+            }
+            lista.add(componente);
+        }
+        lista.sort(Comparator.comparingInt((Map<String,Object> componente) -> (Integer) componente.get("size")).reversed());
+
+        Map<String,Object> respuesta = new HashMap<>();
+        respuesta.put("version", actual.version);
+        respuesta.put("componentsCount", componentes.cantidadComponentes());
+        respuesta.put("largestSize", componentes.tamanioMaximo());
+        respuesta.put("components", lista);
+        return respuesta;
+    }
+
+    public Map<String,Object> conectados(GrafoSnapshot actual, String desde, String hasta) {
+        int origen = actual.grafo.id(desde);
+        int destino = actual.grafo.id(hasta);
+
+        Map<String,Object> respuesta = new HashMap<>();
+        respuesta.put("from", desde);
+        respuesta.put("to", hasta);
+        respuesta.put("connected", origen >= 0 && destino >= 0 && actual.componentes.conectados(origen, destino));
+        respuesta.put("fromComponent", origen >= 0 ? actual.componentes.componente(origen) : null);
+        respuesta.put("toComponent", destino >= 0 ? actual.componentes.componente(destino) : null);
+        return respuesta;
+    }
+
+    // Estado de la jerarquía de contracción de la versión vigente (no la construye si no existe)
+    public Map<String,Object> infoJerarquia(GrafoSnapshot actual) {
+        Map<String,Object> respuesta = new HashMap<>();
+        JerarquiaContraccion jerarquia = actual.jerarquiaSiExiste();
+        respuesta.put("version", actual.version);
+        respuesta.put("built", jerarquia != null);
+        if (jerarquia != null) {
+            respuesta.put("buildMs", jerarquia.milisegundosConstruccion());
+            respuesta.put("shortcuts", jerarquia.cantidadAtajos());
+            respuesta.put("memoryBytes", jerarquia.bytesOcupados());
+        }
+        return respuesta;
+    }
+
+    public Map<String,Object> infoCache() {
+        Map<String,Object> respuesta = cache.estadisticas();
+        respuesta.put("version", versionActual());
+        return respuesta;
+    }
+
+    private GrafoSnapshot publicar(GrafoCompacto grafo, Map<Integer, ArbolDinamico> arbolesFrecuentes,
+                                   ComponentesConexas componentes) {
+        GrafoSnapshot nuevo = new GrafoSnapshot(ultimaVersion.incrementAndGet(), grafo, Instant.now(),
+                arbolesFrecuentes, componentes);
+        snapshot.set(nuevo);
+        cache.descartarAnteriores(nuevo.version);
+        if (precalcularJerarquia) {
+            Mono.fromCallable(nuevo::jerarquia)
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .subscribe(
+                            ch -> log.info("Jerarquia de contraccion lista para la version {}: {} atajos en {} ms",
+                                    nuevo.version, ch.cantidadAtajos(), ch.milisegundosConstruccion()),
+                            error -> log.warn("No se pudo construir la jerarquia de la version {}", nuevo.version, error));
+        }
+        return nuevo;
+    }
+
+    private long versionActual() {
+        GrafoSnapshot actual = snapshot.get();
+        return actual == null ? 0 : actual.version;
+    }
+
+    // Construir el grafo a medida que llegan las aristas de la BD, sin juntarlas antes en una lista
+    // Cada ruta se agrega una sola vez aunque venga repetida (A->B y B->A, o rutas paralelas):
+    // entre dos almacenes queda la de menor costo
+    // Análisis de Complejidad:
+    // - Una búsqueda en tabla hash por fila: O(filas)
+    // - Armar el CSR al final: O(n + m)
+    // La lectura de la BD y el armado del CSR se miden por separado (logistica.grafo.carga)
+    public Mono<GrafoCompacto> construirGrafo(Flux<Map<String,Object>> aristas) {
+        return Mono.defer(() -> {
+            Timer.Sample lectura = Timer.start();
+            return aristas
+                    .collect(ConstructorGrafo::new, (constructor, arista) -> {
+                        Object origen = arista.get("from");
+                        Object destino = arista.get("to");
+                        if (origen == null || destino == null) return;
+                        constructor.agregarRuta(origen.toString(), destino.toString(), costo(arista.get("cost")));
+                    })
+                    .doOnNext(constructor -> lectura.stop(metricas.fase("lectura_bd")))
+                    .map(constructor -> metricas.fase("construccion").record(constructor::construir));
+        });
+    }
+
+    // Costo de una ruta tal como viene de la BD o del body; 1.0 si falta o no es un número
+    private static double costo(Object costo) {
+        if (costo == null) return 1.0;
+        // El driver ya entrega Long o Double: no hace falta pasar por String
+        if (costo instanceof Number numero) return numero.doubleValue();
+        try { 
+            return Double.parseDouble(costo.toString()); 
+        } catch (NumberFormatException ex) { 
+            return 1.0; 
+        }
+    }
+
+    // modo elige el motor: "clasico" (Dijkstra), "bidireccional", "astar" (A* con faros ALT) o
+    // "jerarquia" (jerarquía de contracción); todos devuelven el mismo costo, cambia cuántos nodos fijan (settledNodes)
+    // El grafo es no dirigido: A->B y B->A comparten la entrada del cache. Si la respuesta guardada se calculó en el
+    // otro sentido se devuelve el camino invertido con settledNodes 0 (no se fijó ningún nodo para contestarla)
+    public Mono<Map<String,Object>> dijkstra(GrafoSnapshot actual, String desde, String hasta, String modo) {
+        // El modo se valida antes de armar la clave: uno inválido no cuenta como fallo del cache
+        if (!MODOS_DIJKSTRA.contains(modo)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "modo desconocido: " + modo + " (usar clasico, bidireccional, astar o jerarquia)");
+        }
+        return calcularConCache("dijkstra", actual, modo + "|" + claveDePar(desde, hasta),
+                () -> calcularDijkstra(actual, desde, hasta, modo))
+                .map(respuesta -> orientada(respuesta, desde));
+    }
+
+    // Par sin orden con el largo del primer nombre adelante, así un "|" dentro de un nombre no puede confundir dos pares
+    private static String claveDePar(String desde, String hasta) {
+        String primero = String.valueOf(desde);
+        String segundo = String.valueOf(hasta);
+        if (primero.compareTo(segundo) > 0) {
+            String otro = primero;
+            primero = segundo;
+            segundo = otro;
+        }
+        return primero.length() + ":" + primero + "|" + segundo;
+    }
+
+    // La respuesta guardada arranca en el origen de quien la calculó: si no es desde, se da vuelta en una copia
+    private static Map<String,Object> orientada(Map<String,Object> respuesta, String desde) {
+        List<?> camino = (List<?>) respuesta.get("path");
+        if (camino.isEmpty() || camino.get(0).equals(desde)) return respuesta;
+
+        List<Object> invertido = new ArrayList<>(camino);
+        Collections.reverse(invertido);
+        Map<String,Object> copia = new HashMap<>(respuesta);
+        copia.put("path", invertido);
+        copia.put("settledNodes", 0);
+        return copia;
+    }
+
+    private Map<String,Object> calcularDijkstra(GrafoSnapshot actual, String desde, String hasta, String modo) {
+        GrafoCompacto grafo = actual.grafo;
+        int origen = grafo.id(desde);
+        int destino = grafo.id(hasta);
+
+        Map<String,Object> respuesta = new HashMap<>();
+        if (origen < 0 || destino < 0) {
             respuesta.put("path", new ArrayList<>());
             respuesta.put("totalCost", Double.POSITIVE_INFINITY);
             return respuesta;
         }
-        
-        double costoTotal = grafo.calcularCosto(camino);
-        respuesta.put("path", camino);
-        respuesta.put("totalCost", costoTotal);
+        // En componentes distintas no hay camino: se contesta sin buscar (cualquier motor exploraría toda la componente)
+        if (actual.sinCamino(origen, destino)) {
+            respuesta.put("path", new ArrayList<>());
+            respuesta.put("totalCost", Double.POSITIVE_INFINITY);
+            respuesta.put("settledNodes", 0);
+            return respuesta;
+        }
+
+        ResultadoCamino resultado;
+        switch (modo) {
+            case "clasico" -> {
+                // Desde o hacia un origen frecuente el camino sale del árbol ya calculado (0 nodos fijados);
+                // hacia él es el camino del árbol hasta el origen, dado vuelta
+                ArbolDinamico frecuente = actual.arbolFrecuente(origen);
+                ArbolDinamico haciaFrecuente = frecuente == null ? actual.arbolFrecuente(destino) : null;
+                if (frecuente != null) {
+                    resultado = new ResultadoCamino(frecuente.camino(destino), frecuente.distancia(destino), 0);
+                } else if (haciaFrecuente != null) {
+                    List<String> camino = haciaFrecuente.camino(origen);
+                    if (camino != null) {
+                        camino = new ArrayList<>(camino);
+                        Collections.reverse(camino);
+                    }
+                    resultado = new ResultadoCamino(camino, haciaFrecuente.distancia(origen), 0);
+                } else {
+                    ArbolCaminos arbol = grafo.arbolDijkstra(origen, new int[]{destino});
+                    resultado = new ResultadoCamino(arbol.camino(destino), arbol.distancia(destino), arbol.cantidadFijados());
+                }
+            }
+            case "bidireccional" -> resultado = CaminosPuntoAPunto.dijkstraBidireccional(grafo, origen, destino);
+            case "astar" -> resultado = CaminosPuntoAPunto.aEstrella(grafo, origen, destino, actual.landmarks());
+            case "jerarquia" -> resultado = actual.jerarquia().consultar(origen, destino);
+            default -> throw new IllegalStateException("modo no validado: " + modo);
+        }
+
+        respuesta.put("path", resultado.camino == null ? new ArrayList<>() : resultado.camino);
+        respuesta.put("totalCost", resultado.costo);
+        respuesta.put("settledNodes", resultado.nodosFijados);
+        return respuesta;
+    }
+
+    // Hasta k caminos distintos sin ciclos de desde a hasta, del más barato al más caro (Yen), sin pasar por
+    // los almacenes de evitar; reemplaza repetir /dijkstra excluyendo a mano las rutas bloqueadas
+    public Map<String,Object> alternativas(GrafoSnapshot actual, String desde, String hasta, int k, List<String> evitar) {
+        if (k < 1 || k > MAXIMO_ALTERNATIVAS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "k debe estar entre 1 y " + MAXIMO_ALTERNATIVAS);
+        }
+        GrafoCompacto grafo = actual.grafo;
+        int[] extremos = idsAlmacenes(grafo, List.of(desde, hasta));
+        boolean[] excluidos = new boolean[grafo.cantidadNodos()];
+        if (evitar != null) {
+            for (int id : idsAlmacenes(grafo, evitar)) excluidos[id] = true;
+        }
+        if (excluidos[extremos[0]] || excluidos[extremos[1]]) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "el origen y el destino no pueden estar en avoid");
+        }
+
+        List<ResultadoCamino> caminos = actual.sinCamino(extremos[0], extremos[1]) ? List.of()
+                : CaminosAlternativos.yen(grafo, extremos[0], extremos[1], k, excluidos);
+
+        List<Map<String,Object>> lista = new ArrayList<>(caminos.size());
+        for (ResultadoCamino camino : caminos) {
+            Map<String,Object> item = new HashMap<>();
+            item.put("path", camino.camino);
+            item.put("totalCost", camino.costo);
+            lista.add(item);
+        }
+
+        Map<String,Object> respuesta = new HashMap<>();
+        respuesta.put("from", desde);
+        respuesta.put("to", hasta);
+        respuesta.put("paths", lista);
+        respuesta.put("found", lista.size());
         return respuesta;
     }
 
-    public Map<String,Object> kruskalFromEdges(List<Map<String,Object>> aristas) {
-        Graph grafo = construirGrafoDesdeAristas(aristas);
-        List<Arista> mst = grafo.kruskalMST();
+    // Muchos pares (from, to) contra el mismo snapshot
+    // Los pares con el mismo origen comparten un único árbol de Dijkstra, que corta cuando se fijaron
+    // todos sus destinos (o el árbol ya calculado, si es un origen frecuente); cada origen se resuelve
+    // en paralelo y sus resultados salen apenas terminan
+    public Flux<Map<String,Object>> dijkstraLote(GrafoSnapshot actual, List<Map<String,String>> pares) {
+        Map<String, List<String>> destinosPorOrigen = new LinkedHashMap<>();
+        for (Map<String,String> par : pares) {
+            destinosPorOrigen.computeIfAbsent(par.get("from"), k -> new ArrayList<>()).add(par.get("to"));
+        }
+
+        return Flux.fromIterable(destinosPorOrigen.entrySet())
+                .parallel()
+                .runOn(Schedulers.parallel())
+                .flatMap(grupo -> Flux.fromIterable(metricas.medirAlgoritmo("dijkstra_lote",
+                        () -> resolverDesdeOrigen(actual, grupo.getKey(), grupo.getValue()))))
+                .sequential();
+    }
+
+    private List<Map<String,Object>> resolverDesdeOrigen(GrafoSnapshot actual, String desde, List<String> hastas) {
+        GrafoCompacto grafo = actual.grafo;
+        int origen = grafo.id(desde);
+        ArbolDinamico frecuente = origen >= 0 ? actual.arbolFrecuente(origen) : null;
+        ArbolCaminos arbol = null;
+
+        if (origen >= 0 && frecuente == null) {
+            // Los destinos de otra componente no entran: el árbol corta apenas fija los alcanzables
+            int[] objetivos = hastas.stream().mapToInt(grafo::id)
+                    .filter(id -> id >= 0 && !actual.sinCamino(origen, id)).toArray();
+            if (objetivos.length > 0) arbol = grafo.arbolDijkstra(origen, objetivos);
+        }
+
+        List<Map<String,Object>> resultados = new ArrayList<>(hastas.size());
+        for (String hasta : hastas) {
+            int destino = grafo.id(hasta);
+            List<String> camino = null;
+            double costo = Double.POSITIVE_INFINITY;
+            // Destino en otra componente: queda sin camino sin haberlo buscado
+            boolean alcanzable = destino >= 0 && !actual.sinCamino(origen, destino);
+            if (alcanzable && frecuente != null) {
+                camino = frecuente.camino(destino);
+                costo = frecuente.distancia(destino);
+            } else if (alcanzable && arbol != null) {
+                camino = arbol.camino(destino);
+                costo = arbol.distancia(destino);
+            }
+
+            Map<String,Object> respuesta = new HashMap<>();
+            respuesta.put("from", desde);
+            respuesta.put("to", hasta);
+            respuesta.put("path", camino == null ? new ArrayList<>() : camino);
+            respuesta.put("totalCost", camino == null ? Double.POSITIVE_INFINITY : costo);
+            // Un par mal armado no corta el lote (como un 400 en /dijkstra): se informa solo en su línea
+            String error = errorDelPar(desde, origen, hasta, destino);
+            if (error != null) respuesta.put("error", error);
+            resultados.add(respuesta);
+        }
+        return resultados;
+    }
+
+    private static String errorDelPar(String desde, int origen, String hasta, int destino) {
+        if (desde == null || hasta == null) return "el par necesita from y to";
+        if (origen < 0) return "almacén inexistente: " + desde;
+        if (destino < 0) return "almacén inexistente: " + hasta;
+        return null;
+    }
+
+    // Distancias desde un origen a todos los almacenes (o solo a los de hastas), hasta un costo máximo opcional
+    // Se calcula un único árbol y se emite un elemento por almacén en orden creciente de costo,
+    // sin armar un Map con todo el resultado; previous permite reconstruir cada camino
+    public Flux<Map<String,Object>> distanciasDesde(GrafoSnapshot actual, String desde, Double costoMaximo, List<String> hastas) {
+        GrafoCompacto grafo = actual.grafo;
+        int origen = grafo.id(desde);
+        if (origen < 0) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "almacén inexistente: " + desde);
+
+        int[] objetivos = hastas == null ? null : hastas.stream().mapToInt(grafo::id).filter(id -> id >= 0).distinct().toArray();
+        double limite = costoMaximo == null ? Double.POSITIVE_INFINITY : costoMaximo;
+
+        // Los destinos de otra componente no se esperan en la búsqueda: salen al final como no alcanzados
+        int[] buscados = objetivos == null ? null
+                : Arrays.stream(objetivos).filter(id -> !actual.sinCamino(origen, id)).toArray();
+        if (buscados != null && buscados.length == 0) {
+            return Flux.fromStream(Arrays.stream(objetivos).boxed()).map(destino -> distancia(grafo, null, destino));
+        }
+
+        return calcular("distancias", () -> grafo.arbolDijkstra(origen, buscados, limite))
+                .flatMapMany(arbol -> {
+                    Flux<Integer> alcanzados = Flux.range(0, arbol.cantidadFijados()).map(arbol::fijado);
+                    if (objetivos == null) return alcanzados.map(destino -> distancia(grafo, arbol, destino));
+
+                    // Con subconjunto de destinos se informan solo esos, y al final los que no se alcanzaron
+                    Set<Integer> pedidos = new HashSet<>();
+                    for (int objetivo : objetivos) pedidos.add(objetivo);
+                    Flux<Integer> noAlcanzados = Flux.fromIterable(pedidos)
+                            .filter(objetivo -> !arbol.alcanzado(objetivo) || arbol.distancia(objetivo) > limite);
+                    return alcanzados.filter(pedidos::contains)
+                            .map(destino -> distancia(grafo, arbol, destino))
+                            .concatWith(noAlcanzados.map(destino -> distancia(grafo, null, destino)));
+                });
+    }
+
+    // arbol == null indica un destino que no se alcanzó (o que cuesta más que el máximo pedido)
+    private Map<String,Object> distancia(GrafoCompacto grafo, ArbolCaminos arbol, int destino) {
+        int previo = arbol == null ? -1 : arbol.anterior(destino);
+
+        Map<String,Object> respuesta = new HashMap<>();
+        respuesta.put("to", grafo.nombre(destino));
+        respuesta.put("totalCost", arbol == null ? Double.POSITIVE_INFINITY : arbol.distancia(destino));
+        respuesta.put("previous", previo == -1 ? null : grafo.nombre(previo));
+        return respuesta;
+    }
+
+    public Mono<Map<String,Object>> kruskal(GrafoSnapshot actual, String modo) {
+        if (!MODOS_KRUSKAL.contains(modo)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "modo desconocido: " + modo + " (usar clasico o boruvka)");
+        }
+        return calcularConCache("kruskal", actual, modo, () -> kruskal(actual.grafo, modo));
+    }
+
+    // modo elige el motor: "clasico" (Kruskal secuencial) o "boruvka" (Borůvka paralelo, para redes grandes);
+    // ambos dan el mismo costo total
+    public Map<String,Object> kruskal(GrafoCompacto grafo, String modo) {
+        List<Arista> mst = switch (modo) {
+            case "clasico" -> grafo.kruskalMST();
+            case "boruvka" -> ArbolGeneradorMinimo.boruvka(grafo);
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "modo desconocido: " + modo + " (usar clasico o boruvka)");
+        };
         
         List<Map<String,Object>> aristasResultado = new ArrayList<>();
         Set<String> nodosConectados = new HashSet<>();
@@ -81,8 +824,16 @@ public class LogisticaService {
         return respuesta;
     }
 
-    public Map<String,Object> primFromEdges(List<Map<String,Object>> aristas, String inicio) {
-        Graph grafo = construirGrafoDesdeAristas(aristas);
+    // Sin inicio la clave es vacía; con inicio lleva un prefijo, así un almacén llamado "null" o "" no la comparte
+    private static String claveDeInicio(String inicio) {
+        return inicio == null ? "" : "inicio:" + inicio;
+    }
+
+    public Mono<Map<String,Object>> prim(GrafoSnapshot actual, String inicio) {
+        return calcularConCache("prim", actual, claveDeInicio(inicio), () -> prim(actual.grafo, inicio));
+    }
+
+    public Map<String,Object> prim(GrafoCompacto grafo, String inicio) {
         List<Arista> mst = grafo.primMST(inicio);
         
         List<Map<String,Object>> aristasResultado = new ArrayList<>();
@@ -106,16 +857,57 @@ public class LogisticaService {
         respuesta.put("totalCost", costoTotal);
         respuesta.put("nodesCovered", nodosConectados);
         respuesta.put("edgesCount", aristasResultado.size());
+        // Prim solo cubre la componente del inicio: si el grafo no es conexo se avisa en vez de devolver un árbol parcial callado
+        respuesta.put("spanning", grafo.cantidadNodos() <= 1 || nodosConectados.size() == grafo.cantidadNodos());
         return respuesta;
     }
 
-    public Map<String,Object> greedyFromEdges(List<Map<String,Object>> aristas, String inicio) {
-        Graph grafo = construirGrafoDesdeAristas(aristas);
+    public Mono<Map<String,Object>> bosque(GrafoSnapshot actual) {
+        return calcularConCache("prim_bosque", actual, "", () -> bosque(actual.grafo));
+    }
+
+    // Bosque generador mínimo: un árbol por componente conexa, cada uno con su costo
+    public Map<String,Object> bosque(GrafoCompacto grafo) {
+        List<ArbolComponente> arboles = ArbolGeneradorMinimo.bosquePrim(grafo);
+
+        List<Map<String,Object>> componentes = new ArrayList<>(arboles.size());
+        double costoTotal = 0.0;
+        for (ArbolComponente arbol : arboles) {
+            List<Map<String,Object>> aristas = new ArrayList<>(arbol.aristas.size());
+            for (Arista arista : arbol.aristas) {
+                Map<String,Object> aristaMap = new HashMap<>();
+                aristaMap.put("from", arista.origen);
+                aristaMap.put("to", arista.destino);
+                aristaMap.put("cost", arista.peso);
+                aristas.add(aristaMap);
+            }
+
+            Map<String,Object> componente = new HashMap<>();
+            componente.put("root", arbol.raiz);
+            componente.put("nodes", arbol.cantidadNodos);
+            componente.put("edges", aristas);
+            componente.put("totalCost", arbol.costoTotal);
+            componentes.add(componente);
+            costoTotal += arbol.costoTotal;
+        }
+
+        Map<String,Object> respuesta = new HashMap<>();
+        respuesta.put("components", componentes);
+        respuesta.put("componentsCount", componentes.size());
+        respuesta.put("totalCost", costoTotal);
+        return respuesta;
+    }
+
+    public Mono<Map<String,Object>> greedy(GrafoSnapshot actual, String inicio) {
+        return calcularConCache("greedy", actual, claveDeInicio(inicio), () -> greedy(actual.grafo, inicio));
+    }
+
+    public Map<String,Object> greedy(GrafoCompacto grafo, String inicio) {
         List<String> camino = grafo.tspVecinoCercano(inicio);
         
         Map<String,Object> respuesta = new HashMap<>();
         double costoTotal = grafo.calcularCosto(camino);
-        boolean todosVisitados = (camino.size() == grafo.getNodos().size());
+        boolean todosVisitados = (camino.size() == grafo.cantidadNodos());
         
         respuesta.put("path", camino);
         respuesta.put("totalCost", costoTotal);
@@ -123,14 +915,127 @@ public class LogisticaService {
         return respuesta;
     }
 
-    public Map<String,Object> floydFromEdges(List<Map<String,Object>> aristas) {
-        Graph grafo = construirGrafoDesdeAristas(aristas);
-        return grafo.floydWarshall();
+    // Recorrido que sale de inicio, pasa por todas las paradas (o por todos los almacenes de su componente si
+    // no se indican) y vuelve a inicio. Usa costos de camino mínimo entre paradas, así que path puede pasar
+    // por almacenes intermedios; las paradas de otra componente se informan en unreachable.
+    public Map<String,Object> tsp(GrafoSnapshot actual, String inicio, List<String> paradas, Long presupuestoMs, Integer intentos) {
+        GrafoCompacto grafo = actual.grafo;
+        ComponentesConexas componentes = actual.componentes;
+        int deposito = idsAlmacenes(grafo, List.of(inicio))[0];
+        if (presupuestoMs != null && presupuestoMs <= 0) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "timeMs debe ser positivo");
+        if (intentos != null && intentos <= 0) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "starts debe ser positivo");
+
+        // Sin paradas (o con stops vacío) se visitan todos los almacenes conectados al depósito
+        int[] elegidas = idsAlmacenes(grafo, paradas);
+        int[] candidatas = elegidas == null ? componentes.nodos(componentes.componente(deposito)) : elegidas;
+        // El depósito va primero y sin repetir; las paradas sin camino desde el depósito quedan afuera
+        LinkedHashSet<Integer> alcanzables = new LinkedHashSet<>();
+        List<String> inalcanzables = new ArrayList<>();
+        alcanzables.add(deposito);
+        for (int parada : candidatas) {
+            if (componentes.conectados(deposito, parada)) alcanzables.add(parada);
+            else inalcanzables.add(grafo.nombre(parada));
+        }
+        int[] ids = alcanzables.stream().mapToInt(Integer::intValue).toArray();
+
+        long comienzo = System.nanoTime();
+        RecorridoTsp recorrido;
+        try {
+            recorrido = RecorridoTsp.resolver(grafo, ids,
+                    TimeUnit.MILLISECONDS.toNanos(presupuestoMs == null ? presupuestoTspMs : presupuestoMs),
+                    intentos == null ? Runtime.getRuntime().availableProcessors() : intentos);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+
+        Map<String,Object> respuesta = new HashMap<>();
+        respuesta.put("tour", Arrays.stream(recorrido.recorrido()).mapToObj(grafo::nombre).toList());
+        respuesta.put("path", recorrido.camino());
+        respuesta.put("totalCost", recorrido.costo());
+        respuesta.put("nearestNeighborCost", recorrido.costoVecinoCercano());
+        respuesta.put("starts", recorrido.arranques());
+        respuesta.put("elapsedMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - comienzo));
+        respuesta.put("unreachable", inalcanzables);
+        respuesta.put("allStopsVisited", inalcanzables.isEmpty());
+        return respuesta;
+    }
+
+    public Map<String,Object> floyd(GrafoCompacto grafo) {
+        try {
+            return grafo.floydWarshall();
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    // Matriz de todos los pares (o la submatriz desde x hasta) de a una fila por elemento
+    // Cada fila se calcula recién cuando el cliente pide la siguiente, así nunca hay más de una fila boxeada en memoria
+    public Flux<Map<String,Object>> filasDistancias(GrafoCompacto grafo, List<String> desde, List<String> hasta) {
+        return Flux.defer(() -> {
+                    FilasDistancias filas = submatrizDistancias(grafo, desde, hasta);
+                    double[] valores = new double[filas.cantidadColumnas()];
+                    return Flux.range(0, filas.cantidadFilas()).map(i -> {
+                        filas.calcularFila(i, valores);
+                        Map<String,Double> costos = new LinkedHashMap<>();
+                        for (int j = 0; j < valores.length; j++) costos.put(filas.nombreColumna(j), valores[j]);
+
+                        Map<String,Object> fila = new HashMap<>();
+                        fila.put("from", filas.nombreFila(i));
+                        fila.put("costs", costos);
+                        return fila;
+                    });
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // Misma submatriz en binario (big-endian, como DataOutputStream):
+    // "DIST", int versión (1), int filas, int columnas, nombres de filas y de columnas (writeUTF),
+    // y después filas x columnas doubles fila por fila (Infinity = inalcanzable)
+    public void escribirDistanciasBinario(GrafoCompacto grafo, List<String> desde, List<String> hasta,
+                                          OutputStream salida) throws IOException {
+        FilasDistancias filas = submatrizDistancias(grafo, desde, hasta);
+        DataOutputStream datos = new DataOutputStream(new BufferedOutputStream(salida, 1 << 16));
+
+        datos.writeBytes("DIST");
+        datos.writeInt(1);
+        datos.writeInt(filas.cantidadFilas());
+        datos.writeInt(filas.cantidadColumnas());
+        for (int i = 0; i < filas.cantidadFilas(); i++) datos.writeUTF(filas.nombreFila(i));
+        for (int j = 0; j < filas.cantidadColumnas(); j++) datos.writeUTF(filas.nombreColumna(j));
+
+        double[] valores = new double[filas.cantidadColumnas()];
+        for (int i = 0; i < filas.cantidadFilas(); i++) {
+            filas.calcularFila(i, valores);
+            for (double valor : valores) datos.writeDouble(valor);
+        }
+        datos.flush();
+    }
+
+    private FilasDistancias submatrizDistancias(GrafoCompacto grafo, List<String> desde, List<String> hasta) {
+        try {
+            return FilasDistancias.de(grafo, idsAlmacenes(grafo, desde), idsAlmacenes(grafo, hasta));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    // null o lista vacía = todos los almacenes
+    private int[] idsAlmacenes(GrafoCompacto grafo, List<String> nombres) {
+        if (nombres == null || nombres.isEmpty()) return null;
+        int[] ids = new int[nombres.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = grafo.id(nombres.get(i));
+            if (ids[i] < 0) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "almacén inexistente: " + nombres.get(i));
+        }
+        return ids;
     }
 
-    public Map<String,Object> bfsFromEdges(List<Map<String,Object>> aristas, String desde, String hasta) {
-        Graph grafo = construirGrafoDesdeAristas(aristas);
-        List<String> camino = grafo.bfs(desde, hasta);
+    // maxSaltos == null no limita la cantidad de rutas del camino
+    public Map<String,Object> bfs(GrafoSnapshot actual, String desde, String hasta, Integer maxSaltos) {
+        GrafoCompacto grafo = actual.grafo;
+        // Entre componentes distintas no se recorre nada: el recorrido agotaría toda la componente del origen
+        List<String> camino = actual.sinCamino(grafo.id(desde), grafo.id(hasta)) ? null
+                : grafo.bfs(desde, hasta, saltosMaximos(maxSaltos));
         
         Map<String,Object> respuesta = new HashMap<>();
         if (camino == null) {
@@ -146,14 +1051,63 @@ public class LogisticaService {
         respuesta.put("from", desde);
         respuesta.put("to", hasta);
         respuesta.put("path", camino);
+        respuesta.put("hops", camino.size() - 1);
         respuesta.put("totalCost", costoTotal);
         respuesta.put("found", true);
         return respuesta;
     }
 
-    public Map<String,Object> dfsFromEdges(List<Map<String,Object>> aristas, String desde, String hasta) {
-        Graph grafo = construirGrafoDesdeAristas(aristas);
-        List<String> camino = grafo.dfs(desde, hasta);
+    // Almacén de hastas más cercano (en cantidad de rutas) a cualquiera de los de desde: un único BFS que
+    // arranca de todos los orígenes a la vez, en lugar de un BFS por origen
+    public Map<String,Object> bfsCercano(GrafoSnapshot actual, List<String> desde, List<String> hastas, Integer maxSaltos) {
+        GrafoCompacto grafo = actual.grafo;
+        int[] origenes = idsAlmacenes(grafo, desde);
+        int[] objetivos = idsAlmacenes(grafo, hastas);
+        if (origenes == null || objetivos == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from y to necesitan al menos un almacén");
+        }
+        int limite = saltosMaximos(maxSaltos);
+
+        // Solo cuentan los destinos que comparten componente con algún origen; si no queda ninguno no se busca
+        boolean[] componenteConOrigen = new boolean[actual.componentes.cantidadComponentes()];
+        for (int origen : origenes) componenteConOrigen[actual.componentes.componente(origen)] = true;
+        int[] alcanzables = Arrays.stream(objetivos)
+                .filter(objetivo -> componenteConOrigen[actual.componentes.componente(objetivo)]).toArray();
+
+        // El motor de BFS es prestado: el camino se arma antes de devolverlo
+        Map<String,Object> respuesta = alcanzables.length == 0 ? null : grafo.conBusquedaAmplitud(busqueda -> {
+            int encontrado = busqueda.buscar(origenes, alcanzables, limite);
+            if (encontrado == -1) return null;
+
+            List<String> camino = busqueda.camino(encontrado);
+            Map<String,Object> cercano = new HashMap<>();
+            cercano.put("found", true);
+            cercano.put("from", camino.get(0));
+            cercano.put("to", grafo.nombre(encontrado));
+            cercano.put("path", camino);
+            cercano.put("hops", busqueda.saltos());
+            cercano.put("totalCost", grafo.calcularCosto(camino));
+            return cercano;
+        });
+        if (respuesta != null) return respuesta;
+
+        respuesta = new HashMap<>();
+        respuesta.put("found", false);
+        respuesta.put("path", new ArrayList<>());
+        respuesta.put("totalCost", Double.POSITIVE_INFINITY);
+        return respuesta;
+    }
+
+    private static int saltosMaximos(Integer maxSaltos) {
+        if (maxSaltos == null) return Integer.MAX_VALUE;
+        if (maxSaltos < 0) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "maxHops no puede ser negativo");
+        return maxSaltos;
+    }
+
+    public Map<String,Object> dfs(GrafoSnapshot actual, String desde, String hasta) {
+        GrafoCompacto grafo = actual.grafo;
+        // Entre componentes distintas no se recorre nada: el recorrido agotaría toda la componente del origen
+        List<String> camino = actual.sinCamino(grafo.id(desde), grafo.id(hasta)) ? null : grafo.dfs(desde, hasta);
         
         Map<String,Object> respuesta = new HashMap<>();
         if (camino == null) {
@@ -174,8 +1128,50 @@ public class LogisticaService {
         return respuesta;
     }
 
-    public List<Map<String, Object>> sortNodesByDegreeFromEdges(List<Map<String, Object>> aristas) {
-        Graph grafo = construirGrafoDesdeAristas(aristas);
+    // Preorden y postorden del DFS desde un almacén (solo su componente)
+    public Map<String,Object> ordenDfs(GrafoCompacto grafo, String desde) {
+        int origen = grafo.id(desde);
+        if (origen < 0) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "almacén inexistente: " + desde);
+
+        BusquedaProfundidad recorrido = BusquedaProfundidad.recorrer(grafo, origen);
+        Map<String,Object> respuesta = new HashMap<>();
+        respuesta.put("from", desde);
+        respuesta.put("preorder", recorrido.nombresEnPreorden());
+        respuesta.put("postorder", recorrido.nombresEnPostorden());
+        return respuesta;
+    }
+
+    // Almacenes (puntos de articulación) y rutas (puentes) cuya baja parte la red, en una sola pasada de DFS
+    public Mono<Map<String,Object>> criticos(GrafoSnapshot actual) {
+        return calcularConCache("dfs_criticos", actual, "", () -> criticos(actual.grafo));
+    }
+
+    public Map<String,Object> criticos(GrafoCompacto grafo) {
+        BusquedaProfundidad recorrido = BusquedaProfundidad.recorrer(grafo);
+
+        List<String> articulaciones = Arrays.stream(recorrido.puntosArticulacion()).mapToObj(grafo::nombre).toList();
+        List<Map<String,Object>> puentes = new ArrayList<>(recorrido.puentes().size());
+        for (Arista puente : recorrido.puentes()) {
+            Map<String,Object> aristaMap = new HashMap<>();
+            aristaMap.put("from", puente.origen);
+            aristaMap.put("to", puente.destino);
+            aristaMap.put("cost", puente.peso);
+            puentes.add(aristaMap);
+        }
+
+        Map<String,Object> respuesta = new HashMap<>();
+        respuesta.put("articulationPoints", articulaciones);
+        respuesta.put("bridges", puentes);
+        respuesta.put("articulationPointsCount", articulaciones.size());
+        respuesta.put("bridgesCount", puentes.size());
+        return respuesta;
+    }
+
+    public Mono<List<Map<String, Object>>> sortNodesByDegree(GrafoSnapshot actual) {
+        return calcularConCache("divide_venceras", actual, "", () -> sortNodesByDegree(actual.grafo));
+    }
+
+    public List<Map<String, Object>> sortNodesByDegree(GrafoCompacto grafo) {
         return grafo.ordenarPorGrado();
     }
 }
@@ -0,0 +1,96 @@
+package com.example.uade.TP_Progra3.service;
+
+import com.example.uade.TP_Progra3.graph.EstadisticasBusqueda;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+// Métricas de Micrometer de los endpoints de logística (ver /actuator/prometheus)
+// - logistica.grafo.carga{fase}: cada etapa de publicar una versión del grafo
+//   (lectura_bd: leer las rutas de Neo4j armando el grafo a medida que llegan, construccion: el CSR,
+//   indices: componentes y árboles frecuentes, cambios: aplicar cambios sobre la versión vigente,
+//   archivo: leer la copia binaria (ArchivoGrafo), guardar_archivo: escribirla)
+// - logistica.algoritmo{algoritmo}: solo el cálculo de cada endpoint, sin esperar el snapshot ni serializar;
+//   las respuestas que salen del cache no pasan por este timer (sus percentiles serían los de leer un mapa)
+// - logistica.cache.aciertos{algoritmo}: respuestas entregadas desde CacheResultados sin calcular
+// - logistica.serializacion{uri}: escribir la respuesta en JSON (ver config.MetricasConfig)
+// - logistica.busqueda.*{busqueda}: trabajo acumulado de las búsquedas con heap (EstadisticasBusqueda)
+// - logistica.grafo.nodos / aristas / componentes / version: tamaño de la versión vigente
+// Medir cuesta dos lecturas de System.nanoTime y un par de sumas atómicas: se puede dejar siempre activo.
+// Los histogramas (para percentiles en Prometheus) se habilitan en application.properties.
+final class MetricasLogistica {
+    private final MeterRegistry registro;
+    // Un Timer por nombre, para no armar el id (nombre + tags) del meter en cada request
+    private final Map<String, Timer> algoritmos = new ConcurrentHashMap<>();
+    private final Map<String, Timer> fases = new ConcurrentHashMap<>();
+    private final Map<String, Counter> aciertosCache = new ConcurrentHashMap<>();
+
+    MetricasLogistica(MeterRegistry registro, AtomicReference<GrafoSnapshot> snapshot) {
+        this.registro = registro;
+
+        medidaDelGrafo("logistica.grafo.nodos", "Almacenes de la versión vigente", snapshot, actual -> actual.grafo.cantidadNodos());
+        medidaDelGrafo("logistica.grafo.aristas", "Rutas de la versión vigente", snapshot, actual -> actual.grafo.cantidadAristas());
+        medidaDelGrafo("logistica.grafo.componentes", "Componentes conexas de la versión vigente", snapshot,
+                actual -> actual.componentes.cantidadComponentes());
+        medidaDelGrafo("logistica.grafo.version", "Versión vigente del grafo", snapshot, actual -> actual.version);
+
+        for (EstadisticasBusqueda busqueda : EstadisticasBusqueda.TODAS) {
+            contador("logistica.busqueda.cantidad", "Búsquedas hechas", busqueda, EstadisticasBusqueda::busquedas);
+            contador("logistica.busqueda.nodos.fijados", "Nodos sacados del heap con su distancia definitiva", busqueda,
+                    EstadisticasBusqueda::nodosFijados);
+            contador("logistica.busqueda.heap.inserciones", "Nodos insertados en el heap", busqueda,
+                    EstadisticasBusqueda::insercionesHeap);
+            contador("logistica.busqueda.aristas.relajadas", "Rutas que mejoraron la distancia de un vecino", busqueda,
+                    EstadisticasBusqueda::aristasRelajadas);
+        }
+    }
+
+    private void medidaDelGrafo(String nombre, String descripcion, AtomicReference<GrafoSnapshot> snapshot,
+                                ToDoubleFunction<GrafoSnapshot> valor) {
+        Gauge.builder(nombre, snapshot, referencia -> {
+                    GrafoSnapshot actual = referencia.get();
+                    return actual == null ? 0 : valor.applyAsDouble(actual);
+                })
+                .description(descripcion)
+                .register(registro);
+    }
+
+    private void contador(String nombre, String descripcion, EstadisticasBusqueda busqueda,
+                          ToLongFunction<EstadisticasBusqueda> valor) {
+        FunctionCounter.builder(nombre, busqueda, b -> valor.applyAsLong(b))
+                .description(descripcion)
+                .tag("busqueda", busqueda.nombre())
+                .register(registro);
+    }
+
+    Timer fase(String fase) {
+        return fases.computeIfAbsent(fase, nombre -> Timer.builder("logistica.grafo.carga")
+                .description("Etapas de la publicación de una versión del grafo")
+                .tag("fase", nombre)
+                .register(registro));
+    }
+
+    <T> T medirAlgoritmo(String algoritmo, Supplier<T> calculo) {
+        Timer timer = algoritmos.computeIfAbsent(algoritmo, nombre -> Timer.builder("logistica.algoritmo")
+                .description("Cálculo de cada endpoint sobre el snapshot, sin serializar la respuesta")
+                .tag("algoritmo", nombre)
+                .register(registro));
+        return timer.record(calculo);
+    }
+
+    void aciertoCache(String algoritmo) {
+        aciertosCache.computeIfAbsent(algoritmo, nombre -> Counter.builder("logistica.cache.aciertos")
+                .description("Respuestas entregadas desde el cache, sin calcular")
+                .tag("algoritmo", nombre)
+                .register(registro)).increment();
+    }
+}
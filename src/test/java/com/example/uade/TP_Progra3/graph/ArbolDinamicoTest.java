@@ -0,0 +1,67 @@
+package com.example.uade.TP_Progra3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static com.example.uade.TP_Progra3.graph.GrafosDePrueba.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Árbol de caminos mínimos que se repara ante cambios de costo en lugar de recalcularse
+class ArbolDinamicoTest {
+
+    @Test
+    void rutaDelArbolEncarecidaReubicaElSubarbolSinTocarLaCopiaAnterior() {
+        // A - B - C - D barato, A - D caro: el árbol desde A cuelga C y D de B
+        Graph grafo = new Graph();
+        grafo.agregarArista("A", "B", 1);
+        grafo.agregarArista("B", "C", 1);
+        grafo.agregarArista("C", "D", 1);
+        grafo.agregarArista("A", "D", 10);
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+        ArbolDinamico arbol = ArbolDinamico.calcular(compacto, compacto.id("A"));
+        assertEquals(List.of("A", "B", "C", "D"), arbol.camino(compacto.id("D")));
+
+        GrafoCompacto nuevo = compacto.conCambios(List.of(CambioRuta.actualizar("B", "C", 20)));
+        ArbolDinamico reparado = arbol.reparado(nuevo, new int[]{nuevo.id("B")}, new int[]{nuevo.id("C")});
+
+        assertEquals(List.of("A", "D"), reparado.camino(nuevo.id("D")));
+        assertEquals(List.of("A", "D", "C"), reparado.camino(nuevo.id("C")));
+        assertEquals(11.0, reparado.distancia(nuevo.id("C")));
+        assertTrue(reparado.nodosReparados() > 0);
+        // La copia anterior sigue respondiendo con los costos viejos
+        assertEquals(2.0, arbol.distancia(compacto.id("C")));
+    }
+
+    @Test
+    void arbolDinamicoReparadoIgualQueRecalcular() {
+        Graph grafo = grafoAleatorio(21, 300, 800);
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+        ArbolDinamico arbol = ArbolDinamico.calcular(compacto, 0);
+        Random random = new Random(23);
+
+        for (int lote = 0; lote < 30; lote++) {
+            List<CambioRuta> cambios = new ArrayList<>();
+            int cantidad = 1 + random.nextInt(8);
+            while (cambios.size() < cantidad) {
+                int a = random.nextInt(compacto.cantidadNodos());
+                int e = compacto.primeraArista(a) + random.nextInt(compacto.grado(a));
+                // Subas y bajas, incluidas rutas del árbol
+                cambios.add(CambioRuta.actualizar(compacto.nombre(a), compacto.nombre(compacto.destino(e)), 1 + random.nextInt(80)));
+            }
+
+            GrafoCompacto nuevo = compacto.conCambios(cambios);
+            assertTrue(nuevo.comparteEstructura(compacto));
+            int[] extremosA = cambios.stream().mapToInt(c -> nuevo.id(c.desde)).toArray();
+            int[] extremosB = cambios.stream().mapToInt(c -> nuevo.id(c.hasta)).toArray();
+            arbol = arbol.reparado(nuevo, extremosA, extremosB);
+            compacto = nuevo;
+
+            ArbolCaminos esperado = compacto.arbolDijkstra(0, null);
+            for (int v = 0; v < compacto.cantidadNodos(); v++) {
+                assertEquals(esperado.distancia(v), arbol.distancia(v), 1e-9);
+                assertEquals(arbol.distancia(v), compacto.calcularCosto(arbol.camino(v)), 1e-9);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.uade.TP_Progra3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static com.example.uade.TP_Progra3.graph.GrafosDePrueba.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Borůvka y el bosque de Prim contra Kruskal
+class ArbolGeneradorMinimoTest {
+
+    @Test
+    void boruvkaConTodosLosPesosIgualesNoFormaCiclos() {
+        // Ciclo de 6 más dos cuerdas, todo con costo 1: sin desempate por extremos dos componentes
+        // podrían elegirse una a la otra por rutas distintas y cerrar un ciclo
+        Graph grafo = new Graph();
+        for (int i = 0; i < 6; i++) grafo.agregarArista("N" + i, "N" + ((i + 1) % 6), 1);
+        grafo.agregarArista("N0", "N3", 1);
+        grafo.agregarArista("N1", "N4", 1);
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+
+        List<Arista> arbol = ArbolGeneradorMinimo.boruvka(compacto);
+        assertEquals(5, arbol.size());
+        ConjuntosDisjuntos conjuntos = new ConjuntosDisjuntos(compacto.cantidadNodos());
+        for (Arista arista : arbol) assertTrue(conjuntos.unir(compacto.id(arista.origen), compacto.id(arista.destino)));
+
+        assertEquals(List.of(), ArbolGeneradorMinimo.boruvka(GrafoCompacto.desde(new Graph())));
+    }
+
+    @Test
+    void boruvkaYBosquePrimMismoCostoQueKruskal() {
+        for (long semilla = 1; semilla <= 5; semilla++) {
+            // Pesos 1..50 con muchos empates, y una componente aparte
+            Graph grafo = grafoAleatorio(semilla, 400, 1200);
+            grafo.agregarArista("Aislado1", "Aislado2", 3);
+            grafo.agregarArista("Aislado2", "Aislado3", 3);
+            GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+
+            List<Arista> kruskal = compacto.kruskalMST();
+            List<Arista> boruvka = ArbolGeneradorMinimo.boruvka(compacto);
+            assertEquals(kruskal.size(), boruvka.size());
+            assertEquals(costoTotal(kruskal), costoTotal(boruvka), 1e-9);
+
+            List<ArbolComponente> bosque = ArbolGeneradorMinimo.bosquePrim(compacto);
+            assertEquals(2, bosque.size());
+            assertEquals(3, bosque.stream().filter(arbol -> arbol.raiz.startsWith("Aislado")).findFirst().orElseThrow().cantidadNodos);
+            assertEquals(costoTotal(kruskal), bosque.stream().mapToDouble(arbol -> arbol.costoTotal).sum(), 1e-9);
+            assertEquals(kruskal.size(), bosque.stream().mapToInt(arbol -> arbol.aristas.size()).sum());
+        }
+    }
+}
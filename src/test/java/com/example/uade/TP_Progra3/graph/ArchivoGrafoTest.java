@@ -0,0 +1,186 @@
+package com.example.uade.TP_Progra3.graph;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Ida y vuelta por el archivo binario y los archivos que leer tiene que rechazar
+class ArchivoGrafoTest {
+
+    // Árbol aleatorio más algunas rutas extra, con nombres no ASCII para probar el UTF-8
+    private static GrafoCompacto grafoAleatorio(long semilla, int nodos) {
+        Random random = new Random(semilla);
+        Graph grafo = new Graph();
+        for (int i = 1; i < nodos; i++) grafo.agregarArista("Depósito " + random.nextInt(i), "Depósito " + i, 1 + random.nextInt(50));
+        for (int i = 0; i < nodos; i++) {
+            int a = random.nextInt(nodos);
+            int b = random.nextInt(nodos);
+            if (a != b) grafo.agregarArista("Depósito " + a, "Depósito " + b, 0.5 + random.nextInt(50));
+        }
+        return GrafoCompacto.desde(grafo);
+    }
+
+    // Reescribe el CRC del final para que un archivo modificado a mano pase esa verificación
+    private static void recalcularCrc(byte[] contenido) {
+        CRC32 crc = new CRC32();
+        crc.update(contenido, 0, contenido.length - 8);
+        ByteBuffer.wrap(contenido).putLong(contenido.length - 8, crc.getValue());
+    }
+
+    @Test
+    void conservaElGrafo(@TempDir Path carpeta) throws IOException {
+        GrafoCompacto compacto = grafoAleatorio(17, 300);
+        Path destino = carpeta.resolve("grafo.bin");
+
+        long bytes = ArchivoGrafo.escribir(compacto, 42, destino);
+        assertEquals(Files.size(destino), bytes);
+
+        ArchivoGrafo leido = ArchivoGrafo.leer(destino);
+        assertEquals(42, leido.version);
+        assertEquals(ArchivoGrafo.leerCrc(destino), leido.crc);
+        assertEquals(compacto.cantidadNodos(), leido.grafo.cantidadNodos());
+        assertEquals(compacto.cantidadAristas(), leido.grafo.cantidadAristas());
+        for (int v = 0; v < compacto.cantidadNodos(); v++) {
+            assertEquals(compacto.nombre(v), leido.grafo.nombre(v));
+            assertEquals(v, leido.grafo.id(compacto.nombre(v)));
+        }
+        Random random = new Random(5);
+        for (int i = 0; i < 50; i++) {
+            String desde = compacto.nombre(random.nextInt(compacto.cantidadNodos()));
+            String hasta = compacto.nombre(random.nextInt(compacto.cantidadNodos()));
+            assertEquals(compacto.dijkstra(desde, hasta), leido.grafo.dijkstra(desde, hasta));
+        }
+    }
+
+    @Test
+    void grafoVacio(@TempDir Path carpeta) throws IOException {
+        Path destino = carpeta.resolve("vacio.bin");
+        ArchivoGrafo.escribir(GrafoCompacto.desde(new Graph()), 1, destino);
+
+        ArchivoGrafo leido = ArchivoGrafo.leer(destino);
+        assertEquals(1, leido.version);
+        assertEquals(0, leido.grafo.cantidadNodos());
+        assertEquals(0, leido.grafo.cantidadAristas());
+    }
+
+    @Test
+    void detectaCorrupcion(@TempDir Path carpeta) throws IOException {
+        Path destino = carpeta.resolve("grafo.bin");
+        ArchivoGrafo.escribir(grafoAleatorio(3, 100), 1, destino);
+
+        // Un byte cambiado en el medio ya no pasa el CRC
+        byte[] contenido = Files.readAllBytes(destino);
+        contenido[contenido.length / 2] ^= 1;
+        Files.write(destino, contenido);
+        IOException error = assertThrows(IOException.class, () -> ArchivoGrafo.leer(destino));
+        assertTrue(error.getMessage().contains("CRC"));
+    }
+
+    @Test
+    void rechazaArchivosTruncadosOAjenos(@TempDir Path carpeta) throws IOException {
+        Path destino = carpeta.resolve("grafo.bin");
+        ArchivoGrafo.escribir(grafoAleatorio(9, 50), 1, destino);
+        byte[] original = Files.readAllBytes(destino);
+
+        Files.write(destino, new byte[0]);
+        assertThrows(IOException.class, () -> ArchivoGrafo.leer(destino));
+        assertThrows(IOException.class, () -> ArchivoGrafo.leerCrc(destino));
+
+        Files.write(destino, Arrays.copyOf(original, original.length - 10));
+        assertThrows(IOException.class, () -> ArchivoGrafo.leer(destino));
+
+        byte[] ajeno = original.clone();
+        ajeno[0] = 'X';
+        Files.write(destino, ajeno);
+        assertTrue(assertThrows(IOException.class, () -> ArchivoGrafo.leer(destino)).getMessage().contains("no es un archivo de grafo"));
+
+        byte[] otroFormato = original.clone();
+        ByteBuffer.wrap(otroFormato).putInt(4, ArchivoGrafo.FORMATO + 1);
+        Files.write(destino, otroFormato);
+        assertTrue(assertThrows(IOException.class, () -> ArchivoGrafo.leer(destino)).getMessage().contains("no soportado"));
+    }
+
+    @Test
+    void rechazaTamaniosInconsistentesAunqueElCrcCoincida(@TempDir Path carpeta) throws IOException {
+        Path destino = carpeta.resolve("grafo.bin");
+        ArchivoGrafo.escribir(grafoAleatorio(11, 50), 1, destino);
+        byte[] original = Files.readAllBytes(destino);
+        // Cabecera: mágico (4), formato (4), versión (8), fecha (8), n (4), m (4)
+        int posicionN = 24;
+        int posicionM = 28;
+
+        for (int[] cambio : new int[][]{{posicionN, -1}, {posicionN, Integer.MAX_VALUE}, {posicionM, 1_000_000}, {posicionM, 2}}) {
+            byte[] contenido = original.clone();
+            ByteBuffer.wrap(contenido).putInt(cambio[0], cambio[1]);
+            recalcularCrc(contenido);
+            Files.write(destino, contenido);
+            assertTrue(assertThrows(IOException.class, () -> ArchivoGrafo.leer(destino)).getMessage().contains("inconsistente"));
+        }
+    }
+
+    @Test
+    void rechazaEstructuraInvalidaAunqueElCrcCoincida(@TempDir Path carpeta) throws IOException {
+        // Cadena A - B - C: n = 3, m = 4, nombres de un byte
+        Graph grafo = new Graph();
+        grafo.agregarArista("A", "B", 1);
+        grafo.agregarArista("B", "C", 2);
+        Path destino = carpeta.resolve("grafo.bin");
+        ArchivoGrafo.escribir(GrafoCompacto.desde(grafo), 1, destino);
+        byte[] original = Files.readAllBytes(destino);
+        int posicionNombres = 32;
+        int posicionInicio = posicionNombres + 3 * (4 + 1);
+        int posicionDestinos = posicionInicio + 4 * 4;
+
+        List<int[]> cambios = List.of(
+                new int[]{posicionInicio, 1},          // inicio no arranca en 0
+                new int[]{posicionInicio + 4 * 3, 3},  // inicio no termina en m
+                new int[]{posicionInicio + 4, 4},      // inicio decrece
+                new int[]{posicionDestinos, 3},        // destino fuera de rango
+                new int[]{posicionDestinos + 4, -1});  // destino negativo
+        for (int[] cambio : cambios) {
+            byte[] contenido = original.clone();
+            ByteBuffer.wrap(contenido).putInt(cambio[0], cambio[1]);
+            recalcularCrc(contenido);
+            Files.write(destino, contenido);
+            assertTrue(assertThrows(IOException.class, () -> ArchivoGrafo.leer(destino)).getMessage().contains("inconsistente"));
+        }
+
+        // Dos almacenes con el mismo nombre
+        byte[] repetido = original.clone();
+        repetido[posicionNombres + 4 + 1 + 4] = repetido[posicionNombres + 4];
+        recalcularCrc(repetido);
+        Files.write(destino, repetido);
+        assertTrue(assertThrows(IOException.class, () -> ArchivoGrafo.leer(destino)).getMessage().contains("inconsistente"));
+
+        Files.write(destino, original);
+        assertEquals(3, ArchivoGrafo.leer(destino).grafo.cantidadNodos());
+    }
+
+    @Test
+    void reemplazaUnArchivoYaLeidoSinDejarTemporales(@TempDir Path carpeta) throws IOException {
+        Path destino = carpeta.resolve("grafo.bin");
+        ArchivoGrafo.escribir(grafoAleatorio(1, 40), 1, destino);
+        ArchivoGrafo primero = ArchivoGrafo.leer(destino);
+
+        // Leído y todavía referenciado: igual se puede reemplazar (no queda ningún mapeo abierto)
+        ArchivoGrafo.escribir(grafoAleatorio(2, 80), 2, destino);
+        ArchivoGrafo segundo = ArchivoGrafo.leer(destino);
+        assertEquals(40, primero.grafo.cantidadNodos());
+        assertEquals(2, segundo.version);
+        assertEquals(80, segundo.grafo.cantidadNodos());
+        assertNotEquals(primero.crc, segundo.crc);
+
+        try (Stream<Path> archivos = Files.list(carpeta)) {
+            assertEquals(List.of(destino), archivos.toList());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.uade.TP_Progra3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static com.example.uade.TP_Progra3.graph.GrafosDePrueba.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Casos borde del motor de BFS y su reutilización desde GrafoCompacto
+class BusquedaAmplitudTest {
+
+    // A - B - C - D en línea, E colgado de B, X - Y aparte
+    private static GrafoCompacto grafoChico() {
+        Graph grafo = new Graph();
+        grafo.agregarArista("A", "B", 1);
+        grafo.agregarArista("B", "C", 1);
+        grafo.agregarArista("C", "D", 1);
+        grafo.agregarArista("B", "E", 1);
+        grafo.agregarArista("X", "Y", 1);
+        return GrafoCompacto.desde(grafo);
+    }
+
+    @Test
+    void origenQueYaEsObjetivoYLimiteDeSaltos() {
+        GrafoCompacto grafo = grafoChico();
+        BusquedaAmplitud busqueda = new BusquedaAmplitud(grafo);
+        int a = grafo.id("A"), d = grafo.id("D");
+
+        assertEquals(a, busqueda.buscar(new int[]{a, d}, new int[]{a}, 0));
+        assertEquals(0, busqueda.saltos());
+        assertEquals(List.of("A"), busqueda.camino(a));
+
+        // Con cero saltos solo cuentan los orígenes
+        assertEquals(-1, busqueda.buscar(a, d, 0));
+        assertEquals(-1, busqueda.saltos());
+        assertEquals(-1, busqueda.buscar(a, d, 2));
+        assertEquals(d, busqueda.buscar(a, d, 3));
+        assertEquals(List.of("A", "B", "C", "D"), busqueda.camino(d));
+    }
+
+    @Test
+    void origenesRepetidosYSinObjetivos() {
+        GrafoCompacto grafo = grafoChico();
+        BusquedaAmplitud busqueda = new BusquedaAmplitud(grafo);
+        int b = grafo.id("B");
+
+        // Sin objetivos recorre lo alcanzable dentro del límite; un origen repetido entra una sola vez
+        assertEquals(-1, busqueda.buscar(new int[]{b, b}, null, 1));
+        Set<String> visitados = new HashSet<>();
+        for (int i = 0; i < busqueda.cantidadVisitados(); i++) visitados.add(grafo.nombre(busqueda.visitadoEn(i)));
+        assertEquals(Set.of("A", "B", "C", "E"), visitados);
+        assertEquals(b, busqueda.visitadoEn(0));
+        assertEquals(-1, busqueda.anterior(b));
+
+        // La búsqueda siguiente no ve los visitados de esta
+        assertEquals(-1, busqueda.buscar(grafo.id("X"), grafo.id("A"), Integer.MAX_VALUE));
+        assertFalse(busqueda.visitado(b));
+        assertEquals(2, busqueda.cantidadVisitados());
+    }
+
+    @Test
+    void elGrafoReutilizaSusMotores() {
+        GrafoCompacto grafo = grafoChico();
+        BusquedaAmplitud primera = grafo.conBusquedaAmplitud(busqueda -> busqueda);
+        BusquedaAmplitud segunda = grafo.conBusquedaAmplitud(busqueda -> busqueda);
+        assertSame(primera, segunda);
+
+        // Un motor prestado no se presta dos veces a la vez
+        grafo.conBusquedaAmplitud(externa -> {
+            assertNotSame(externa, grafo.conBusquedaAmplitud(interna -> interna));
+            return null;
+        });
+
+        // Otro grafo tiene sus propios motores
+        assertNotSame(primera, grafoChico().conBusquedaAmplitud(busqueda -> busqueda));
+        assertEquals(List.of("E", "B", "C", "D"), grafo.bfs("E", "D"));
+        assertNull(grafo.bfs("A", "Y"));
+    }
+
+    @Test
+    void busquedaAmplitudConSaltosYVariosOrigenes() {
+        Graph grafo = grafoConIslas(13);
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+        BusquedaAmplitud busqueda = new BusquedaAmplitud(compacto);
+        Random random = new Random(17);
+
+        // La misma instancia para todas las búsquedas: no deben quedar restos de la anterior
+        for (int i = 0; i < 200; i++) {
+            int desde = random.nextInt(compacto.cantidadNodos());
+            int hasta = random.nextInt(compacto.cantidadNodos());
+            List<String> esperado = grafo.bfs(compacto.nombre(desde), compacto.nombre(hasta));
+
+            int encontrado = busqueda.buscar(desde, hasta, Integer.MAX_VALUE);
+            if (esperado == null) {
+                assertEquals(-1, encontrado);
+                continue;
+            }
+            assertEquals(hasta, encontrado);
+            assertEquals(esperado.size() - 1, busqueda.saltos());
+            assertEquals(esperado.size(), busqueda.camino(hasta).size());
+
+            // Con un salto menos que el camino más corto no llega
+            int saltos = esperado.size() - 1;
+            if (saltos > 0) assertNull(compacto.bfs(compacto.nombre(desde), compacto.nombre(hasta), saltos - 1));
+            assertNotNull(compacto.bfs(compacto.nombre(desde), compacto.nombre(hasta), saltos));
+        }
+
+        // Varios orígenes: el objetivo más cercano es el mínimo de los BFS de a un origen
+        for (int i = 0; i < 50; i++) {
+            int[] origenes = random.ints(3, 0, compacto.cantidadNodos()).toArray();
+            int[] objetivos = random.ints(5, 0, compacto.cantidadNodos()).toArray();
+
+            int minimo = Integer.MAX_VALUE;
+            for (int origen : origenes) {
+                for (int objetivo : objetivos) {
+                    List<String> camino = grafo.bfs(compacto.nombre(origen), compacto.nombre(objetivo));
+                    if (camino != null) minimo = Math.min(minimo, camino.size() - 1);
+                }
+            }
+
+            int encontrado = busqueda.buscar(origenes, objetivos, Integer.MAX_VALUE);
+            if (minimo == Integer.MAX_VALUE) {
+                assertEquals(-1, encontrado);
+            } else {
+                assertEquals(minimo, busqueda.saltos());
+                List<String> camino = busqueda.camino(encontrado);
+                assertEquals(minimo, camino.size() - 1);
+                assertTrue(Arrays.stream(origenes).mapToObj(compacto::nombre).anyMatch(camino.get(0)::equals));
+                if (minimo > 0) assertEquals(-1, busqueda.buscar(origenes, objetivos, minimo - 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.uade.TP_Progra3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static com.example.uade.TP_Progra3.graph.GrafosDePrueba.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// DFS iterativo: órdenes de recorrido, puntos de articulación y puentes
+class BusquedaProfundidadTest {
+
+    @Test
+    void trianguloConColaYOtraComponente() {
+        // Triángulo A - B - C con C - D colgando; X - Y aparte
+        Graph grafo = new Graph();
+        grafo.agregarArista("A", "B", 1);
+        grafo.agregarArista("B", "C", 1);
+        grafo.agregarArista("C", "A", 1);
+        grafo.agregarArista("C", "D", 7);
+        grafo.agregarArista("X", "Y", 2);
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+
+        BusquedaProfundidad todo = BusquedaProfundidad.recorrer(compacto);
+        assertEquals(6, todo.cantidadVisitados());
+        Set<String> articulaciones = new HashSet<>();
+        for (int v : todo.puntosArticulacion()) articulaciones.add(compacto.nombre(v));
+        assertEquals(Set.of("C"), articulaciones);
+        Set<Set<String>> puentes = new HashSet<>();
+        for (Arista puente : todo.puentes()) puentes.add(Set.of(puente.origen, puente.destino));
+        assertEquals(Set.of(Set.of("C", "D"), Set.of("X", "Y")), puentes);
+
+        // Desde un origen solo se recorre su componente, empezando y terminando por él
+        BusquedaProfundidad desdeD = BusquedaProfundidad.recorrer(compacto, compacto.id("D"));
+        assertEquals(4, desdeD.cantidadVisitados());
+        assertEquals("D", desdeD.nombresEnPreorden().get(0));
+        assertEquals("D", desdeD.nombresEnPostorden().get(3));
+        assertFalse(desdeD.nombresEnPreorden().contains("X"));
+    }
+
+    @Test
+    void articulacionesYPuentesIgualQueQuitarYContar() {
+        // Árbol más pocas rutas extra: quedan bastantes puentes y articulaciones
+        for (long semilla = 1; semilla <= 3; semilla++) {
+            Graph grafo = grafoAleatorio(semilla, 60, 75);
+            GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+            BusquedaProfundidad recorrido = BusquedaProfundidad.recorrer(compacto);
+            int componentes = ComponentesConexas.calcular(compacto).cantidadComponentes();
+
+            Set<String> articulaciones = new HashSet<>();
+            for (int v : recorrido.puntosArticulacion()) articulaciones.add(compacto.nombre(v));
+            for (String nodo : grafo.getNodos()) {
+                Graph sinNodo = grafoAleatorio(semilla, 60, 75);
+                sinNodo.quitarNodo(nodo);
+                boolean parte = ComponentesConexas.calcular(GrafoCompacto.desde(sinNodo)).cantidadComponentes() > componentes;
+                assertEquals(parte, articulaciones.contains(nodo), nodo);
+            }
+
+            Set<String> puentes = new HashSet<>();
+            for (Arista puente : recorrido.puentes()) {
+                puentes.add(puente.origen + "|" + puente.destino);
+                puentes.add(puente.destino + "|" + puente.origen);
+            }
+            for (Arista ruta : compacto.kruskalMST()) {
+                Graph sinRuta = grafoAleatorio(semilla, 60, 75);
+                sinRuta.quitarArista(ruta.origen, ruta.destino);
+                boolean parte = ComponentesConexas.calcular(GrafoCompacto.desde(sinRuta)).cantidadComponentes() > componentes;
+                assertEquals(parte, puentes.contains(ruta.origen + "|" + ruta.destino), ruta.origen + "-" + ruta.destino);
+            }
+            assertEquals(compacto.cantidadNodos(), recorrido.cantidadVisitados());
+        }
+    }
+
+    @Test
+    void dfsSobreCadenaLargaSinDesbordarLaPila() {
+        int largo = 100_000;
+        Graph grafo = new Graph();
+        for (int i = 0; i < largo - 1; i++) grafo.agregarArista("C" + i, "C" + (i + 1), 1);
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+
+        assertEquals(largo, grafo.dfs("C0", "C" + (largo - 1)).size());
+        BusquedaProfundidad recorrido = BusquedaProfundidad.recorrer(compacto, compacto.id("C0"));
+        assertEquals(largo - 2, recorrido.puntosArticulacion().length);
+        assertEquals(largo - 1, recorrido.puentes().size());
+        assertEquals("C0", recorrido.nombresEnPreorden().get(0));
+        assertEquals("C0", recorrido.nombresEnPostorden().get(largo - 1));
+    }
+}
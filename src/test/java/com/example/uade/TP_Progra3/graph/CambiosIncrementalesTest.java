@@ -0,0 +1,89 @@
+package com.example.uade.TP_Progra3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static com.example.uade.TP_Progra3.graph.GrafosDePrueba.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// GrafoCompacto.conCambios: solo costos (comparte estructura) o altas y bajas (rearma el CSR)
+class CambiosIncrementalesTest {
+
+    private static GrafoCompacto triangulo() {
+        Graph grafo = new Graph();
+        grafo.agregarArista("A", "B", 1);
+        grafo.agregarArista("B", "C", 2);
+        grafo.agregarArista("A", "C", 4);
+        return GrafoCompacto.desde(grafo);
+    }
+
+    @Test
+    void soloCostosCompartenEstructuraYNoTocanLaVersionAnterior() {
+        GrafoCompacto grafo = triangulo();
+        GrafoCompacto nuevo = grafo.conCambios(List.of(CambioRuta.actualizar("C", "A", 1)));
+
+        assertTrue(nuevo.comparteEstructura(grafo));
+        assertEquals(1.0, nuevo.arbolDijkstra(nuevo.id("A"), null).distancia(nuevo.id("C")));
+        assertEquals(3.0, grafo.arbolDijkstra(grafo.id("A"), null).distancia(grafo.id("C")));
+    }
+
+    @Test
+    void almacenQuitadoYVueltoAAgregarEnElMismoLote() {
+        GrafoCompacto grafo = triangulo();
+        GrafoCompacto nuevo = grafo.conCambios(List.of(
+                CambioRuta.quitarNodo("B"),
+                CambioRuta.agregar("B", "D", 7),
+                CambioRuta.quitar("A", "Q")));
+
+        assertFalse(nuevo.comparteEstructura(grafo));
+        assertEquals(4, nuevo.cantidadNodos());
+        // B vuelve solo con la ruta nueva: A - C queda como único camino entre A y C
+        assertEquals(4.0, nuevo.arbolDijkstra(nuevo.id("A"), null).distancia(nuevo.id("C")));
+        assertEquals(List.of("B", "D"), nuevo.dijkstra("B", "D"));
+        assertEquals(Double.POSITIVE_INFINITY, nuevo.arbolDijkstra(nuevo.id("A"), null).distancia(nuevo.id("B")));
+        assertEquals(-1, nuevo.id("Q"));
+    }
+
+    @Test
+    void cambiosIncrementalesIgualQueReconstruir() {
+        Graph grafo = grafoAleatorio(9, 150, 400);
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+        Random random = new Random(17);
+
+        for (int lote = 0; lote < 20; lote++) {
+            List<CambioRuta> cambios = new ArrayList<>();
+            // Lotes pares: solo costos de rutas existentes (camino rápido); impares: mezcla de todo
+            for (int i = 0; i < 10; i++) {
+                String a = "A" + random.nextInt(160);
+                String b = "A" + random.nextInt(160);
+                int costo = 1 + random.nextInt(50);
+                if (lote % 2 == 0) {
+                    if (grafo.obtenerPeso(a, b) < Double.POSITIVE_INFINITY) cambios.add(CambioRuta.actualizar(a, b, costo));
+                    continue;
+                }
+                switch (random.nextInt(4)) {
+                    case 0 -> cambios.add(CambioRuta.agregar(a, b, costo));
+                    case 1 -> cambios.add(CambioRuta.quitar(a, b));
+                    case 2 -> cambios.add(CambioRuta.actualizar(a, b, costo));
+                    default -> cambios.add(CambioRuta.quitarNodo(a));
+                }
+            }
+
+            for (CambioRuta cambio : cambios) grafo.aplicar(cambio);
+            compacto = compacto.conCambios(cambios);
+            GrafoCompacto reconstruido = GrafoCompacto.desde(grafo);
+
+            assertEquals(reconstruido.cantidadNodos(), compacto.cantidadNodos());
+            assertEquals(reconstruido.cantidadAristas(), compacto.cantidadAristas());
+            for (int i = 0; i < 20; i++) {
+                String desde = reconstruido.nombre(random.nextInt(reconstruido.cantidadNodos()));
+                ArbolCaminos esperado = reconstruido.arbolDijkstra(reconstruido.id(desde), null);
+                ArbolCaminos obtenido = compacto.arbolDijkstra(compacto.id(desde), null);
+                for (String hasta : reconstruido.getNodos()) {
+                    assertEquals(esperado.distancia(reconstruido.id(hasta)), obtenido.distancia(compacto.id(hasta)), 1e-9);
+                }
+            }
+        }
+    }
+}
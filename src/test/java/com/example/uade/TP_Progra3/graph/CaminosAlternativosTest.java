@@ -0,0 +1,97 @@
+package com.example.uade.TP_Progra3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static com.example.uade.TP_Progra3.graph.GrafosDePrueba.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Los k caminos más baratos (Yen) contra enumerar todos los caminos simples
+class CaminosAlternativosTest {
+
+    @Test
+    void pideMasCaminosDeLosQueHay() {
+        // A - B - D (2), A - C - D (3), A - D (5) y nada más entre A y D
+        Graph grafo = new Graph();
+        grafo.agregarArista("A", "B", 1);
+        grafo.agregarArista("B", "D", 1);
+        grafo.agregarArista("A", "C", 1);
+        grafo.agregarArista("C", "D", 2);
+        grafo.agregarArista("A", "D", 5);
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+        int a = compacto.id("A");
+        int d = compacto.id("D");
+
+        List<ResultadoCamino> caminos = CaminosAlternativos.yen(compacto, a, d, 10, null);
+        // B y C solo se conectan a través de A y D: hay exactamente tres caminos simples
+        assertEquals(List.of(List.of("A", "B", "D"), List.of("A", "C", "D"), List.of("A", "D")),
+                caminos.stream().map(camino -> camino.camino).toList());
+        assertEquals(List.of(2.0, 3.0, 5.0), caminos.stream().map(camino -> camino.costo).toList());
+
+        boolean[] sinB = new boolean[compacto.cantidadNodos()];
+        sinB[compacto.id("B")] = true;
+        assertEquals(List.of("A", "C", "D"), CaminosAlternativos.yen(compacto, a, d, 1, sinB).get(0).camino);
+
+        // Con el origen cerrado no hay ningún camino
+        boolean[] sinA = new boolean[compacto.cantidadNodos()];
+        sinA[a] = true;
+        assertTrue(CaminosAlternativos.yen(compacto, a, d, 3, sinA).isEmpty());
+    }
+
+    @Test
+    void yenIgualQueEnumerarTodosLosCaminos() {
+        for (long semilla = 1; semilla <= 4; semilla++) {
+            Graph grafo = grafoAleatorio(semilla, 10, 18);
+            GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+            int origen = compacto.id("A0");
+            int destino = compacto.id("A9");
+
+            List<Double> todos = new ArrayList<>();
+            boolean[] enCamino = new boolean[compacto.cantidadNodos()];
+            enCamino[origen] = true;
+            caminosSimples(compacto, origen, destino, enCamino, 0.0, todos);
+            Collections.sort(todos);
+
+            List<ResultadoCamino> yen = CaminosAlternativos.yen(compacto, origen, destino, 12, null);
+            assertEquals(Math.min(12, todos.size()), yen.size());
+            Set<List<String>> distintos = new HashSet<>();
+            for (int i = 0; i < yen.size(); i++) {
+                assertEquals(todos.get(i), yen.get(i).costo, 1e-9);
+                assertEquals(yen.get(i).costo, compacto.calcularCosto(yen.get(i).camino), 1e-9);
+                assertEquals(yen.get(i).camino.size(), new HashSet<>(yen.get(i).camino).size());
+                assertTrue(distintos.add(yen.get(i).camino));
+            }
+
+            // Evitando un almacén: el primero es el Dijkstra del grafo sin ese almacén
+            String evitado = yen.get(0).camino.size() > 2 ? yen.get(0).camino.get(1) : null;
+            if (evitado == null) continue;
+            boolean[] excluidos = new boolean[compacto.cantidadNodos()];
+            excluidos[compacto.id(evitado)] = true;
+            Graph sinEvitado = grafoAleatorio(semilla, 10, 18);
+            sinEvitado.quitarNodo(evitado);
+            List<String> esperado = sinEvitado.dijkstra("A0", "A9");
+            List<ResultadoCamino> evitando = CaminosAlternativos.yen(compacto, origen, destino, 3, excluidos);
+            if (esperado == null) {
+                assertTrue(evitando.isEmpty());
+            } else {
+                assertEquals(sinEvitado.calcularCosto(esperado), evitando.get(0).costo, 1e-9);
+                for (ResultadoCamino camino : evitando) assertFalse(camino.camino.contains(evitado));
+            }
+        }
+    }
+
+    private static void caminosSimples(GrafoCompacto grafo, int actual, int destino, boolean[] enCamino, double costo, List<Double> costos) {
+        if (actual == destino) {
+            costos.add(costo);
+            return;
+        }
+        for (int e = grafo.primeraArista(actual); e < grafo.finAristas(actual); e++) {
+            int vecino = grafo.destino(e);
+            if (enCamino[vecino]) continue;
+            enCamino[vecino] = true;
+            caminosSimples(grafo, vecino, destino, enCamino, costo + grafo.peso(e), costos);
+            enCamino[vecino] = false;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.uade.TP_Progra3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static com.example.uade.TP_Progra3.graph.GrafosDePrueba.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Dijkstra bidireccional y A* con faros (ALT) contra el Dijkstra de un solo sentido
+class CaminosPuntoAPuntoTest {
+
+    @Test
+    void mismoOrigenYDestinoSinCaminoEntreIslas() {
+        GrafoCompacto compacto = GrafoCompacto.desde(grafoConIslas(3));
+        Landmarks landmarks = Landmarks.calcular(compacto, 4);
+        int a = compacto.id("A0");
+        int isla = compacto.id("I4_2");
+
+        for (ResultadoCamino mismo : List.of(CaminosPuntoAPunto.dijkstraBidireccional(compacto, a, a),
+                CaminosPuntoAPunto.aEstrella(compacto, a, a, landmarks))) {
+            assertEquals(List.of("A0"), mismo.camino);
+            assertEquals(0.0, mismo.costo);
+        }
+        for (ResultadoCamino separado : List.of(CaminosPuntoAPunto.dijkstraBidireccional(compacto, a, isla),
+                CaminosPuntoAPunto.aEstrella(compacto, a, isla, landmarks))) {
+            assertNull(separado.camino);
+            assertEquals(Double.POSITIVE_INFINITY, separado.costo);
+        }
+    }
+
+    @Test
+    void motoresPuntoAPuntoMismoCostoQueDijkstra() {
+        Graph grafo = grafoAleatorio(5, 300, 900);
+        grafo.agregarArista("Aislado1", "Aislado2", 3);
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+        Landmarks landmarks = Landmarks.calcular(compacto, 4);
+        JerarquiaContraccion contraccion = JerarquiaContraccion.construir(compacto);
+        Random random = new Random(13);
+
+        for (int i = 0; i < 200; i++) {
+            int desde = random.nextInt(compacto.cantidadNodos());
+            int hasta = random.nextInt(compacto.cantidadNodos());
+            double esperado = compacto.arbolDijkstra(desde, new int[]{hasta}).distancia(hasta);
+
+            ResultadoCamino bidireccional = CaminosPuntoAPunto.dijkstraBidireccional(compacto, desde, hasta);
+            ResultadoCamino aEstrella = CaminosPuntoAPunto.aEstrella(compacto, desde, hasta, landmarks);
+            ResultadoCamino jerarquia = contraccion.consultar(desde, hasta);
+
+            assertEquals(esperado, bidireccional.costo, 1e-9);
+            assertEquals(esperado, aEstrella.costo, 1e-9);
+            assertEquals(esperado, jerarquia.costo, 1e-9);
+            if (bidireccional.camino != null) {
+                assertEquals(esperado, compacto.calcularCosto(bidireccional.camino), 1e-9);
+                assertEquals(esperado, compacto.calcularCosto(aEstrella.camino), 1e-9);
+                assertEquals(esperado, compacto.calcularCosto(jerarquia.camino), 1e-9);
+            }
+        }
+    }
+}
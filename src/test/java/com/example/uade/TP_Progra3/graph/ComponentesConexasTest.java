@@ -0,0 +1,66 @@
+package com.example.uade.TP_Progra3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static com.example.uade.TP_Progra3.graph.GrafosDePrueba.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Componentes conexas con el union-find sin locks, contra BFS
+class ComponentesConexasTest {
+
+    @Test
+    void numeradasPorSuNodoDeMenorIdConNodosEnOrden() {
+        // A - B, C - D - E, F solo con una ruta a sí mismo
+        Graph grafo = new Graph();
+        grafo.agregarArista("A", "B", 1);
+        grafo.agregarArista("C", "D", 1);
+        grafo.agregarArista("E", "D", 1);
+        grafo.agregarArista("F", "F", 1);
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+        ComponentesConexas componentes = ComponentesConexas.calcular(compacto);
+
+        assertEquals(3, componentes.cantidadComponentes());
+        assertEquals(3, componentes.tamanioMaximo());
+        int anterior = -1;
+        for (int v = 0; v < compacto.cantidadNodos(); v++) {
+            // La primera vez que aparece una componente es con el número siguiente
+            assertTrue(componentes.componente(v) <= anterior + 1);
+            anterior = Math.max(anterior, componentes.componente(v));
+        }
+        int[] nodos = componentes.nodos(componentes.componente(compacto.id("D")));
+        int[] ordenados = nodos.clone();
+        Arrays.sort(ordenados);
+        assertArrayEquals(ordenados, nodos);
+        assertEquals(1, componentes.tamanio(componentes.componente(compacto.id("F"))));
+        assertFalse(componentes.conectados(compacto.id("A"), compacto.id("C")));
+
+        assertEquals(0, ComponentesConexas.calcular(GrafoCompacto.desde(new Graph())).cantidadComponentes());
+    }
+
+    @Test
+    void componentesConexasIgualQueBfs() {
+        Graph grafo = grafoConIslas(11);
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+        ComponentesConexas componentes = ComponentesConexas.calcular(compacto);
+
+        int suma = 0;
+        for (int c = 0; c < componentes.cantidadComponentes(); c++) {
+            int[] nodos = componentes.nodos(c);
+            assertEquals(componentes.tamanio(c), nodos.length);
+            for (int v : nodos) assertEquals(c, componentes.componente(v));
+            suma += nodos.length;
+        }
+        assertEquals(compacto.cantidadNodos(), suma);
+        assertEquals(11, componentes.cantidadComponentes());
+        assertEquals(300, componentes.tamanioMaximo());
+
+        for (int a = 0; a < compacto.cantidadNodos(); a += 7) {
+            for (int b = 0; b < compacto.cantidadNodos(); b += 5) {
+                boolean hayCamino = compacto.bfs(compacto.nombre(a), compacto.nombre(b)) != null;
+                assertEquals(hayCamino, componentes.conectados(a, b));
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.uade.TP_Progra3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Union-Find sin locks bajo contención: cada unión la gana un solo hilo y nunca se juntan conjuntos de más
+class ConjuntosDisjuntosConcurrentesTest {
+
+    private static final int HILOS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    // Corre la tarea en HILOS hilos que arrancan a la vez
+    private static void enParalelo(IntConsumerConExcepcion tarea) throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(HILOS);
+        CyclicBarrier largada = new CyclicBarrier(HILOS);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int t = 0; t < HILOS; t++) {
+                int hilo = t;
+                tareas.add(ejecutor.submit(() -> {
+                    largada.await();
+                    tarea.aceptar(hilo);
+                    return null;
+                }));
+            }
+            for (Future<?> f : tareas) f.get(60, TimeUnit.SECONDS);
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    private interface IntConsumerConExcepcion {
+        void aceptar(int valor) throws Exception;
+    }
+
+    @Test
+    void casosTriviales() {
+        ConjuntosDisjuntosConcurrentes vacio = new ConjuntosDisjuntosConcurrentes(0);
+        assertEquals(0, vacio.cantidadConjuntos());
+        assertEquals(0, vacio.tamanios().length);
+
+        ConjuntosDisjuntosConcurrentes conjuntos = new ConjuntosDisjuntosConcurrentes(3);
+        assertFalse(conjuntos.unir(1, 1));
+        assertTrue(conjuntos.conectados(2, 2));
+        assertFalse(conjuntos.conectados(0, 2));
+        assertTrue(conjuntos.unir(0, 2));
+        assertFalse(conjuntos.unir(2, 0));
+        assertEquals(2, conjuntos.cantidadConjuntos());
+        assertEquals(3, conjuntos.cantidadElementos());
+
+        // Con rangos iguales queda como raíz la de mayor id; los tamaños se indexan por raíz
+        assertEquals(2, conjuntos.buscar(0));
+        int[] tamanios = conjuntos.tamanios();
+        assertArrayEquals(new int[]{0, 1, 2}, tamanios);
+    }
+
+    @Test
+    void elConjuntoDeMayorRangoQuedaComoRaiz() {
+        // 0..7 unidos de a pares, después de a cuatro y de a ocho: rango 3 con raíz 7
+        ConjuntosDisjuntosConcurrentes conjuntos = new ConjuntosDisjuntosConcurrentes(10);
+        for (int paso = 1; paso < 8; paso *= 2) {
+            for (int i = 0; i + paso < 8; i += 2 * paso) assertTrue(conjuntos.unir(i, i + paso));
+        }
+        int raiz = conjuntos.buscar(0);
+
+        // Un elemento suelto de mayor id igual se cuelga del conjunto grande, en cualquier orden
+        assertTrue(conjuntos.unir(9, 3));
+        assertTrue(conjuntos.unir(5, 8));
+        assertEquals(raiz, conjuntos.buscar(9));
+        assertEquals(raiz, conjuntos.buscar(8));
+        assertEquals(10, conjuntos.tamanios()[raiz]);
+        assertEquals(1, conjuntos.cantidadConjuntos());
+    }
+
+    @Test
+    void laMismaUnionLaGanaUnSoloHilo() throws Exception {
+        for (int intento = 0; intento < 50; intento++) {
+            ConjuntosDisjuntosConcurrentes conjuntos = new ConjuntosDisjuntosConcurrentes(2);
+            AtomicInteger ganadas = new AtomicInteger();
+            // La mitad de los hilos une en un sentido y la otra mitad en el otro
+            enParalelo(hilo -> {
+                if (hilo % 2 == 0 ? conjuntos.unir(0, 1) : conjuntos.unir(1, 0)) ganadas.incrementAndGet();
+            });
+            assertEquals(1, ganadas.get());
+            assertEquals(1, conjuntos.cantidadConjuntos());
+        }
+    }
+
+    @Test
+    void cadenaUnidaDesdeVariosHilosEnDistintoOrden() throws Exception {
+        int n = 50_000;
+        ConjuntosDisjuntosConcurrentes conjuntos = new ConjuntosDisjuntosConcurrentes(n);
+        AtomicInteger ganadas = new AtomicInteger();
+
+        // Todos los hilos intentan todas las uniones de la cadena, cada uno en un orden distinto
+        enParalelo(hilo -> {
+            List<Integer> orden = new ArrayList<>();
+            for (int i = 0; i + 1 < n; i++) orden.add(i);
+            Collections.shuffle(orden, new Random(hilo));
+            for (int i : orden) {
+                if (conjuntos.unir(i, i + 1)) ganadas.incrementAndGet();
+            }
+        });
+
+        assertEquals(n - 1, ganadas.get());
+        assertEquals(1, conjuntos.cantidadConjuntos());
+        int raiz = conjuntos.buscar(0);
+        assertEquals(raiz, conjuntos.buscar(n - 1));
+        assertEquals(n, conjuntos.tamanios()[raiz]);
+    }
+
+    @Test
+    void conectadosNuncaJuntaConjuntosQueNoSeUnieron() throws Exception {
+        // Pares e impares se unen por separado mientras otros hilos preguntan entre los dos grupos
+        int n = 20_000;
+        ConjuntosDisjuntosConcurrentes conjuntos = new ConjuntosDisjuntosConcurrentes(n);
+        AtomicInteger falsosPositivos = new AtomicInteger();
+
+        enParalelo(hilo -> {
+            Random random = new Random(hilo);
+            if (hilo % 2 == 0) {
+                for (int i = 0; i < n; i++) {
+                    int a = random.nextInt(n / 2) * 2 + hilo / 2 % 2;
+                    int b = random.nextInt(n / 2) * 2 + hilo / 2 % 2;
+                    conjuntos.unir(a, b);
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    int par = random.nextInt(n / 2) * 2;
+                    if (conjuntos.conectados(par, par + 1)) falsosPositivos.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(0, falsosPositivos.get());
+        int[] tamanios = conjuntos.tamanios();
+        int total = 0;
+        for (int v = 0; v < n; v++) {
+            total += tamanios[v];
+            assertEquals(v % 2, conjuntos.buscar(v) % 2);
+        }
+        assertEquals(n, total);
+    }
+}
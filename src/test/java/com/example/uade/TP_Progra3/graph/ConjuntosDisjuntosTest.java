@@ -0,0 +1,58 @@
+package com.example.uade.TP_Progra3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Las tres versiones de Union-Find tienen que terminar con los mismos conjuntos
+class ConjuntosDisjuntosTest {
+
+    @Test
+    void mismosConjuntosConYSinConcurrencia() {
+        int n = 20_000;
+        Random random = new Random(37);
+        int[][] uniones = new int[15_000][];
+        for (int i = 0; i < uniones.length; i++) uniones[i] = new int[]{random.nextInt(n), random.nextInt(n)};
+
+        ConjuntosDisjuntos secuencial = new ConjuntosDisjuntos(n);
+        int exitosas = 0;
+        for (int[] union : uniones) {
+            if (secuencial.unir(union[0], union[1])) exitosas++;
+        }
+        assertEquals(n - exitosas, secuencial.cantidadConjuntos());
+
+        ConjuntosDisjuntosConcurrentes concurrente = new ConjuntosDisjuntosConcurrentes(n);
+        long exitosasConcurrentes = Arrays.stream(uniones).parallel()
+                .filter(union -> concurrente.unir(union[0], union[1]))
+                .count();
+        assertEquals(exitosas, exitosasConcurrentes);
+        assertEquals(secuencial.cantidadConjuntos(), concurrente.cantidadConjuntos());
+
+        int[] tamanios = concurrente.tamanios();
+        IntStream.range(0, n).forEach(v -> {
+            assertEquals(secuencial.tamanio(v), tamanios[concurrente.buscar(v)]);
+            int otro = (v * 7919) % n;
+            assertEquals(secuencial.conectados(v, otro), concurrente.conectados(v, otro));
+        });
+    }
+
+    @Test
+    void unionFindPorNombreSinDesbordarLaPila() {
+        // Una cadena larga: con la búsqueda recursiva sin unión por tamaño esto desbordaba la pila
+        int n = 200_000;
+        Set<String> nodos = new LinkedHashSet<>();
+        for (int i = 0; i < n; i++) nodos.add("N" + i);
+        UnionFind unionFind = new UnionFind(nodos);
+
+        for (int i = 1; i < n; i++) assertTrue(unionFind.unir("N" + (i - 1), "N" + i));
+        assertFalse(unionFind.unir("N0", "N" + (n - 1)));
+        assertEquals(unionFind.buscarRaiz("N0"), unionFind.buscarRaiz("N" + (n - 1)));
+        assertEquals(n, unionFind.tamanio("N12345"));
+        assertEquals(1, unionFind.cantidadConjuntos());
+        assertNull(unionFind.buscarRaiz("Z"));
+        assertFalse(unionFind.unir("Z", "N0"));
+    }
+}
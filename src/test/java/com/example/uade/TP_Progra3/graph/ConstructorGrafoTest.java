@@ -0,0 +1,83 @@
+package com.example.uade.TP_Progra3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static com.example.uade.TP_Progra3.graph.GrafosDePrueba.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Una sola ruta por par de almacenes, la más barata: al cargar (ConstructorGrafo) y al agregar rutas después
+class ConstructorGrafoTest {
+
+    @Test
+    void agregarSobreUnParExistenteQuedaConLaMasBarata() {
+        Graph grafo = new Graph();
+        grafo.agregarArista("A", "B", 4);
+        grafo.agregarArista("B", "C", 1);
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+
+        // Más cara: no cambia nada (y no cambia la estructura); más barata: baja el costo
+        GrafoCompacto masCara = compacto.conCambios(List.of(CambioRuta.agregar("B", "A", 9)));
+        assertTrue(masCara.comparteEstructura(compacto));
+        assertEquals(compacto.cantidadAristas(), masCara.cantidadAristas());
+        assertEquals(4.0, masCara.arbolDijkstra(masCara.id("A"), null).distancia(masCara.id("B")));
+        GrafoCompacto masBarata = compacto.conCambios(List.of(CambioRuta.agregar("A", "B", 2)));
+        assertEquals(2.0, masBarata.arbolDijkstra(masBarata.id("A"), null).distancia(masBarata.id("B")));
+
+        // Con cambios de estructura en el mismo lote pasa lo mismo, también con rutas recién agregadas
+        GrafoCompacto conAltas = compacto.conCambios(List.of(
+                CambioRuta.agregar("C", "D", 3), CambioRuta.agregar("D", "C", 8), CambioRuta.agregar("A", "B", 6)));
+        assertEquals(compacto.cantidadAristas() + 2, conAltas.cantidadAristas());
+        assertEquals(3.0, conAltas.arbolDijkstra(conAltas.id("C"), null).distancia(conAltas.id("D")));
+        assertEquals(4.0, conAltas.arbolDijkstra(conAltas.id("A"), null).distancia(conAltas.id("B")));
+
+        grafo.aplicar(CambioRuta.agregar("B", "A", 9));
+        assertEquals(1, grafo.getListaAdyacencia().get("A").size());
+        assertEquals(4.0, grafo.obtenerPeso("A", "B"));
+        grafo.aplicar(CambioRuta.agregar("A", "B", 2));
+        assertEquals(2.0, grafo.obtenerPeso("B", "A"));
+    }
+
+    @Test
+    void kruskalConRutasParalelasUsaLaMasBarata() {
+        Graph grafo = new Graph();
+        grafo.agregarArista("A", "B", 9);
+        grafo.agregarArista("B", "A", 2);
+        grafo.agregarArista("B", "C", 4);
+        grafo.agregarArista("A", "C", 5);
+
+        assertEquals(6.0, costoTotal(grafo.kruskalMST()), 1e-9);
+        assertEquals(6.0, costoTotal(GrafoCompacto.desde(grafo).kruskalMST()), 1e-9);
+    }
+
+    @Test
+    void constructorDeduplicaRutasYQuedaConLaMasBarata() {
+        Graph grafo = grafoAleatorio(29, 500, 1500);
+        ConstructorGrafo constructor = new ConstructorGrafo();
+        Random random = new Random(31);
+        // Cada ruta llega en los dos sentidos y a veces con una copia más cara
+        for (Arista arista : grafo.kruskalMST()) constructor.agregarRuta(arista.destino, arista.origen, arista.peso + 5);
+        for (List<Arista> aristas : grafo.getListaAdyacencia().values()) {
+            for (Arista arista : aristas) {
+                constructor.agregarRuta(arista.origen, arista.destino, arista.peso);
+                if (random.nextInt(4) == 0) constructor.agregarRuta(arista.origen, arista.destino, arista.peso + 1);
+            }
+        }
+
+        GrafoCompacto esperado = GrafoCompacto.desde(grafo);
+        GrafoCompacto construido = constructor.construir();
+        assertEquals(1500, constructor.cantidadRutas());
+        assertEquals(esperado.cantidadNodos(), construido.cantidadNodos());
+        assertEquals(esperado.cantidadAristas(), construido.cantidadAristas());
+
+        for (int i = 0; i < 20; i++) {
+            String desde = "A" + random.nextInt(500);
+            ArbolCaminos a = esperado.arbolDijkstra(esperado.id(desde), null);
+            ArbolCaminos b = construido.arbolDijkstra(construido.id(desde), null);
+            for (String hasta : esperado.getNodos()) {
+                assertEquals(a.distancia(esperado.id(hasta)), b.distancia(construido.id(hasta)), 1e-9);
+            }
+        }
+    }
+}
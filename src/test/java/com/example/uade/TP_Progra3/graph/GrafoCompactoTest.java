@@ -0,0 +1,96 @@
+package com.example.uade.TP_Progra3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static com.example.uade.TP_Progra3.graph.GrafosDePrueba.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Compara los algoritmos de GrafoCompacto contra los de Graph sobre grafos aleatorios
+class GrafoCompactoTest {
+
+    @Test
+    void caminosIgualesQueGraph() {
+        Graph grafo = grafoAleatorio(7, 200, 600);
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+        Random random = new Random(11);
+
+        for (int i = 0; i < 100; i++) {
+            String desde = "A" + random.nextInt(200);
+            String hasta = "A" + random.nextInt(200);
+
+            assertEquals(grafo.calcularCosto(grafo.dijkstra(desde, hasta)),
+                    compacto.calcularCosto(compacto.dijkstra(desde, hasta)), 1e-9);
+            assertEquals(grafo.bfs(desde, hasta).size(), compacto.bfs(desde, hasta).size());
+            assertEquals(grafo.dfs(desde, hasta), compacto.dfs(desde, hasta));
+        }
+    }
+
+    @Test
+    void arbolesYRecorridosIgualesQueGraph() {
+        Graph grafo = grafoAleatorio(3, 120, 400);
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+
+        assertEquals(costoTotal(grafo.kruskalMST()), costoTotal(compacto.kruskalMST()), 1e-9);
+        assertEquals(costoTotal(grafo.primMST("A5")), costoTotal(compacto.primMST("A5")), 1e-9);
+        assertEquals(grafo.tspVecinoCercano("A0"), compacto.tspVecinoCercano("A0"));
+        assertEquals(grafo.floydWarshall(), compacto.floydWarshall());
+        assertEquals(grafo.ordenarPorGrado(), compacto.ordenarPorGrado());
+    }
+
+    @Test
+    void ordenarPorPesoEstableComoListSort() {
+        Random random = new Random(37);
+        for (int cantidad : new int[]{0, 1, 15, 16, 17, 100, 1000, 4099}) {
+            // Pocos pesos distintos: muchos empates, que tienen que quedar por id como con un sort estable
+            double[] pesos = new double[cantidad];
+            for (int e = 0; e < cantidad; e++) pesos[e] = random.nextInt(20);
+            int[] aristas = new int[cantidad + 3];
+            List<Integer> esperado = new ArrayList<>();
+            for (int e = 0; e < cantidad; e++) {
+                aristas[e] = e;
+                esperado.add(e);
+            }
+            esperado.sort(Comparator.comparingDouble(e -> pesos[e]));
+
+            GrafoCompacto.ordenarPorPeso(aristas, cantidad, pesos);
+            for (int i = 0; i < cantidad; i++) assertEquals(esperado.get(i), aristas[i]);
+        }
+    }
+
+    @Test
+    void estadisticasDeBusquedaCuentanElTrabajoDelHeap() {
+        // A-B(1), B-C(1), A-C(5), C-D(1): C entra con 5 y baja a 2 (decrease-key)
+        Graph grafo = new Graph();
+        grafo.agregarArista("A", "B", 1);
+        grafo.agregarArista("B", "C", 1);
+        grafo.agregarArista("A", "C", 5);
+        grafo.agregarArista("C", "D", 1);
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+
+        EstadisticasBusqueda dijkstra = EstadisticasBusqueda.DIJKSTRA;
+        long busquedas = dijkstra.busquedas();
+        long fijados = dijkstra.nodosFijados();
+        long inserciones = dijkstra.insercionesHeap();
+        long relajadas = dijkstra.aristasRelajadas();
+
+        compacto.arbolDijkstra(compacto.id("A"), null);
+
+        assertEquals(1, dijkstra.busquedas() - busquedas);
+        assertEquals(4, dijkstra.nodosFijados() - fijados);
+        assertEquals(4, dijkstra.insercionesHeap() - inserciones);
+        // B y C desde A, C desde B (baja la clave), D desde C
+        assertEquals(4, dijkstra.aristasRelajadas() - relajadas);
+    }
+
+    @Test
+    void nodoInexistente() {
+        GrafoCompacto compacto = GrafoCompacto.desde(grafoAleatorio(1, 10, 20));
+
+        assertNull(compacto.dijkstra("A0", "Z"));
+        assertNull(compacto.bfs("Z", "A0"));
+        assertNull(compacto.dfs("A0", "Z"));
+        assertEquals(List.of("A3"), compacto.dijkstra("A3", "A3"));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.uade.TP_Progra3.graph;
+
+import java.util.*;
+
+// Grafos aleatorios (con semilla) que comparten las pruebas de los distintos motores
+final class GrafosDePrueba {
+
+    private GrafosDePrueba() {
+    }
+
+    // Grafo conexo sin rutas paralelas
+    static Graph grafoAleatorio(long semilla, int nodos, int aristas) {
+        Random random = new Random(semilla);
+        Graph grafo = new Graph();
+        Set<String> pares = new HashSet<>();
+        for (int i = 1; i < nodos; i++) {
+            int j = random.nextInt(i);
+            pares.add(j + "|" + i);
+            grafo.agregarArista("A" + j, "A" + i, 1 + random.nextInt(50));
+        }
+        while (pares.size() < aristas) {
+            int a = random.nextInt(nodos);
+            int b = random.nextInt(nodos);
+            if (a < b && pares.add(a + "|" + b)) {
+                grafo.agregarArista("A" + a, "A" + b, 1 + random.nextInt(50));
+            }
+        }
+        return grafo;
+    }
+
+    // Grafo aleatorio de 300 nodos más 10 islas (cadenas de 2 a 11 nodos) sin rutas hacia el resto
+    static Graph grafoConIslas(long semilla) {
+        Graph grafo = grafoAleatorio(semilla, 300, 700);
+        for (int isla = 0; isla < 10; isla++) {
+            for (int j = 0; j <= isla; j++) {
+                grafo.agregarArista("I" + isla + "_" + j, "I" + isla + "_" + (j + 1), 1 + j);
+            }
+        }
+        return grafo;
+    }
+
+    static double costoTotal(List<Arista> aristas) {
+        double total = 0.0;
+        for (Arista arista : aristas) total += arista.peso;
+        return total;
+    }
+}
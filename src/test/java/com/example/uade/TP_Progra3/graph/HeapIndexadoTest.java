@@ -0,0 +1,126 @@
+package com.example.uade.TP_Progra3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Operaciones del heap indexado de a una, sin pasar por Dijkstra
+class HeapIndexadoTest {
+
+    @Test
+    void extraeEnOrdenDeClave() {
+        int n = 1_000;
+        Random random = new Random(3);
+        HeapIndexado heap = new HeapIndexado(n);
+        double[] claves = new double[n];
+        for (int v = 0; v < n; v++) {
+            // Pocas claves distintas: muchos empates
+            claves[v] = random.nextInt(100);
+            assertTrue(heap.insertarODisminuir(v, claves[v]));
+        }
+        assertEquals(n, heap.tamanio());
+
+        double anterior = Double.NEGATIVE_INFINITY;
+        Set<Integer> extraidos = new HashSet<>();
+        while (!heap.estaVacio()) {
+            double clave = heap.claveMinima();
+            int v = heap.extraerMin();
+            assertEquals(claves[v], clave);
+            assertTrue(clave >= anterior);
+            assertFalse(heap.contiene(v));
+            assertTrue(extraidos.add(v));
+            anterior = clave;
+        }
+        assertEquals(n, extraidos.size());
+        assertEquals(0, heap.tamanio());
+    }
+
+    @Test
+    void disminuirClaveReordenaYNuncaLaSube() {
+        HeapIndexado heap = new HeapIndexado(10);
+        for (int v = 0; v < 10; v++) heap.insertarODisminuir(v, 10 + v);
+        assertEquals(0, heap.minimo());
+
+        // El último pasa a ser el mínimo
+        assertTrue(heap.insertarODisminuir(9, 1));
+        assertEquals(9, heap.minimo());
+        assertEquals(1, heap.clave(9));
+
+        // Una clave mayor o igual no cambia nada
+        assertFalse(heap.insertarODisminuir(9, 5));
+        assertFalse(heap.insertarODisminuir(3, 13));
+        assertEquals(1, heap.clave(9));
+        assertEquals(13, heap.clave(3));
+        assertEquals(10, heap.tamanio());
+
+        assertEquals(10, heap.inserciones());
+        assertEquals(1, heap.disminuciones());
+
+        // Bajar claves en el medio del heap mantiene el orden de extracción
+        heap.insertarODisminuir(5, 0.5);
+        heap.insertarODisminuir(7, 0.75);
+        assertEquals(5, heap.extraerMin());
+        assertEquals(7, heap.extraerMin());
+        assertEquals(9, heap.extraerMin());
+        assertEquals(0, heap.extraerMin());
+    }
+
+    @Test
+    void reinsertarDespuesDeExtraer() {
+        HeapIndexado heap = new HeapIndexado(3);
+        heap.insertarODisminuir(0, 1);
+        heap.insertarODisminuir(1, 2);
+        assertEquals(0, heap.extraerMin());
+
+        // Ya no está: vuelve a entrar como nodo nuevo aunque su clave sea mayor que la anterior
+        assertFalse(heap.contiene(0));
+        assertTrue(heap.insertarODisminuir(0, 5));
+        assertTrue(heap.contiene(0));
+        assertEquals(1, heap.extraerMin());
+        assertEquals(0, heap.extraerMin());
+        assertTrue(heap.estaVacio());
+        assertEquals(3, heap.inserciones());
+        assertEquals(3, heap.extracciones());
+    }
+
+    @Test
+    void limpiarDejaElHeapListoParaOtraBusqueda() {
+        HeapIndexado heap = new HeapIndexado(100);
+        for (int v = 0; v < 100; v += 3) heap.insertarODisminuir(v, 100 - v);
+        heap.extraerMin();
+        heap.limpiar();
+
+        assertTrue(heap.estaVacio());
+        for (int v = 0; v < 100; v++) assertFalse(heap.contiene(v));
+
+        // Con claves mayores que las de antes: si quedaran posiciones viejas serían disminuciones ignoradas
+        assertTrue(heap.insertarODisminuir(3, 500));
+        assertTrue(heap.insertarODisminuir(99, 400));
+        assertEquals(2, heap.tamanio());
+        assertEquals(99, heap.extraerMin());
+        assertEquals(3, heap.extraerMin());
+
+        heap.reiniciarContadores();
+        assertEquals(0, heap.inserciones());
+        assertEquals(0, heap.extracciones());
+    }
+
+    @Test
+    void capacidadCompletaYUnSoloElemento() {
+        HeapIndexado uno = new HeapIndexado(1);
+        assertTrue(uno.estaVacio());
+        uno.insertarODisminuir(0, 7);
+        assertEquals(0, uno.minimo());
+        assertEquals(7, uno.claveMinima());
+        assertEquals(0, uno.extraerMin());
+        assertTrue(uno.estaVacio());
+
+        // Claves en orden decreciente: cada inserción sube hasta la raíz
+        int n = 257;
+        HeapIndexado heap = new HeapIndexado(n);
+        for (int v = 0; v < n; v++) heap.insertarODisminuir(v, n - v);
+        for (int esperado = n - 1; esperado >= 0; esperado--) assertEquals(esperado, heap.extraerMin());
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.uade.TP_Progra3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Casos borde de la jerarquía de contracción: atajos anidados, islas, empates y consultas concurrentes
+class JerarquiaContraccionTest {
+
+    private static double costo(Graph grafo, List<String> camino) {
+        return grafo.calcularCosto(camino);
+    }
+
+    @Test
+    void cadenaLargaSeDesempaquetaCompleta() {
+        // En una cadena cada contracción genera un atajo sobre otro atajo
+        Graph grafo = new Graph();
+        for (int i = 0; i < 500; i++) grafo.agregarArista("C" + i, "C" + (i + 1), 1 + i % 3);
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+        JerarquiaContraccion jerarquia = JerarquiaContraccion.construir(compacto);
+
+        ResultadoCamino resultado = jerarquia.consultar(compacto.id("C0"), compacto.id("C500"));
+        assertEquals(501, resultado.camino.size());
+        for (int i = 0; i <= 500; i++) assertEquals("C" + i, resultado.camino.get(i));
+        assertEquals(costo(grafo, resultado.camino), resultado.costo, 1e-9);
+
+        // Al revés da el mismo camino invertido
+        List<String> vuelta = jerarquia.consultar(compacto.id("C500"), compacto.id("C0")).camino;
+        List<String> invertido = new ArrayList<>(vuelta);
+        Collections.reverse(invertido);
+        assertEquals(resultado.camino, invertido);
+    }
+
+    @Test
+    void mismoNodoEIslas() {
+        Graph grafo = new Graph();
+        grafo.agregarArista("A", "B", 2);
+        grafo.agregarArista("B", "C", 2);
+        grafo.agregarArista("X", "Y", 1);
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+        JerarquiaContraccion jerarquia = JerarquiaContraccion.construir(compacto);
+
+        ResultadoCamino mismo = jerarquia.consultar(compacto.id("B"), compacto.id("B"));
+        assertEquals(List.of("B"), mismo.camino);
+        assertEquals(0.0, mismo.costo);
+
+        ResultadoCamino sinCamino = jerarquia.consultar(compacto.id("A"), compacto.id("Y"));
+        assertNull(sinCamino.camino);
+        assertEquals(Double.POSITIVE_INFINITY, sinCamino.costo);
+
+        // Después de una consulta sin camino el espacio reutilizado no arrastra distancias viejas
+        assertEquals(List.of("A", "B", "C"), jerarquia.consultar(compacto.id("A"), compacto.id("C")).camino);
+        assertEquals(List.of("Y", "X"), jerarquia.consultar(compacto.id("Y"), compacto.id("X")).camino);
+    }
+
+    @Test
+    void rutaDirectaMasCaraQueElRodeo() {
+        // El atajo A-C por B no hace falta si la ruta directa es más barata, y sí si es más cara
+        Graph grafo = new Graph();
+        grafo.agregarArista("A", "B", 1);
+        grafo.agregarArista("B", "C", 1);
+        grafo.agregarArista("A", "C", 5);
+        grafo.agregarArista("C", "D", 1);
+        grafo.agregarArista("D", "E", 1);
+        grafo.agregarArista("A", "E", 3);
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+        JerarquiaContraccion jerarquia = JerarquiaContraccion.construir(compacto);
+
+        ResultadoCamino ac = jerarquia.consultar(compacto.id("A"), compacto.id("C"));
+        assertEquals(List.of("A", "B", "C"), ac.camino);
+        assertEquals(2.0, ac.costo);
+        ResultadoCamino bd = jerarquia.consultar(compacto.id("B"), compacto.id("D"));
+        assertEquals(2.0, bd.costo);
+        assertEquals(List.of("B", "C", "D"), bd.camino);
+        assertEquals(3.0, jerarquia.consultar(compacto.id("A"), compacto.id("E")).costo);
+    }
+
+    @Test
+    void costosIgualesSiempreDanUnCaminoMinimo() {
+        // Grilla con todos los costos iguales: hay muchos caminos mínimos y muchos testigos empatados
+        Graph grafo = new Graph();
+        int lado = 20;
+        for (int f = 0; f < lado; f++) {
+            for (int c = 0; c < lado; c++) {
+                if (c + 1 < lado) grafo.agregarArista(f + "_" + c, f + "_" + (c + 1), 1);
+                if (f + 1 < lado) grafo.agregarArista(f + "_" + c, (f + 1) + "_" + c, 1);
+            }
+        }
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+        JerarquiaContraccion jerarquia = JerarquiaContraccion.construir(compacto);
+        Random random = new Random(23);
+
+        for (int i = 0; i < 100; i++) {
+            int f1 = random.nextInt(lado), c1 = random.nextInt(lado), f2 = random.nextInt(lado), c2 = random.nextInt(lado);
+            ResultadoCamino resultado = jerarquia.consultar(compacto.id(f1 + "_" + c1), compacto.id(f2 + "_" + c2));
+            int manhattan = Math.abs(f1 - f2) + Math.abs(c1 - c2);
+            assertEquals(manhattan, resultado.costo, 1e-9);
+            assertEquals(manhattan + 1, resultado.camino.size());
+            assertEquals(manhattan, costo(grafo, resultado.camino), 1e-9);
+        }
+    }
+
+    @Test
+    void consultasConcurrentesConMasHilosQueEspaciosLibres() throws Exception {
+        Graph grafo = new Graph();
+        Random armado = new Random(29);
+        for (int i = 1; i < 400; i++) grafo.agregarArista("N" + armado.nextInt(i), "N" + i, 1 + armado.nextInt(20));
+        for (int i = 0; i < 400; i++) grafo.agregarArista("N" + armado.nextInt(400), "N" + armado.nextInt(400), 1 + armado.nextInt(20));
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+        JerarquiaContraccion jerarquia = JerarquiaContraccion.construir(compacto);
+
+        int hilos = Runtime.getRuntime().availableProcessors() * 3 + 1;
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int t = 0; t < hilos; t++) {
+                long semilla = t;
+                tareas.add(ejecutor.submit(() -> {
+                    Random random = new Random(semilla);
+                    for (int i = 0; i < 100; i++) {
+                        int a = random.nextInt(compacto.cantidadNodos());
+                        int b = random.nextInt(compacto.cantidadNodos());
+                        double esperado = compacto.arbolDijkstra(a, new int[]{b}).distancia(b);
+                        ResultadoCamino resultado = jerarquia.consultar(a, b);
+                        assertEquals(esperado, resultado.costo, 1e-9);
+                        assertEquals(resultado.costo, costo(grafo, resultado.camino), 1e-9);
+                    }
+                }));
+            }
+            for (Future<?> tarea : tareas) tarea.get(60, TimeUnit.SECONDS);
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void nodosAislados() {
+        // Dos nodos sin ninguna ruta: se contraen sin atajos y solo llegan a sí mismos
+        Graph grafo = new Graph();
+        grafo.agregarArista("S", "T", 1);
+        grafo.quitarArista("S", "T");
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+        JerarquiaContraccion jerarquia = JerarquiaContraccion.construir(compacto);
+
+        assertEquals(0, jerarquia.cantidadAtajos());
+        assertEquals(List.of("S"), jerarquia.consultar(compacto.id("S"), compacto.id("S")).camino);
+        assertNull(jerarquia.consultar(compacto.id("S"), compacto.id("T")).camino);
+    }
+}
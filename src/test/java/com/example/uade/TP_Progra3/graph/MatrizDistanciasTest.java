@@ -0,0 +1,65 @@
+package com.example.uade.TP_Progra3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static com.example.uade.TP_Progra3.graph.GrafosDePrueba.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Floyd-Warshall por bloques sobre la matriz plana y las filas de distancias que se sirven desde ella
+class MatrizDistanciasTest {
+
+    @Test
+    void grafosChicosYComoMapa() {
+        MatrizDistancias vacia = MatrizDistancias.calcular(GrafoCompacto.desde(new Graph()));
+        assertEquals(0, vacia.cantidadNodos());
+        assertTrue(vacia.comoMapa().isEmpty());
+
+        // Tres nodos (un solo bloque incompleto) con una ruta directa más cara que el desvío
+        Graph grafo = new Graph();
+        grafo.agregarArista("A", "B", 1);
+        grafo.agregarArista("B", "C", 1);
+        grafo.agregarArista("A", "C", 5);
+        grafo.agregarArista("X", "Y", 2);
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+        MatrizDistancias matriz = MatrizDistancias.calcular(compacto);
+
+        assertEquals(2.0, matriz.distancia(compacto.id("A"), compacto.id("C")));
+        assertEquals(0.0, matriz.distancia(compacto.id("X"), compacto.id("X")));
+        assertEquals(Double.POSITIVE_INFINITY, matriz.distancia(compacto.id("A"), compacto.id("Y")));
+        // La vista como mapa tiene los mismos valores que los caminosMinimos de Graph.floydWarshall
+        assertEquals(grafo.floydWarshall().get("caminosMinimos"), matriz.comoMapa());
+    }
+
+    @Test
+    void floydPorBloquesIgualQueDijkstra() {
+        // 300 nodos: varios bloques y el último incompleto
+        Graph grafo = grafoAleatorio(3, 300, 700);
+        grafo.agregarArista("Aislado1", "Aislado2", 3);
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+        MatrizDistancias matriz = MatrizDistancias.calcular(compacto);
+
+        for (int desde = 0; desde < compacto.cantidadNodos(); desde += 7) {
+            ArbolCaminos arbol = compacto.arbolDijkstra(desde, null);
+            for (int hasta = 0; hasta < compacto.cantidadNodos(); hasta++) {
+                assertEquals(arbol.distancia(hasta), matriz.distancia(desde, hasta), 1e-9);
+            }
+        }
+
+        // Submatriz por Dijkstra (filas pedidas) y por la matriz completa (todas las filas)
+        int[] filas = {0, 5, compacto.cantidadNodos() - 1};
+        int[] columnas = {3, compacto.cantidadNodos() - 2, 0};
+        FilasDistancias porDijkstra = FilasDistancias.de(compacto, filas, columnas);
+        FilasDistancias porMatriz = FilasDistancias.de(compacto, null, columnas);
+        double[] fila = new double[columnas.length];
+        for (int i = 0; i < filas.length; i++) {
+            porDijkstra.calcularFila(i, fila);
+            for (int j = 0; j < columnas.length; j++) assertEquals(matriz.distancia(filas[i], columnas[j]), fila[j], 1e-9);
+        }
+        for (int i = 0; i < porMatriz.cantidadFilas(); i++) {
+            porMatriz.calcularFila(i, fila);
+            for (int j = 0; j < columnas.length; j++) assertEquals(matriz.distancia(i, columnas[j]), fila[j], 1e-9);
+        }
+    }
+}
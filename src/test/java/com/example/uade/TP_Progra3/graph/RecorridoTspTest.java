@@ -0,0 +1,133 @@
+package com.example.uade.TP_Progra3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static com.example.uade.TP_Progra3.graph.GrafosDePrueba.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Casos borde del recorrido del viajante: pocas paradas, presupuesto mínimo y el camino completo
+class RecorridoTspTest {
+
+    // Cadena A - B - C - D - E con costo 1 por ruta y un atajo caro A - E
+    private static GrafoCompacto cadena() {
+        Graph grafo = new Graph();
+        grafo.agregarArista("A", "B", 1);
+        grafo.agregarArista("B", "C", 1);
+        grafo.agregarArista("C", "D", 1);
+        grafo.agregarArista("D", "E", 1);
+        grafo.agregarArista("A", "E", 10);
+        return GrafoCompacto.desde(grafo);
+    }
+
+    @Test
+    void soloElDeposito() {
+        GrafoCompacto grafo = cadena();
+        RecorridoTsp recorrido = RecorridoTsp.resolver(grafo, new int[]{grafo.id("C")}, 1_000_000_000L, 4);
+
+        assertArrayEquals(new int[]{grafo.id("C")}, recorrido.recorrido());
+        assertEquals(List.of("C"), recorrido.camino());
+        assertEquals(0.0, recorrido.costo());
+    }
+
+    @Test
+    void dosParadasSinRutaDirectaIdaYVuelta() {
+        GrafoCompacto grafo = cadena();
+        RecorridoTsp recorrido = RecorridoTsp.resolver(grafo, new int[]{grafo.id("B"), grafo.id("D")}, 1_000_000_000L, 2);
+
+        assertEquals(List.of("B", "C", "D", "C", "B"), recorrido.camino());
+        assertEquals(4.0, recorrido.costo());
+    }
+
+    @Test
+    void elCaminoCompletoCuestaLoMismoQueElRecorrido() {
+        GrafoCompacto grafo = cadena();
+        int[] paradas = {grafo.id("A"), grafo.id("C"), grafo.id("E")};
+        RecorridoTsp recorrido = RecorridoTsp.resolver(grafo, paradas, 1_000_000_000L, 4);
+
+        // Por la cadena ida y vuelta (8) es más barato que usar el atajo A - E (14)
+        assertEquals(8.0, recorrido.costo());
+        List<String> camino = recorrido.camino();
+        assertEquals("A", camino.get(0));
+        assertEquals("A", camino.get(camino.size() - 1));
+        assertEquals(recorrido.costo(), grafo.calcularCosto(camino), 1e-9);
+        for (int parada : paradas) assertTrue(camino.contains(grafo.nombre(parada)));
+    }
+
+    @Test
+    void presupuestoVencidoIgualDevuelveUnRecorridoValido() {
+        Graph grafo = new Graph();
+        Random random = new Random(41);
+        for (int i = 1; i < 500; i++) grafo.agregarArista("N" + random.nextInt(i), "N" + i, 1 + random.nextInt(30));
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+        int[] paradas = random.ints(0, compacto.cantidadNodos()).distinct().limit(60).toArray();
+
+        // Un nanosegundo: solo corre el primer arranque (su búsqueda local corta en la primera revisión del plazo)
+        RecorridoTsp recorrido = RecorridoTsp.resolver(compacto, paradas, 1, 8);
+        assertEquals(1, recorrido.arranques());
+        assertEquals(paradas[0], recorrido.recorrido()[0]);
+        assertTrue(recorrido.costo() <= recorrido.costoVecinoCercano() + 1e-9);
+        assertEquals(recorrido.costo(), compacto.calcularCosto(recorrido.camino()), 1e-6);
+        Set<String> visitados = new HashSet<>(recorrido.camino());
+        for (int parada : paradas) assertTrue(visitados.contains(compacto.nombre(parada)));
+    }
+
+    @Test
+    void demasiadasParadas() {
+        Graph grafo = new Graph();
+        for (int i = 0; i < RecorridoTsp.MAXIMO_PARADAS; i++) grafo.agregarArista("N" + i, "N" + (i + 1), 1);
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+        int[] paradas = IntStream.range(0, RecorridoTsp.MAXIMO_PARADAS + 1).toArray();
+
+        assertThrows(IllegalArgumentException.class, () -> RecorridoTsp.resolver(compacto, paradas, 1_000_000L, 1));
+    }
+
+    @Test
+    void recorridoTspMejoraVecinoCercanoYCierraElCiclo() {
+        for (long semilla = 1; semilla <= 3; semilla++) {
+            Graph grafo = grafoAleatorio(semilla, 300, 600);
+            GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+            int[] paradas = new Random(semilla).ints(0, compacto.cantidadNodos()).distinct().limit(80).toArray();
+
+            RecorridoTsp recorrido = RecorridoTsp.resolver(compacto, paradas, 10_000_000_000L, 4);
+            int[] orden = recorrido.recorrido();
+            assertEquals(paradas[0], orden[0]);
+            assertEquals(Arrays.stream(paradas).sorted().boxed().toList(), Arrays.stream(orden).sorted().boxed().toList());
+            assertTrue(recorrido.costo() <= recorrido.costoVecinoCercano() + 1e-9);
+
+            double costo = 0.0;
+            for (int i = 0; i < orden.length; i++) {
+                costo += compacto.arbolDijkstra(orden[i], null).distancia(orden[(i + 1) % orden.length]);
+            }
+            assertEquals(costo, recorrido.costo(), 1e-6);
+        }
+
+        // Pocas paradas: contra el óptimo por fuerza bruta
+        Graph grafo = grafoAleatorio(9, 100, 250);
+        GrafoCompacto compacto = GrafoCompacto.desde(grafo);
+        int[] paradas = {0, 7, 15, 23, 42, 56, 71, 88};
+        double[][] costos = new double[paradas.length][paradas.length];
+        for (int i = 0; i < paradas.length; i++) {
+            ArbolCaminos arbol = compacto.arbolDijkstra(paradas[i], null);
+            for (int j = 0; j < paradas.length; j++) costos[i][j] = arbol.distancia(paradas[j]);
+        }
+        double optimo = mejorCiclo(costos, new int[paradas.length], new boolean[paradas.length], 1, 0.0);
+        assertEquals(optimo, RecorridoTsp.resolver(compacto, paradas, 10_000_000_000L, 8).costo(), 1e-6);
+    }
+
+    private static double mejorCiclo(double[][] costos, int[] orden, boolean[] usado, int largo, double acumulado) {
+        int k = costos.length;
+        if (largo == k) return acumulado + costos[orden[k - 1]][orden[0]];
+        double mejor = Double.POSITIVE_INFINITY;
+        for (int j = 1; j < k; j++) {
+            if (usado[j]) continue;
+            usado[j] = true;
+            orden[largo] = j;
+            mejor = Math.min(mejor, mejorCiclo(costos, orden, usado, largo + 1, acumulado + costos[orden[largo - 1]][j]));
+            usado[j] = false;
+        }
+        return mejor;
+    }
+}
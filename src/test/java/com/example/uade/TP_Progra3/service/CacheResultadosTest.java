@@ -0,0 +1,96 @@
+package com.example.uade.TP_Progra3.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Aciertos, desalojo del menos usado por peso y descarte de versiones viejas
+@SuppressWarnings("unchecked")
+class CacheResultadosTest {
+
+    @Test
+    void desalojaPorPesoElMenosUsadoYDescartaVersionesViejas() {
+        CacheResultados cache = new CacheResultados(10);
+        AtomicInteger calculos = new AtomicInteger();
+
+        // Cada lista de 3 elementos pesa 4
+        for (String algoritmo : List.of("a", "b")) {
+            cache.obtener(1, algoritmo, "", () -> { calculos.incrementAndGet(); return List.of(1, 2, 3); });
+        }
+        cache.obtener(1, "a", "", () -> { calculos.incrementAndGet(); return List.of(1, 2, 3); });
+        assertEquals(2, calculos.get());
+
+        // "b" es el menos usado: sale al entrar "c"
+        cache.obtener(1, "c", "", () -> { calculos.incrementAndGet(); return List.of(1, 2, 3); });
+        cache.obtener(1, "a", "", () -> { calculos.incrementAndGet(); return List.of(1, 2, 3); });
+        assertEquals(3, calculos.get());
+        cache.obtener(1, "b", "", () -> { calculos.incrementAndGet(); return List.of(1, 2, 3); });
+        assertEquals(4, calculos.get());
+
+        // Lo que pesa más que todo el cache se devuelve sin guardar
+        List<Integer> grande = new ArrayList<>(Collections.nCopies(20, 0));
+        assertSame(grande, cache.obtener(1, "grande", "", () -> grande));
+
+        Map<String,Object> estadisticas = cache.estadisticas();
+        assertEquals(2L, estadisticas.get("hits"));
+        assertEquals(5L, estadisticas.get("misses"));
+        assertEquals(2L, estadisticas.get("evictions"));
+        assertEquals(8L, estadisticas.get("weight"));
+
+        // Versión nueva: lo anterior se descarta y un cálculo atrasado de la versión 1 ya no se guarda
+        cache.descartarAnteriores(2);
+        assertEquals(0, cache.estadisticas().get("entries"));
+        cache.obtener(1, "a", "", () -> List.of(1));
+        assertEquals(0, cache.estadisticas().get("entries"));
+        cache.obtener(2, "a", "", () -> List.of(1));
+        assertEquals(1, cache.estadisticas().get("entries"));
+    }
+
+    @Test
+    void buscarNoCalculaYSoloCuentaAciertos() {
+        CacheResultados cache = new CacheResultados(100);
+        assertNull(cache.buscar(1, "a", ""));
+        assertEquals(0L, cache.estadisticas().get("misses"));
+
+        List<Integer> guardado = cache.obtener(1, "a", "", () -> List.of(1, 2));
+        assertSame(guardado, cache.buscar(1, "a", ""));
+        assertNull(cache.buscar(2, "a", ""));
+        assertNull(cache.buscar(1, "a", "otro"));
+        assertEquals(1L, cache.estadisticas().get("hits"));
+        assertEquals(1L, cache.estadisticas().get("misses"));
+    }
+
+    @Test
+    void entregaCopiasDeSoloLecturaATodos() {
+        CacheResultados cache = new CacheResultados(100);
+        Map<String,Object> calculado = new LinkedHashMap<>();
+        List<String> camino = new ArrayList<>(List.of("A", "B"));
+        Set<String> nodos = new LinkedHashSet<>(List.of("B", "A"));
+        calculado.put("path", camino);
+        calculado.put("nodes", nodos);
+        calculado.put("edges", new ArrayList<>(List.of(new HashMap<>(Map.of("from", "A")))));
+        calculado.put("previous", null);
+
+        Map<String,Object> primero = cache.obtener(1, "a", "", () -> calculado);
+        Map<String,Object> segundo = cache.obtener(1, "a", "", () -> fail("debería salir del cache"));
+        assertSame(primero, segundo);
+
+        // Nada de lo entregado se puede modificar, ni en los niveles de adentro
+        assertThrows(UnsupportedOperationException.class, () -> primero.put("x", 1));
+        assertThrows(UnsupportedOperationException.class, () -> ((List<Object>) primero.get("path")).add("C"));
+        assertThrows(UnsupportedOperationException.class, () -> ((Set<Object>) primero.get("nodes")).clear());
+        List<Map<String,Object>> aristas = (List<Map<String,Object>>) primero.get("edges");
+        assertThrows(UnsupportedOperationException.class, () -> aristas.get(0).put("to", "B"));
+
+        // Tocar lo que armó el cálculo después de guardarlo tampoco cambia lo guardado
+        camino.add("C");
+        nodos.add("Z");
+        assertEquals(List.of("A", "B"), segundo.get("path"));
+        assertEquals(List.of("B", "A"), new ArrayList<>((Set<?>) segundo.get("nodes")));
+        assertTrue(segundo.containsKey("previous"));
+        assertEquals(List.of("path", "nodes", "edges", "previous"), new ArrayList<>(segundo.keySet()));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.uade.TP_Progra3.service;
+
+import com.example.uade.TP_Progra3.graph.ArchivoGrafo;
+import com.example.uade.TP_Progra3.graph.GrafoCompacto;
+import com.example.uade.TP_Progra3.graph.Graph;
+import com.example.uade.TP_Progra3.repository.AlmacenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Arranque desde el archivo binario: primero la copia guardada, después la BD (o solo el archivo)
+class LogisticaServiceArchivoTest {
+
+    private static LogisticaService servicio(AlmacenRepository repositorio, Path archivo, boolean soloArchivo) {
+        return new LogisticaService(repositorio, new SimpleMeterRegistry(), false, false, new String[0], 1000, 500_000,
+                archivo.toString(), soloArchivo);
+    }
+
+    private static void escribirGrafo(Path destino, long version, String... almacenes) throws IOException {
+        Graph grafo = new Graph();
+        for (int i = 1; i < almacenes.length; i++) grafo.agregarArista(almacenes[i - 1], almacenes[i], i);
+        ArchivoGrafo.escribir(GrafoCompacto.desde(grafo), version, destino);
+    }
+
+    @Test
+    void conArchivoIgualPublicaLaVersionDeLaBd(@TempDir Path carpeta) throws Exception {
+        Path archivo = carpeta.resolve("grafo.bin");
+        escribirGrafo(archivo, 7, "A", "B");
+        AlmacenRepository repositorio = Mockito.mock(AlmacenRepository.class);
+        Mockito.when(repositorio.findAllEdges()).thenReturn(Flux.fromIterable(List.of(
+                Map.<String, Object>of("from", "A", "to", "B", "cost", 1),
+                Map.<String, Object>of("from", "B", "to", "Z", "cost", 2))));
+        LogisticaService servicio = servicio(repositorio, archivo, false);
+
+        servicio.cargarAlIniciar();
+
+        // La carga desde el archivo (versión 1) termina antes de pedir la BD, que publica la versión 2
+        long limite = System.nanoTime() + 10_000_000_000L;
+        GrafoSnapshot actual = servicio.obtenerSnapshot().block();
+        while (actual.version < 2 && System.nanoTime() < limite) {
+            Thread.sleep(10);
+            actual = servicio.obtenerSnapshot().block();
+        }
+        assertEquals(2, actual.version);
+        assertTrue(actual.grafo.id("Z") >= 0);
+        Mockito.verify(repositorio).findAllEdges();
+    }
+
+    @Test
+    void soloArchivoNoRepublicaSiElArchivoNoCambio(@TempDir Path carpeta) throws Exception {
+        Path archivo = carpeta.resolve("grafo.bin");
+        escribirGrafo(archivo, 7, "A", "B", "C");
+        AlmacenRepository repositorio = Mockito.mock(AlmacenRepository.class);
+        LogisticaService servicio = servicio(repositorio, archivo, true);
+
+        GrafoSnapshot primero = servicio.refrescarGrafo().block();
+        assertSame(primero, servicio.refrescarGrafo().block());
+
+        escribirGrafo(archivo, 8, "A", "B", "C", "D");
+        GrafoSnapshot segundo = servicio.refrescarGrafo().block();
+        assertEquals(primero.version + 1, segundo.version);
+        assertEquals(4, segundo.grafo.cantidadNodos());
+        Mockito.verifyNoInteractions(repositorio);
+    }
+}
@@ -0,0 +1,306 @@
+package com.example.uade.TP_Progra3.service;
+
+import com.example.uade.TP_Progra3.graph.CambioRuta;
+import com.example.uade.TP_Progra3.repository.AlmacenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// LogisticaService sobre un repositorio simulado (sin Neo4j): snapshot compartido y endpoints sobre él
+class LogisticaServiceTest {
+
+    // Rutas como las devuelve findAllEdges: desde, hasta, costo, desde, hasta, costo...
+    private static List<Map<String, Object>> rutas(Object... datos) {
+        List<Map<String, Object>> rutas = new ArrayList<>();
+        for (int i = 0; i < datos.length; i += 3) rutas.add(Map.of("from", datos[i], "to", datos[i + 1], "cost", datos[i + 2]));
+        return rutas;
+    }
+
+    private static AlmacenRepository repositorio(List<Map<String, Object>> rutas) {
+        AlmacenRepository repositorio = Mockito.mock(AlmacenRepository.class);
+        Mockito.when(repositorio.findAllEdges()).thenAnswer(invocacion -> Flux.fromIterable(new ArrayList<>(rutas)));
+        return repositorio;
+    }
+
+    private static LogisticaService servicio(AlmacenRepository repositorio) {
+        return new LogisticaService(repositorio, new SimpleMeterRegistry(), false, false, new String[0], 1000, 500_000, "", false);
+    }
+
+    @Test
+    void cargasSimultaneasLeenLaBdUnaSolaVez() throws Exception {
+        Sinks.Empty<Void> liberar = Sinks.empty();
+        AtomicInteger lecturas = new AtomicInteger();
+        AlmacenRepository repositorio = Mockito.mock(AlmacenRepository.class);
+        Mockito.when(repositorio.findAllEdges()).thenAnswer(invocacion -> {
+            lecturas.incrementAndGet();
+            return Flux.fromIterable(rutas("A", "B", 4, "B", "C", 1)).delaySubscription(liberar.asMono());
+        });
+        LogisticaService servicio = servicio(repositorio);
+
+        // Las dos piden el grafo mientras la primera lectura sigue en curso: comparten esa lectura
+        CompletableFuture<GrafoSnapshot> primero = servicio.obtenerSnapshot().toFuture();
+        CompletableFuture<GrafoSnapshot> segundo = servicio.refrescarGrafo().toFuture();
+        liberar.tryEmitEmpty();
+
+        GrafoSnapshot cargado = primero.get(10, TimeUnit.SECONDS);
+        assertSame(cargado, segundo.get(10, TimeUnit.SECONDS));
+        assertEquals(1, cargado.version);
+        assertEquals(1, lecturas.get());
+
+        // Ya cargado, obtenerSnapshot no vuelve a la BD
+        assertSame(cargado, servicio.obtenerSnapshot().block());
+        assertEquals(1, lecturas.get());
+    }
+
+    @Test
+    void cadaRefrescoPublicaUnaVersionNuevaSinTocarLaAnterior() {
+        List<Map<String, Object>> rutas = rutas("A", "B", 4, "B", "C", 1);
+        LogisticaService servicio = servicio(repositorio(rutas));
+
+        GrafoSnapshot primera = servicio.refrescarGrafo().block();
+        rutas.addAll(rutas("C", "D", 2));
+        GrafoSnapshot segunda = servicio.refrescarGrafo().block();
+
+        assertEquals(primera.version + 1, segunda.version);
+        assertSame(segunda, servicio.obtenerSnapshot().block());
+        // Quien tomó la versión anterior la sigue viendo igual
+        assertEquals(-1, primera.grafo.id("D"));
+        assertEquals(3, primera.grafo.cantidadNodos());
+        assertEquals(4, segunda.grafo.cantidadNodos());
+
+        GrafoSnapshot tercera = servicio.aplicarCambios(List.of(CambioRuta.quitar("C", "D"))).block();
+        assertEquals(segunda.version + 1, tercera.version);
+        assertEquals(Double.POSITIVE_INFINITY, tercera.grafo.arbolDijkstra(tercera.grafo.id("A"), null).distancia(tercera.grafo.id("D")));
+        assertEquals(7.0, segunda.grafo.arbolDijkstra(segunda.grafo.id("A"), null).distancia(segunda.grafo.id("D")));
+    }
+
+    @Test
+    void siLaBdFallaSeMantieneLaVersionVigente() {
+        AlmacenRepository repositorio = Mockito.mock(AlmacenRepository.class);
+        Mockito.when(repositorio.findAllEdges())
+                .thenReturn(Flux.fromIterable(rutas("A", "B", 4)))
+                .thenReturn(Flux.error(new IllegalStateException("BD caída")))
+                .thenReturn(Flux.fromIterable(rutas("A", "B", 4, "B", "C", 1)));
+        LogisticaService servicio = servicio(repositorio);
+
+        GrafoSnapshot vigente = servicio.refrescarGrafo().block();
+        assertThrows(IllegalStateException.class, () -> servicio.refrescarGrafo().block());
+        assertSame(vigente, servicio.obtenerSnapshot().block());
+
+        // La carga fallida no queda registrada como en curso: el próximo refresco vuelve a leer
+        GrafoSnapshot siguiente = servicio.refrescarGrafo().block();
+        assertEquals(vigente.version + 1, siguiente.version);
+        assertEquals(3, siguiente.grafo.cantidadNodos());
+    }
+
+    private static Map<String, String> par(String desde, String hasta) {
+        Map<String, String> par = new HashMap<>();
+        par.put("from", desde);
+        par.put("to", hasta);
+        return par;
+    }
+
+    @Test
+    void loteInformaLosErroresEnCadaPar() {
+        LogisticaService servicio = servicio(repositorio(rutas("A", "B", 4, "B", "C", 1, "X", "Y", 1)));
+        GrafoSnapshot actual = servicio.obtenerSnapshot().block();
+
+        List<Map<String, Object>> resultados = servicio.dijkstraLote(actual, List.of(
+                par("A", "C"), par("A", "Y"), par("Q", "A"), par("A", "Q"), par(null, "A"), par("B", "C"))).collectList().block();
+
+        assertEquals(6, resultados.size());
+        Map<String, Map<String, Object>> porPar = new HashMap<>();
+        for (Map<String, Object> resultado : resultados) porPar.put(resultado.get("from") + "->" + resultado.get("to"), resultado);
+
+        assertEquals(List.of("A", "B", "C"), porPar.get("A->C").get("path"));
+        assertEquals(5.0, porPar.get("A->C").get("totalCost"));
+        assertFalse(porPar.get("A->C").containsKey("error"));
+        assertEquals(List.of("B", "C"), porPar.get("B->C").get("path"));
+        // Sin camino no es un error: los dos almacenes existen
+        assertEquals(Double.POSITIVE_INFINITY, porPar.get("A->Y").get("totalCost"));
+        assertFalse(porPar.get("A->Y").containsKey("error"));
+
+        assertEquals("almacén inexistente: Q", porPar.get("Q->A").get("error"));
+        assertEquals("almacén inexistente: Q", porPar.get("A->Q").get("error"));
+        assertEquals("el par necesita from y to", porPar.get("null->A").get("error"));
+        for (String conError : List.of("Q->A", "A->Q", "null->A")) {
+            assertEquals(List.of(), porPar.get(conError).get("path"));
+            assertEquals(Double.POSITIVE_INFINITY, porPar.get(conError).get("totalCost"));
+        }
+    }
+
+    @Test
+    void distanciasOrdenadasPorCostoYCortadasEnElMaximo() {
+        // Cadena A - B - C - D con costos 1, 2, 3 y un atajo A - D de 10; E - F aparte
+        LogisticaService servicio = servicio(repositorio(rutas("A", "B", 1, "B", "C", 2, "C", "D", 3, "A", "D", 10, "E", "F", 1)));
+        GrafoSnapshot actual = servicio.obtenerSnapshot().block();
+
+        List<Map<String, Object>> todas = servicio.distanciasDesde(actual, "A", null, null).collectList().block();
+        assertEquals(List.of("A", "B", "C", "D"), todas.stream().map(fila -> fila.get("to")).toList());
+        assertEquals(List.of(0.0, 1.0, 3.0, 6.0), todas.stream().map(fila -> fila.get("totalCost")).toList());
+        assertEquals(Arrays.asList(null, "A", "B", "C"), todas.stream().map(fila -> fila.get("previous")).toList());
+
+        // El máximo es inclusivo: D (6) queda afuera con 5, C (3) entra justo con 3
+        List<Map<String, Object>> hastaCinco = servicio.distanciasDesde(actual, "A", 5.0, null).collectList().block();
+        assertEquals(List.of("A", "B", "C"), hastaCinco.stream().map(fila -> fila.get("to")).toList());
+        List<Map<String, Object>> hastaTres = servicio.distanciasDesde(actual, "A", 3.0, null).collectList().block();
+        assertEquals(List.of("A", "B", "C"), hastaTres.stream().map(fila -> fila.get("to")).toList());
+    }
+
+    @Test
+    void distanciasASubconjuntoInformanLosNoAlcanzadosAlFinal() {
+        LogisticaService servicio = servicio(repositorio(rutas("A", "B", 1, "B", "C", 2, "C", "D", 3, "E", "F", 1)));
+        GrafoSnapshot actual = servicio.obtenerSnapshot().block();
+
+        // D supera el máximo y F está en otra componente: salen al final sin costo ni previo; Q no existe y se ignora
+        List<Map<String, Object>> filas = servicio.distanciasDesde(actual, "A", 4.0, List.of("F", "D", "C", "Q")).collectList().block();
+        assertEquals("C", filas.get(0).get("to"));
+        assertEquals(3.0, filas.get(0).get("totalCost"));
+        assertEquals("B", filas.get(0).get("previous"));
+        assertEquals(Set.of("D", "F"), Set.of(filas.get(1).get("to"), filas.get(2).get("to")));
+        for (Map<String, Object> fila : filas.subList(1, 3)) {
+            assertEquals(Double.POSITIVE_INFINITY, fila.get("totalCost"));
+            assertNull(fila.get("previous"));
+        }
+        assertEquals(3, filas.size());
+
+        ResponseStatusException error = assertThrows(ResponseStatusException.class,
+                () -> servicio.distanciasDesde(actual, "Q", null, null));
+        assertEquals(HttpStatus.BAD_REQUEST, error.getStatusCode());
+    }
+
+    // Delta sobre dos rutas paralelas A - B (r1 = 2, r2 = 5): la BD devuelve los costos vivos de cada par tocado
+    private static AlmacenRepository repositorioConParalelas(List<Map<String, Object>> vivas) {
+        AlmacenRepository repositorio = repositorio(rutas("A", "B", 2, "A", "B", 5, "B", "C", 1));
+        Mockito.when(repositorio.findLiveCostsBetween(Mockito.anyList()))
+                .thenAnswer(invocacion -> Flux.fromIterable(new ArrayList<>(vivas)));
+        return repositorio;
+    }
+
+    private static Map<String, Object> filaDelta(String desde, String hasta, Object costo, boolean eliminada, long marca) {
+        Map<String, Object> fila = new HashMap<>();
+        fila.put("from", desde);
+        fila.put("to", hasta);
+        fila.put("cost", costo);
+        fila.put("removed", eliminada);
+        fila.put("updated", marca);
+        return fila;
+    }
+
+    private static double costoEntre(GrafoSnapshot actual, String desde, String hasta) {
+        return actual.grafo.arbolDijkstra(actual.grafo.id(desde), null).distancia(actual.grafo.id(hasta));
+    }
+
+    @Test
+    void deltaQueEncareceUnaParalelaSeQuedaConLaOtra() {
+        List<Map<String, Object>> vivas = new ArrayList<>();
+        AlmacenRepository repositorio = repositorioConParalelas(vivas);
+        LogisticaService servicio = servicio(repositorio);
+        assertEquals(2.0, costoEntre(servicio.obtenerSnapshot().block(), "A", "B"));
+
+        // r2 pasa de 5 a 3: r1 sigue siendo la más barata
+        Mockito.when(repositorio.findEdgesUpdatedSince(Mockito.anyLong()))
+                .thenReturn(Flux.just(filaDelta("B", "A", 3, false, 10)));
+        vivas.add(Map.of("from", "A", "to", "B", "costs", List.of(2, 3)));
+        assertEquals(2.0, costoEntre(servicio.aplicarDelta().block(), "A", "B"));
+
+        // Después r1 pasa a 9: ahora manda r2
+        Mockito.when(repositorio.findEdgesUpdatedSince(Mockito.anyLong()))
+                .thenReturn(Flux.just(filaDelta("A", "B", 9, false, 20)));
+        vivas.set(0, Map.of("from", "A", "to", "B", "costs", List.of(9, 3)));
+        assertEquals(3.0, costoEntre(servicio.aplicarDelta().block(), "A", "B"));
+        Mockito.verify(repositorio).findEdgesUpdatedSince(10);
+    }
+
+    @Test
+    void deltaQueBorraUnaParalelaNoQuitaElPar() {
+        List<Map<String, Object>> vivas = new ArrayList<>();
+        AlmacenRepository repositorio = repositorioConParalelas(vivas);
+        LogisticaService servicio = servicio(repositorio);
+        servicio.obtenerSnapshot().block();
+
+        // Baja lógica de r1 (y la misma ruta dos veces en el delta): queda r2
+        Mockito.when(repositorio.findEdgesUpdatedSince(Mockito.anyLong()))
+                .thenReturn(Flux.just(filaDelta("A", "B", 2, true, 10), filaDelta("B", "A", 2, true, 11)));
+        vivas.add(Map.of("from", "A", "to", "B", "costs", List.of(5)));
+        GrafoSnapshot conUna = servicio.aplicarDelta().block();
+        assertEquals(5.0, costoEntre(conUna, "A", "B"));
+        Mockito.verify(repositorio).findLiveCostsBetween(List.of(List.of("A", "B")));
+
+        // Baja de r2: ya no queda ninguna y el par se quita (A llega a B solo si hay otro camino)
+        Mockito.when(repositorio.findEdgesUpdatedSince(Mockito.anyLong()))
+                .thenReturn(Flux.just(filaDelta("A", "B", 5, true, 20)));
+        vivas.set(0, Map.of("from", "A", "to", "B", "costs", List.of()));
+        GrafoSnapshot sinRutas = servicio.aplicarDelta().block();
+        assertEquals(Double.POSITIVE_INFINITY, costoEntre(sinRutas, "A", "B"));
+        assertEquals(conUna.version + 1, sinRutas.version);
+        assertEquals(1.0, costoEntre(sinRutas, "B", "C"));
+    }
+
+    private static double aciertos(SimpleMeterRegistry registro, String algoritmo) {
+        Counter contador = registro.find("logistica.cache.aciertos").tag("algoritmo", algoritmo).counter();
+        return contador == null ? 0 : contador.count();
+    }
+
+    @Test
+    void dijkstraEnSentidoContrarioSaleDelCacheDadoVuelta() {
+        SimpleMeterRegistry registro = new SimpleMeterRegistry();
+        LogisticaService servicio = new LogisticaService(repositorio(rutas("A", "B", 4, "B", "C", 1, "C", "D", 2)), registro,
+                false, false, new String[0], 1000, 500_000, "", false);
+        GrafoSnapshot actual = servicio.obtenerSnapshot().block();
+
+        Map<String, Object> ida = servicio.dijkstra(actual, "A", "D", "clasico").block();
+        assertEquals(List.of("A", "B", "C", "D"), ida.get("path"));
+        assertTrue((Integer) ida.get("settledNodes") > 0);
+
+        Map<String, Object> vuelta = servicio.dijkstra(actual, "D", "A", "clasico").block();
+        assertEquals(1.0, aciertos(registro, "dijkstra"));
+        assertEquals(List.of("D", "C", "B", "A"), vuelta.get("path"));
+        assertEquals(7.0, vuelta.get("totalCost"));
+        assertEquals(0, vuelta.get("settledNodes"));
+        // La respuesta guardada no se tocó: otra vez A->D la devuelve igual
+        assertEquals(ida, servicio.dijkstra(actual, "A", "D", "clasico").block());
+        // Otro modo es otra entrada
+        servicio.dijkstra(actual, "D", "A", "bidireccional").block();
+        assertEquals(2.0, aciertos(registro, "dijkstra"));
+    }
+
+    @Test
+    void dijkstraHaciaUnOrigenFrecuenteUsaSuArbol() {
+        LogisticaService servicio = new LogisticaService(repositorio(rutas("A", "B", 4, "B", "C", 1, "C", "D", 2)),
+                new SimpleMeterRegistry(), false, false, new String[]{"A"}, 1000, 500_000, "", false);
+        GrafoSnapshot actual = servicio.obtenerSnapshot().block();
+
+        Map<String, Object> respuesta = servicio.dijkstra(actual, "D", "A", "clasico").block();
+        assertEquals(List.of("D", "C", "B", "A"), respuesta.get("path"));
+        assertEquals(7.0, respuesta.get("totalCost"));
+        assertEquals(0, respuesta.get("settledNodes"));
+    }
+
+    @Test
+    void primSinInicioNoComparteClaveConUnAlmacenLlamadoNull() {
+        SimpleMeterRegistry registro = new SimpleMeterRegistry();
+        LogisticaService servicio = new LogisticaService(repositorio(rutas("null", "Z", 1, "A", "B", 2)), registro,
+                false, false, new String[0], 1000, 500_000, "", false);
+        GrafoSnapshot actual = servicio.obtenerSnapshot().block();
+
+        Map<String, Object> desdeNull = servicio.prim(actual, "null").block();
+        Map<String, Object> sinInicio = servicio.prim(actual, null).block();
+        assertNotSame(desdeNull, sinInicio);
+        assertEquals(0.0, aciertos(registro, "prim"));
+        assertSame(sinInicio, servicio.prim(actual, null).block());
+        assertEquals(1.0, aciertos(registro, "prim"));
+    }
+}